@@ -91,6 +91,8 @@ public class DataInitializer {
             property1.setCity("Springfield");
             property1.setState("IL");
             property1.setZipCode("62701");
+            property1.setLatitude(39.7990);
+            property1.setLongitude(-89.6440);
             property1.setPropertyType(PropertyType.HOUSE);
             property1.setListingType(ListingType.FOR_SALE);
             property1.setBedrooms(4);
@@ -126,6 +128,8 @@ public class DataInitializer {
             property2.setCity("Chicago");
             property2.setState("IL");
             property2.setZipCode("60601");
+            property2.setLatitude(41.8858);
+            property2.setLongitude(-87.6229);
             property2.setPropertyType(PropertyType.APARTMENT);
             property2.setListingType(ListingType.FOR_RENT);
             property2.setBedrooms(2);
@@ -152,6 +156,8 @@ public class DataInitializer {
             property3.setCity("Naperville");
             property3.setState("IL");
             property3.setZipCode("60540");
+            property3.setLatitude(41.7662);
+            property3.setLongitude(-88.1410);
             property3.setPropertyType(PropertyType.TOWNHOUSE);
             property3.setListingType(ListingType.FOR_SALE);
             property3.setBedrooms(3);
@@ -178,6 +184,8 @@ public class DataInitializer {
             property4.setCity("Evanston");
             property4.setState("IL");
             property4.setZipCode("60201");
+            property4.setLatitude(42.0552);
+            property4.setLongitude(-87.6946);
             property4.setPropertyType(PropertyType.CONDO);
             property4.setListingType(ListingType.FOR_SALE);
             property4.setBedrooms(2);
@@ -204,6 +212,8 @@ public class DataInitializer {
             property5.setCity("Schaumburg");
             property5.setState("IL");
             property5.setZipCode("60173");
+            property5.setLatitude(42.0581);
+            property5.setLongitude(-88.0484);
             property5.setPropertyType(PropertyType.COMMERCIAL);
             property5.setListingType(ListingType.FOR_SALE);
             property5.setBedrooms(0);
@@ -1,14 +1,96 @@
 package com.demo.real_estate_backend.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * Transport for the .NET recommendation service: pooled keep-alive connections, connect
+     * and read deadlines, a bounded wait for a pooled connection, and gzip'd responses (the
+     * client asks for and inflates them). Request bodies are gzip'd too when the service
+     * accepts it.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "recommendation.dotnet.enabled", havingValue = "true")
+    public RestTemplate dotNetRestTemplate(@Value("${recommendation.dotnet.max-connections:20}") int maxConnections,
+                                           @Value("${recommendation.dotnet.connect-timeout-ms:500}") long connectTimeoutMs,
+                                           @Value("${recommendation.dotnet.read-timeout-ms:2000}") long readTimeoutMs,
+                                           @Value("${recommendation.dotnet.pool-wait-ms:200}") long poolWaitMs,
+                                           @Value("${recommendation.dotnet.gzip-requests:false}") boolean gzipRequests) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // Revalidate connections that sat idle, in case the server closed them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        if (gzipRequests) {
+            restTemplate.getInterceptors().add(gzipRequestBody());
+        }
+        return restTemplate;
+    }
+
+    private static ClientHttpRequestInterceptor gzipRequestBody() {
+        return (request, body, execution) -> {
+            if (body.length == 0) {
+                return execution.execute(request, body);
+            }
+            byte[] compressed = gzip(body);
+            request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            // The converter already set the uncompressed length
+            request.getHeaders().setContentLength(compressed.length);
+            return execution.execute(request, compressed);
+        };
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
 }
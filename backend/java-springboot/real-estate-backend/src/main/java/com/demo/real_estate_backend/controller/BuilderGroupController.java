@@ -5,11 +5,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.demo.real_estate_backend.dto.ApiResponse;
 import com.demo.real_estate_backend.dto.BuilderGroupRequest;
 import com.demo.real_estate_backend.dto.BuilderGroupResponse;
 import com.demo.real_estate_backend.service.BuilderGroupService;
+import com.demo.real_estate_backend.service.LookupCatalog;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,10 +25,13 @@ public class BuilderGroupController {
     @Autowired
     private BuilderGroupService builderGroupService;
 
+    @Autowired
+    private LookupCatalog lookupCatalog;
+
+    // Served pre-serialized under the catalog version (see LookupCatalog)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BuilderGroupResponse>>> getAllBuilderGroups() {
-        List<BuilderGroupResponse> builderGroups = builderGroupService.getAllBuilderGroups();
-        return ResponseEntity.ok(ApiResponse.success(builderGroups));
+    public ResponseEntity<byte[]> getAllBuilderGroups(WebRequest request) {
+        return lookupCatalog.respond(LookupCatalog.Lookup.BUILDER_GROUPS, request);
     }
 
     @GetMapping("/active")
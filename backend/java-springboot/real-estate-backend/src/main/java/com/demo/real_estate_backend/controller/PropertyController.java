@@ -1,16 +1,27 @@
 package com.demo.real_estate_backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -18,19 +29,38 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.demo.real_estate_backend.dto.ApiResponse;
+import com.demo.real_estate_backend.dto.BulkUpdateRequest;
+import com.demo.real_estate_backend.dto.BulkUpdateResult;
+import com.demo.real_estate_backend.dto.ChangeFeed;
+import com.demo.real_estate_backend.dto.CountMode;
+import com.demo.real_estate_backend.dto.ImportReport;
+import com.demo.real_estate_backend.dto.MarketStats;
 import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PricePercentiles;
 import com.demo.real_estate_backend.dto.PropertyResponse;
 import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.dto.Suggestion;
+import com.demo.real_estate_backend.exception.ServiceUnavailableException;
 import com.demo.real_estate_backend.model.ListingType;
 import com.demo.real_estate_backend.model.Property;
 import com.demo.real_estate_backend.model.PropertyType;
-import com.demo.real_estate_backend.repository.PropertyRepository;
-import com.demo.real_estate_backend.service.DotNetRecommendationClient;
+import com.demo.real_estate_backend.service.PropertyExportService;
+import com.demo.real_estate_backend.service.PropertyImportService;
+import com.demo.real_estate_backend.service.ListingStreamService;
+import com.demo.real_estate_backend.service.LookupCatalog;
+import com.demo.real_estate_backend.service.PropertyChangeLog;
 import com.demo.real_estate_backend.service.PropertyService;
+import com.demo.real_estate_backend.service.RecommendationService;
 import com.demo.real_estate_backend.service.SearchHistoryService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -46,10 +76,22 @@ public class PropertyController {
     private SearchHistoryService searchHistoryService;
     
     @Autowired
-    private PropertyRepository propertyRepository;
+    private RecommendationService recommendationService;
 
     @Autowired
-    private DotNetRecommendationClient dotNetRecommendationClient;
+    private PropertyExportService propertyExportService;
+
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    @Autowired
+    private LookupCatalog lookupCatalog;
+
+    @Autowired
+    private PropertyChangeLog propertyChangeLog;
+
+    @Autowired
+    private ListingStreamService listingStreamService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Property>>> getAllProperties() {
@@ -66,15 +108,21 @@ public class PropertyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction) {
-        PageResponse<PropertyResponse> properties = propertyService.getAvailablePropertiesPaged(page, size, sortBy, direction);
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String cursor) {
+        PageResponse<PropertyResponse> properties = propertyService.getAvailablePropertiesPaged(page, size, sortBy, direction, cursor);
         return ResponseEntity.ok(ApiResponse.success(properties));
     }
     
+    // A 304 is answered from the listing's timestamps alone, before the entity is loaded
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Property>> getPropertyById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Property>> getPropertyById(@PathVariable Long id, WebRequest request) {
+        if (notModified(id, "", request)) {
+            return null;
+        }
         return propertyService.getPropertyById(id)
-                .map(property -> ResponseEntity.ok(ApiResponse.success(property)))
+                .map(property -> ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                        .body(ApiResponse.success(property)))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Property not found with id: " + id)));
     }
@@ -82,16 +130,45 @@ public class PropertyController {
     @GetMapping("/{id}/details")
     public ResponseEntity<ApiResponse<PropertyResponse>> getPropertyDetails(
             @PathVariable Long id,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            WebRequest request) {
+        // The favorited flag differs per user, so the user is part of the tag
+        if (notModified(id, "-d" + (userId == null ? "" : "-u" + userId), request)) {
+            return null;
+        }
         try {
             PropertyResponse response = propertyService.getPropertyResponseById(id, userId);
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponse.success(response));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
     
+    /**
+     * Checks If-None-Match and If-Modified-Since against the listing's version and sets its ETag
+     * and Last-Modified on the response. True means a 304 has been prepared and the handler
+     * returns without a body; an unknown id is left to the handler's own 404.
+     */
+    private boolean notModified(Long id, String representation, WebRequest request) {
+        return propertyService.getListingVersion(id)
+                .map(version -> request.checkNotModified(version.etag() + representation, version.lastModified()))
+                .orElse(false);
+    }
+    
+    // Listing cards of similar homes for the detail page
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getSimilarProperties(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.getSimilarProperties(id, k)));
+    }
+    
+    @GetMapping("/similar/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSimilarIndexStats() {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.getSimilarIndexStats()));
+    }
+    
     @PostMapping
     public ResponseEntity<ApiResponse<Property>> createProperty(@Valid @RequestBody Property property) {
         Property createdProperty = propertyService.createProperty(property);
@@ -112,18 +189,23 @@ public class PropertyController {
         }
     }
     
+    // Reprice a builder group's listings by a percentage, or mark a set of listings (un)available
+    @PostMapping("/bulk-update")
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> bulkUpdateProperties(@RequestBody BulkUpdateRequest request) {
+        BulkUpdateResult result = propertyService.bulkUpdate(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Updated " + result.getUpdated() + " of " + result.getRequested() + " properties", result));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteProperty(@PathVariable Long id) {
         try {
-            // Check if property exists first
-            if (!propertyRepository.existsById(id)) {
+            // Delete the property (cascade will handle related records)
+            if (!propertyService.deleteProperty(id)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Property not found with id: " + id));
             }
 
-            // Delete the property (cascade will handle related records)
-            propertyService.deleteProperty(id);
-
             return ResponseEntity.ok(ApiResponse.success("Property deleted successfully", null));
         } catch (DataIntegrityViolationException e) {
             // Handle foreign key constraint violations
@@ -164,10 +246,15 @@ public class PropertyController {
             @RequestParam(required = false) Integer maxBedrooms,
             @RequestParam(required = false) Integer minBathrooms,
             @RequestParam(required = false) Integer maxBathrooms,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDirection,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Boolean includeFacets,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) CountMode countMode,
             @RequestParam(required = false) Long userId) {
         
         PropertySearchRequest searchRequest = PropertySearchRequest.builder()
@@ -182,10 +269,15 @@ public class PropertyController {
                 .maxBedrooms(maxBedrooms)
                 .minBathrooms(minBathrooms)
                 .maxBathrooms(maxBathrooms)
+                .near(near)
+                .radiusKm(radiusKm)
                 .sortBy(sortBy)
                 .sortDirection(sortDirection)
                 .page(page)
                 .size(size)
+                .includeFacets(includeFacets)
+                .cursor(cursor)
+                .countMode(countMode)
                 .build();
         
         PageResponse<PropertyResponse> results = propertyService.searchProperties(searchRequest, userId);
@@ -198,21 +290,178 @@ public class PropertyController {
         return ResponseEntity.ok(ApiResponse.success(results));
     }
     
+    // Search answered with listing cards; takes the same fields as /search, as a body or query parameters
+    @PostMapping("/search/cards")
+    public ResponseEntity<ApiResponse<PageResponse<PropertySummary>>> searchPropertyCards(
+            @RequestBody PropertySearchRequest searchRequest) {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.searchPropertyCards(searchRequest)));
+    }
+    
+    @GetMapping("/search/cards")
+    public ResponseEntity<ApiResponse<PageResponse<PropertySummary>>> searchPropertyCardsGet(
+            @ModelAttribute PropertySearchRequest searchRequest) {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.searchPropertyCards(searchRequest)));
+    }
+    
+    /**
+     * Listings created, updated and deleted after the since token, in commit order, with the
+     * fields each update changed. Without since, only the current token is returned; take it
+     * before a full download and follow the feed from it.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<ChangeFeed>> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(propertyChangeLog.getChanges(since, limit)));
+    }
+
+    /**
+     * Server-sent events for listings matching the filter: "listing" with the card when one is
+     * listed or changes while matching, "removed" with its id when it stops matching. 503 when
+     * the node holds as many streams as it accepts; reconnect to another.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamListings(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType propertyType,
+            @RequestParam(required = false) ListingType listingType,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        ListingStreamService.Filter filter = new ListingStreamService.Filter(city, propertyType, listingType,
+                minPrice, maxPrice);
+        return listingStreamService.subscribe(filter)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/stream/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStreamStats() {
+        return ResponseEntity.ok(ApiResponse.success(listingStreamService.stats()));
+    }
+    
+    /**
+     * Gzip'd NDJSON or CSV feed of every listing for syndication partners, streamed row by
+     * row. Pass the X-Export-As-Of value of a previous pull as updatedSince to get only the
+     * listings changed since then. 503 when as many exports as the node allows are running.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportProperties(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            HttpServletResponse response) {
+        PropertyExportService.Format exportFormat = PropertyExportService.Format.fromName(format);
+        if (!propertyExportService.tryAcquireSlot()) {
+            throw new ServiceUnavailableException("Too many exports are running; retry later");
+        }
+        LocalDateTime asOf = propertyExportService.asOf();
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"listings." + exportFormat.getExtension() + "\"");
+        response.setHeader("X-Export-As-Of", asOf.toString());
+        // The slot is released once by whichever runs first: the export itself, or the
+        // completion callback when the request ends before the export started
+        AtomicBoolean claimed = new AtomicBoolean();
+        // Streamed on an async thread under the export's own timeout, not the application-wide one
+        WebAsyncTask<Void> task = new WebAsyncTask<>(propertyExportService.getTimeoutMillis(), () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 8192);
+                propertyExportService.export(gzip, exportFormat, updatedSince);
+                gzip.finish();
+                return null;
+            } finally {
+                propertyExportService.releaseSlot();
+            }
+        });
+        task.onCompletion(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                propertyExportService.releaseSlot();
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Bulk upsert of a brokerage feed by externalKey: NDJSON or CSV in the export's columns,
+     * optionally gzip'd, streamed from the request body. Rows that fail are listed in the
+     * report and the rest are imported.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<ImportReport>> importProperties(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) throws IOException {
+        PropertyExportService.Format importFormat = PropertyExportService.Format.fromName(format);
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        ImportReport report = propertyImportService.importListings(body, importFormat);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Imported " + (report.getRows() - report.getFailed()) + " of " + report.getRows() + " rows", report));
+    }
+
+    @GetMapping("/search/cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSearchCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.getSearchCacheStats()));
+    }
+    
+    // How often requests ran into the list and page size caps
+    @GetMapping("/limits/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getResultLimitStats() {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.getResultLimitStats()));
+    }
+    
     @GetMapping("/city/{city}")
     public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByCity(@PathVariable String city) {
         return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByCity(city)));
     }
     
+    @GetMapping("/city/{city}/paged")
+    public ResponseEntity<ApiResponse<PageResponse<PropertySummary>>> getPropertiesByCityPaged(
+            @PathVariable String city,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getPropertiesByCityPaged(city, sortBy, direction, cursor, size)));
+    }
+    
     @GetMapping("/type/{propertyType}")
     public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByType(@PathVariable PropertyType propertyType) {
         return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByType(propertyType)));
     }
     
+    @GetMapping("/type/{propertyType}/paged")
+    public ResponseEntity<ApiResponse<PageResponse<PropertySummary>>> getPropertiesByTypePaged(
+            @PathVariable PropertyType propertyType,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getPropertiesByTypePaged(propertyType, sortBy, direction, cursor, size)));
+    }
+    
     @GetMapping("/listing-type/{listingType}")
     public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByListingType(@PathVariable ListingType listingType) {
         return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByListingType(listingType)));
     }
     
+    @GetMapping("/listing-type/{listingType}/paged")
+    public ResponseEntity<ApiResponse<PageResponse<PropertySummary>>> getPropertiesByListingTypePaged(
+            @PathVariable ListingType listingType,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getPropertiesByListingTypePaged(listingType, sortBy, direction, cursor, size)));
+    }
+    
     @GetMapping("/price-range")
     public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByPriceRange(
             @RequestParam BigDecimal minPrice,
@@ -220,6 +469,18 @@ public class PropertyController {
         return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByPriceRange(minPrice, maxPrice)));
     }
     
+    @GetMapping("/price-range/paged")
+    public ResponseEntity<ApiResponse<PageResponse<PropertySummary>>> getPropertiesByPriceRangePaged(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "price") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getPropertiesByPriceRangePaged(minPrice, maxPrice, sortBy, direction, cursor, size)));
+    }
+    
     @GetMapping("/owner/{ownerId}")
     public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByOwner(@PathVariable Long ownerId) {
         return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByOwner(ownerId)));
@@ -229,8 +490,20 @@ public class PropertyController {
     public ResponseEntity<ApiResponse<PageResponse<PropertyResponse>>> getPropertiesByOwnerPaged(
             @PathVariable Long ownerId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByOwnerPaged(ownerId, page, size)));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode) {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.getPropertiesByOwnerPaged(ownerId, page, size, countMode)));
+    }
+    
+    @GetMapping("/builder-group/{builderGroupId}/paged")
+    public ResponseEntity<ApiResponse<PageResponse<PropertyResponse>>> getPropertiesByBuilderGroupPaged(
+            @PathVariable Long builderGroupId,
+            @RequestParam(defaultValue = "true") boolean availableOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getPropertiesByBuilderGroupPaged(builderGroupId, availableOnly, page, size, countMode)));
     }
     
     @GetMapping("/recent")
@@ -239,20 +512,33 @@ public class PropertyController {
         return ResponseEntity.ok(ApiResponse.success(propertyService.getRecentProperties(limit)));
     }
     
+    // Lookups are served pre-serialized under the catalog version (see LookupCatalog)
     @GetMapping("/cities")
-    public ResponseEntity<ApiResponse<List<String>>> getAllCities() {
-        return ResponseEntity.ok(ApiResponse.success(propertyService.getAllCities()));
+    public ResponseEntity<byte[]> getAllCities(WebRequest request) {
+        return lookupCatalog.respond(LookupCatalog.Lookup.CITIES, request);
     }
     
     @GetMapping("/states")
-    public ResponseEntity<ApiResponse<List<String>>> getAllStates() {
-        return ResponseEntity.ok(ApiResponse.success(propertyService.getAllStates()));
+    public ResponseEntity<byte[]> getAllStates(WebRequest request) {
+        return lookupCatalog.respond(LookupCatalog.Lookup.STATES, request);
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<Suggestion>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.suggest(prefix, type, limit)));
     }
     
     @GetMapping("/stats/count")
-    public ResponseEntity<ApiResponse<Map<String, Long>>> getAvailableCount() {
-        Long count = propertyService.getAvailableCount();
-        return ResponseEntity.ok(ApiResponse.success(Map.of("availableCount", count)));
+    public ResponseEntity<byte[]> getAvailableCount(WebRequest request) {
+        return lookupCatalog.respond(LookupCatalog.Lookup.AVAILABLE_COUNT, request);
+    }
+    
+    @GetMapping("/lookups/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getLookupStats() {
+        return ResponseEntity.ok(ApiResponse.success(lookupCatalog.stats()));
     }
     
     @GetMapping("/stats/average-price/{city}")
@@ -261,12 +547,47 @@ public class PropertyController {
         return ResponseEntity.ok(ApiResponse.success(Map.of("averagePrice", avgPrice != null ? avgPrice : BigDecimal.ZERO)));
     }
 
+    @GetMapping("/stats/market")
+    public ResponseEntity<ApiResponse<MarketStats>> getMarketStats(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType propertyType,
+            @RequestParam(required = false) ListingType listingType) {
+        return ResponseEntity.ok(ApiResponse.success(propertyService.getMarketStats(city, propertyType, listingType)));
+    }
+
+    // e.g. /stats/percentiles?city=Austin&p=50,90
+    @GetMapping("/stats/percentiles")
+    public ResponseEntity<ApiResponse<PricePercentiles>> getPricePercentiles(
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType propertyType,
+            @RequestParam(required = false) ListingType listingType,
+            @RequestParam(defaultValue = "50") List<Double> p) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getPricePercentiles(state, city, propertyType, listingType, p)));
+    }
+
+    // e.g. /stats/grouped?groupBy=city,propertyType&listingType=FOR_SALE
+    @GetMapping("/stats/grouped")
+    public ResponseEntity<ApiResponse<List<MarketStats>>> getGroupedMarketStats(
+            @RequestParam List<String> groupBy,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType propertyType,
+            @RequestParam(required = false) ListingType listingType) {
+        return ResponseEntity.ok(ApiResponse.success(
+                propertyService.getGroupedMarketStats(groupBy, city, propertyType, listingType)));
+    }
+
     @GetMapping("/recommendations")
     public ResponseEntity<ApiResponse<List<Property>>> recommend(@RequestParam String location,
-                                                                  @RequestParam double budget) {
-        List<Property> allProperties = propertyRepository.findAll();
-        List<Property> recommendations = dotNetRecommendationClient.getRecommendations(allProperties, location, budget);
-        return ResponseEntity.ok(ApiResponse.success(recommendations));
+                                                                  @RequestParam double budget,
+                                                                  @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(recommendationService.recommend(location, budget, limit)));
+    }
+
+    @GetMapping("/recommendations/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecommendationStats() {
+        return ResponseEntity.ok(ApiResponse.success(recommendationService.getStats()));
     }
 
     @GetMapping("/convert-price")
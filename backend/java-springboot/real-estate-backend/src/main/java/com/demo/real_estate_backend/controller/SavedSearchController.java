@@ -0,0 +1,69 @@
+package com.demo.real_estate_backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.demo.real_estate_backend.dto.ApiResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.SavedSearchAlertResponse;
+import com.demo.real_estate_backend.model.SavedSearch;
+import com.demo.real_estate_backend.service.SavedSearchService;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearch>> saveSearch(
+            @RequestParam Long userId,
+            @RequestParam String name,
+            @RequestBody PropertySearchRequest searchRequest) {
+        SavedSearch saved = savedSearchService.saveSearch(userId, name, searchRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Search saved", saved));
+    }
+
+    @PostMapping("/from-history/{historyId}")
+    public ResponseEntity<ApiResponse<SavedSearch>> saveFromHistory(
+            @PathVariable Long historyId,
+            @RequestParam(required = false) String name) {
+        SavedSearch saved = savedSearchService.saveFromHistory(historyId, name);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Search saved", saved));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<ApiResponse<List<SavedSearch>>> getUserSavedSearches(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getUserSavedSearches(userId)));
+    }
+
+    @DeleteMapping("/{savedSearchId}")
+    public ResponseEntity<ApiResponse<Void>> deleteSavedSearch(@PathVariable Long savedSearchId) {
+        savedSearchService.deleteSavedSearch(savedSearchId);
+        return ResponseEntity.ok(ApiResponse.success("Saved search deleted", null));
+    }
+
+    @GetMapping("/user/{userId}/alerts")
+    public ResponseEntity<ApiResponse<List<SavedSearchAlertResponse>>> getUserAlerts(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getUserAlerts(userId, unreadOnly)));
+    }
+
+    @PostMapping("/user/{userId}/alerts/read")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> markAlertsRead(@PathVariable Long userId) {
+        int marked = savedSearchService.markAlertsRead(userId);
+        return ResponseEntity.ok(ApiResponse.success(Map.of("marked", marked)));
+    }
+
+    @GetMapping("/percolator/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPercolatorStats() {
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getPercolatorStats()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One change applied to a set of listings: either the given ids or every listing of a
+ * builder group. At least one of pricePercent and available must be set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateRequest {
+
+    // Exactly one of ids and builderGroupId
+    private List<Long> ids;
+    private Long builderGroupId;
+
+    // Signed change in percent: 5 raises prices by 5%, -10 lowers them by 10%
+    private BigDecimal pricePercent;
+    private Boolean available;
+}
@@ -0,0 +1,45 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+
+    public enum Status {
+        UPDATED,
+        // Already as requested, so not written
+        UNCHANGED,
+        NOT_FOUND
+    }
+
+    private int requested;
+    private int updated;
+    private int unchanged;
+    private int notFound;
+
+    // One per requested listing, in id order
+    private List<Outcome> outcomes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+
+        private Long id;
+        private Status status;
+        // Null when NOT_FOUND
+        private BigDecimal previousPrice;
+        private BigDecimal price;
+        private Boolean available;
+    }
+}
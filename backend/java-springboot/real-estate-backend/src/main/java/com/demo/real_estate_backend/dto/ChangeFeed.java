@@ -0,0 +1,38 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeed {
+
+    // Pass back as since for the changes after these; equal to since when there were none
+    private long nextToken;
+    private boolean hasMore;
+    private List<Change> changes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+
+        private long token;
+        private Long propertyId;
+        private PropertyChangeEvent.ChangeType type;
+        // Feed fields an update changed, with their new values; null for creates and deletes
+        private Map<String, Object> fields;
+        private LocalDateTime changedAt;
+    }
+}
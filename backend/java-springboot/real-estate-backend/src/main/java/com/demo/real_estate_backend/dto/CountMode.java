@@ -0,0 +1,12 @@
+package com.demo.real_estate_backend.dto;
+
+/**
+ * How a paged listing reports its total. EXACT runs a COUNT query alongside the page, NONE
+ * skips it and only reports hasNext, APPROXIMATE skips it and reports a cached count that is
+ * refreshed in the background.
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    APPROXIMATE
+}
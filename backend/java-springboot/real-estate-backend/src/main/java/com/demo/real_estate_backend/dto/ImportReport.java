@@ -0,0 +1,37 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+
+    private long rows;
+    private long created;
+    private long updated;
+    // Rows identical to the stored listing, which are not written
+    private long unchanged;
+    private long failed;
+    private long elapsedMillis;
+
+    // The first failed rows, up to import.max-reported-errors
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+
+        // 1-based line of the row in the body; a CSV header is line 1
+        private long line;
+        private String externalKey;
+        private String message;
+    }
+}
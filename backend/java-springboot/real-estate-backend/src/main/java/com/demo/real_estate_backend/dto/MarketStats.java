@@ -0,0 +1,35 @@
+package com.demo.real_estate_backend.dto;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketStats {
+
+    // Null when the group spans every value of the dimension
+    private String city;
+    private PropertyType propertyType;
+    private ListingType listingType;
+
+    private long listingCount;
+    private BigDecimal totalPrice;
+    private BigDecimal averagePrice;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    // Over the listings with a positive square footage only
+    private long pricedAreaCount;
+    private BigDecimal averagePricePerSquareFoot;
+    private BigDecimal minPricePerSquareFoot;
+    private BigDecimal maxPricePerSquareFoot;
+}
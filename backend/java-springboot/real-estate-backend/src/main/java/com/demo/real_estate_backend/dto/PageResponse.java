@@ -1,5 +1,6 @@
 package com.demo.real_estate_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,4 +24,14 @@ public class PageResponse<T> {
     private boolean hasNext;
     private boolean hasPrevious;
 
+    // Opaque keyset cursor for the next page; pageNumber, totalElements and totalPages are -1 in cursor mode
+    private String nextCursor;
+
+    // False when totalElements is a cached estimate, or -1 because counting was skipped
+    private boolean exactTotal;
+
+    // Only populated by property search when facets are requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SearchFacets facets;
+
 }
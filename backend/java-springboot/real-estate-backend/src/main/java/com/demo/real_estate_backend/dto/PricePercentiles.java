@@ -0,0 +1,30 @@
+package com.demo.real_estate_backend.dto;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricePercentiles {
+
+    // Filters the percentiles were computed over; null means every value
+    private String state;
+    private String city;
+    private PropertyType propertyType;
+    private ListingType listingType;
+
+    private long listingCount;
+    // "p50" -> estimated value, in request order
+    private Map<String, BigDecimal> price;
+    private Map<String, BigDecimal> pricePerSquareFoot;
+}
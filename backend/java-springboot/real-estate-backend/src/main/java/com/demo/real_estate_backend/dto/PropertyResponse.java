@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +34,8 @@ public class PropertyResponse {
     private Integer bathrooms;
     private BigDecimal squareFeet;
     private Integer yearBuilt;
+    private Double latitude;
+    private Double longitude;
     private Boolean available;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -42,6 +46,10 @@ public class PropertyResponse {
     private Long favoriteCount;
     private Boolean isFavorited;
     
+    // Only set on radius searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -41,12 +41,25 @@ public class PropertySearchRequest {
 	    
 	    private Boolean available;
 	    
+	    // Radius search: "lat,lng" center and radius; results are ordered by distance
+	    private String near;
+	    private Double radiusKm;
+	    
 	    // Sorting
-	    private String sortBy = "createdAt";  // price, createdAt, squareFeet, bedrooms
+	    private String sortBy = "createdAt";  // price, createdAt, squareFeet, bedrooms, relevance (keyword only)
 	    private String sortDirection = "DESC"; // ASC or DESC
 	    
 	    // Pagination
 	    private Integer page = 0;
 	    private Integer size = 10;
+	    
+	    // Keyset pagination: nextCursor from a previous page; takes precedence over page and sort
+	    private String cursor;
+	    
+	    // EXACT (default), NONE (hasNext only) or APPROXIMATE (cached total)
+	    private CountMode countMode;
+	    
+	    // Return propertyType, listingType, bedroom, bathroom and price band counts for the filter set
+	    private Boolean includeFacets;
 
 }
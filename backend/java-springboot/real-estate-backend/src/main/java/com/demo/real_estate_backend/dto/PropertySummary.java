@@ -0,0 +1,52 @@
+package com.demo.real_estate_backend.dto;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Listing card: the columns a result list shows, read by a constructor expression instead of
+ * loading the entity. See PropertyResponse for the detail view.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySummary {
+
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private String city;
+    private String state;
+    private PropertyType propertyType;
+    private ListingType listingType;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private BigDecimal squareFeet;
+    // Primary image, else the first image, else the legacy imageUrl column
+    private String imageUrl;
+    private Boolean available;
+    private LocalDateTime createdAt;
+
+    // Set for radius searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
+
+    // Constructor expression target of PropertyRepositoryCustom.findSummaries
+    public PropertySummary(Long id, String title, BigDecimal price, String city, String state,
+                           PropertyType propertyType, ListingType listingType, Integer bedrooms,
+                           Integer bathrooms, BigDecimal squareFeet, String imageUrl, Boolean available,
+                           LocalDateTime createdAt) {
+        this(id, title, price, city, state, propertyType, listingType, bedrooms, bathrooms, squareFeet,
+                imageUrl, available, createdAt, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchAlertResponse {
+
+    private Long id;
+    private Long savedSearchId;
+    private String savedSearchName;
+    private Long propertyId;
+    private LocalDateTime createdAt;
+    private LocalDateTime readAt;
+}
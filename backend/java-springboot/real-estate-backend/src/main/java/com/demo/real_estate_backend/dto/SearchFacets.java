@@ -0,0 +1,22 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacets {
+
+    // Facet value -> number of matching listings, in display order
+    private Map<String, Long> propertyType;
+    private Map<String, Long> listingType;
+    private Map<String, Long> bedrooms;
+    private Map<String, Long> bathrooms;
+    private Map<String, Long> priceBands;
+}
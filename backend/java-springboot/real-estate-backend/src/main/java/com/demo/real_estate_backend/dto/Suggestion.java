@@ -0,0 +1,17 @@
+package com.demo.real_estate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    private String type;  // city, state, zip or builderGroup
+    private String value;
+    private long listingCount;
+}
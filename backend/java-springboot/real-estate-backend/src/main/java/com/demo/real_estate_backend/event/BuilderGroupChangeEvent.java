@@ -0,0 +1,18 @@
+package com.demo.real_estate_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by BuilderGroupService whenever a builder group is created, updated or deleted.
+ * Listeners receive it after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class BuilderGroupChangeEvent {
+
+    private final Long builderGroupId;
+
+    // The group's name as committed; null when it was deleted
+    private final String name;
+}
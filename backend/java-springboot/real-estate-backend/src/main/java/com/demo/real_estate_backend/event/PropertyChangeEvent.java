@@ -0,0 +1,84 @@
+package com.demo.real_estate_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import com.demo.real_estate_backend.model.Property;
+
+/**
+ * Published by PropertyService whenever a listing is created, updated or deleted so that
+ * in-memory indexes and caches can follow the catalog. Listeners receive it after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyChangeEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long propertyId;
+
+    // Current state of the listing; null for DELETED
+    private final Property property;
+
+    // The listing's fields before an update or delete (see snapshot); null when unknown
+    private final Property previous;
+
+    public static PropertyChangeEvent created(Property property) {
+        return new PropertyChangeEvent(ChangeType.CREATED, property.getId(), property, null);
+    }
+
+    public static PropertyChangeEvent updated(Property property) {
+        return updated(property, null);
+    }
+
+    public static PropertyChangeEvent updated(Property property, Property previous) {
+        return new PropertyChangeEvent(ChangeType.UPDATED, property.getId(), property, previous);
+    }
+
+    public static PropertyChangeEvent deleted(Long propertyId) {
+        return deleted(propertyId, null);
+    }
+
+    public static PropertyChangeEvent deleted(Long propertyId, Property previous) {
+        return new PropertyChangeEvent(ChangeType.DELETED, propertyId, null, previous);
+    }
+
+    /**
+     * Detached copy of the listing's own fields, taken before the managed entity is modified:
+     * listeners tell from it which searches the listing could have matched, and the change
+     * log which fields an update changed.
+     */
+    public static Property snapshot(Property property) {
+        return Property.builder()
+                .id(property.getId())
+                .title(property.getTitle())
+                .description(property.getDescription())
+                .price(property.getPrice())
+                .address(property.getAddress())
+                .city(property.getCity())
+                .state(property.getState())
+                .zipCode(property.getZipCode())
+                .propertyType(property.getPropertyType())
+                .listingType(property.getListingType())
+                .bedrooms(property.getBedrooms())
+                .bathrooms(property.getBathrooms())
+                .squareFeet(property.getSquareFeet())
+                .yearBuilt(property.getYearBuilt())
+                .latitude(property.getLatitude())
+                .longitude(property.getLongitude())
+                .imageUrl(property.getImageUrl())
+                .available(property.getAvailable())
+                // The reference only, so that listeners can compare the group's id
+                .builderGroup(property.getBuilderGroup())
+                .build();
+    }
+
+    public boolean isDeleted() {
+        return changeType == ChangeType.DELETED;
+    }
+}
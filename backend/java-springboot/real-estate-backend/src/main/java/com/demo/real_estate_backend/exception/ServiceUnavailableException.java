@@ -0,0 +1,8 @@
+package com.demo.real_estate_backend.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
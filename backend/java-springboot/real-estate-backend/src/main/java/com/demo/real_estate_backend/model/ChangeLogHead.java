@@ -0,0 +1,22 @@
+package com.demo.real_estate_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Last token handed out by a change log; writers lock its row until they commit
+@Entity
+@Table(name = "change_log_heads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogHead {
+
+    @Id
+    @Column(length = 50)
+    private String logName;
+
+    @Column(nullable = false)
+    private Long lastToken;
+}
@@ -1,5 +1,6 @@
 package com.demo.real_estate_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -14,11 +15,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "properties", indexes = {
+@Table(name = "properties", uniqueConstraints = {
+    // Feed listings are upserted by the brokerage's own listing key
+    @UniqueConstraint(name = "uk_external_key", columnNames = "externalKey")
+}, indexes = {
     @Index(name = "idx_city", columnList = "city"),
     @Index(name = "idx_property_type", columnList = "propertyType"),
     @Index(name = "idx_listing_type", columnList = "listingType"),
-    @Index(name = "idx_price", columnList = "price")
+    @Index(name = "idx_price", columnList = "price"),
+    // Keyset pagination seeks on (sortField, id) within available listings
+    @Index(name = "idx_available_created_id", columnList = "available, createdAt, id"),
+    @Index(name = "idx_available_price_id", columnList = "available, price, id"),
+    @Index(name = "idx_available_sqft_id", columnList = "available, squareFeet, id"),
+    @Index(name = "idx_available_bedrooms_id", columnList = "available, bedrooms, id"),
+    // Bounding-box prefilter for radius search while the geo index is loading
+    @Index(name = "idx_lat_lng", columnList = "latitude, longitude"),
+    // Recommendation candidates: nearest prices either side of a budget within a city
+    @Index(name = "idx_city_price", columnList = "city, price"),
+    // Incremental pulls of the partner export feed
+    @Index(name = "idx_updated_at", columnList = "updatedAt")
 })
 @Data
 @Builder
@@ -30,6 +45,11 @@ public class Property {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Listing key in the brokerage feed it was imported from; null for listings entered here
+    @Size(max = 100, message = "External key must be at most 100 characters")
+    @Column(length = 100)
+    private String externalKey;
+    
     @NotBlank(message = "Title is required")
     @Column(nullable = false)
     private String title;
@@ -75,6 +95,15 @@ public class Property {
     
     private Integer yearBuilt;
     
+    // WGS84 coordinates; null until the listing has been geocoded
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     @Deprecated
     private String imageUrl;  // Keep for backward compatibility
     
@@ -87,6 +116,16 @@ public class Property {
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // When the listing's images and favorites last changed; with updatedAt they version its
+    // detail responses. Only written by PropertyRepository.touchImages and touchFavorites
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime imagesUpdatedAt;
+    
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime favoritesUpdatedAt;
+    
     // Many-to-One relationship: Many properties belong to one user (owner/agent)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = true)
@@ -0,0 +1,37 @@
+package com.demo.real_estate_backend.model;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Append-only log of committed listing writes, read by the change feed
+@Entity
+@Table(name = "property_changes", indexes = @Index(name = "idx_change_changed_at", columnList = "changedAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChange {
+
+    // The feed token: dense and in commit order, handed out by PropertyChangeLog
+    @Id
+    private Long id;
+
+    // Not a foreign key: tombstones outlive deleted listings
+    @Column(nullable = false)
+    private Long propertyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private PropertyChangeEvent.ChangeType changeType;
+
+    // JSON object of the feed fields an update changed, with their new values; null otherwise
+    @Lob
+    private String delta;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
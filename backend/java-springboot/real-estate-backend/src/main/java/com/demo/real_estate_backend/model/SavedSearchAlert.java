@@ -0,0 +1,39 @@
+package com.demo.real_estate_backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Queued notification that a listing matched a saved search; each pair is alerted once
+@Entity
+@Table(name = "saved_search_alerts",
+    uniqueConstraints = @UniqueConstraint(name = "uk_alert_search_property", columnNames = {"saved_search_id", "propertyId"}),
+    indexes = @Index(name = "idx_alert_property", columnList = "propertyId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saved_search_id", nullable = false)
+    @JsonIgnore
+    private SavedSearch savedSearch;
+
+    // Not a foreign key: alerts outlive deleted listings
+    @Column(nullable = false)
+    private Long propertyId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Null until the user has seen the alert
+    private LocalDateTime readAt;
+}
@@ -11,6 +11,7 @@ import com.demo.real_estate_backend.model.Favorite;
 import com.demo.real_estate_backend.model.Property;
 import com.demo.real_estate_backend.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,4 +41,11 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     
     @Query("SELECT f.property FROM Favorite f WHERE f.user.id = :userId")
     List<Property> findFavoritePropertiesByUserId(@Param("userId") Long userId);
+
+    // Bulk favorite counts for a page of properties: rows of [propertyId, count]
+    @Query("SELECT f.property.id, COUNT(f) FROM Favorite f WHERE f.property.id IN :propertyIds GROUP BY f.property.id")
+    List<Object[]> countByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    @Query("SELECT f.property.id FROM Favorite f WHERE f.user.id = :userId AND f.property.id IN :propertyIds")
+    List<Long> findFavoritedPropertyIds(@Param("userId") Long userId, @Param("propertyIds") Collection<Long> propertyIds);
 }
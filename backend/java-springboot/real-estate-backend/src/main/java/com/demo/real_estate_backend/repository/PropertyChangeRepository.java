@@ -0,0 +1,26 @@
+package com.demo.real_estate_backend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.demo.real_estate_backend.model.PropertyChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PropertyChangeRepository extends JpaRepository<PropertyChange, Long> {
+
+    List<PropertyChange> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT MAX(c.id) FROM PropertyChange c WHERE c.changedAt < :cutoff")
+    Long findLastIdBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM PropertyChange c WHERE c.id <= :id")
+    int deleteThrough(@Param("id") Long id);
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 
 import com.demo.real_estate_backend.model.PropertyImage;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,4 +24,14 @@ public interface PropertyImageRepository extends JpaRepository<PropertyImage, Lo
 
     @Query("SELECT pi FROM PropertyImage pi JOIN FETCH pi.property WHERE pi.property.id = :propertyId")
     List<PropertyImage> findByPropertyIdWithProperty(@Param("propertyId") Long propertyId);
+
+    // Bulk image lookup for a page of properties: rows of [propertyId, imageUrl]
+    @Query("SELECT pi.property.id, pi.imageUrl FROM PropertyImage pi WHERE pi.property.id IN :propertyIds " +
+           "ORDER BY pi.property.id, pi.displayOrder ASC")
+    List<Object[]> findImageUrlsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    // Card image candidates for a page of properties, best first per property: rows of [propertyId, imageUrl]
+    @Query("SELECT pi.property.id, pi.imageUrl FROM PropertyImage pi WHERE pi.property.id IN :propertyIds " +
+           "ORDER BY pi.property.id, pi.isPrimary DESC, pi.displayOrder ASC")
+    List<Object[]> findCardImageUrlsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
 }
@@ -2,8 +2,10 @@ package com.demo.real_estate_backend.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,17 +13,22 @@ import org.springframework.stereotype.Repository;
 import com.demo.real_estate_backend.model.ListingType;
 import com.demo.real_estate_backend.model.Property;
 import com.demo.real_estate_backend.model.PropertyType;
-import com.demo.real_estate_backend.model.PropertyType;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property>,
+        PropertyRepositoryCustom {
     
     List<Property> findByAvailableTrue();
     
     Page<Property> findByAvailableTrue(Pageable pageable);
+
+    // Keyset batch: the next available listings after lastId, with no count query
+    List<Property> findByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long lastId, Pageable pageable);
     
     List<Property> findByCity(String city);
     
@@ -39,6 +46,12 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
     
     Page<Property> findByOwnerId(Long ownerId, Pageable pageable);
     
+    // Slice variants fetch one extra row instead of running a COUNT query
+    Slice<Property> findSliceByOwnerId(Long ownerId, Pageable pageable);
+    
+    long countByOwnerId(Long ownerId);
+    
+    // Catch-all filter query kept for comparison; PropertyService searches with PropertySpecifications.matches
     @Query("SELECT p FROM Property p WHERE p.available = true AND " +
            "(:city IS NULL OR LOWER(p.city) LIKE LOWER(CONCAT('%', :city, '%'))) AND " +
            "(:state IS NULL OR LOWER(p.state) LIKE LOWER(CONCAT('%', :state, '%'))) AND " +
@@ -88,6 +101,15 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
     
     @Query("SELECT AVG(p.price) FROM Property p WHERE p.city = :city AND p.available = true")
     BigDecimal getAveragePriceByCity(@Param("city") String city);
+
+    // Rows of [city, propertyType, listingType, count, sum, min, max, areaCount, areaSum, areaMin, areaMax]
+    @Query("SELECT p.city, p.propertyType, p.listingType, COUNT(p), SUM(p.price), MIN(p.price), MAX(p.price), " +
+           "COUNT(CASE WHEN p.squareFeet > 0 THEN 1 END), " +
+           "SUM(CASE WHEN p.squareFeet > 0 THEN p.price / p.squareFeet END), " +
+           "MIN(CASE WHEN p.squareFeet > 0 THEN p.price / p.squareFeet END), " +
+           "MAX(CASE WHEN p.squareFeet > 0 THEN p.price / p.squareFeet END) " +
+           "FROM Property p WHERE p.available = true GROUP BY p.city, p.propertyType, p.listingType")
+    List<Object[]> getMarketStatsRows();
     
     List<Property> findByBuilderGroupId(Long builderGroupId);
 
@@ -97,6 +119,14 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
 
     Page<Property> findByBuilderGroupIdAndAvailableTrue(Long builderGroupId, Pageable pageable);
 
+    Slice<Property> findSliceByBuilderGroupId(Long builderGroupId, Pageable pageable);
+
+    Slice<Property> findSliceByBuilderGroupIdAndAvailableTrue(Long builderGroupId, Pageable pageable);
+
+    long countByBuilderGroupId(Long builderGroupId);
+
+    long countByBuilderGroupIdAndAvailableTrue(Long builderGroupId);
+
     @Query("SELECT p FROM Property p WHERE p.available = true AND p.builderGroup.id = :builderGroupId ORDER BY p.createdAt DESC")
     List<Property> findAvailablePropertiesByBuilderGroup(@Param("builderGroupId") Long builderGroupId, Pageable pageable);
 
@@ -119,4 +149,41 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
     
     @Query("SELECT p FROM Property p WHERE p.available = true AND p.listingType = 'FOR_SALE' ORDER BY p.price ASC")
     List<Property> findCheapestForSale(Pageable pageable);
+
+    /**
+     * Timestamps the detail responses of a listing are derived from, read without loading it:
+     * one row of [updatedAt, imagesUpdatedAt, favoritesUpdatedAt, owner updatedAt, builder
+     * group updatedAt], or none if there is no such listing.
+     */
+    @Query("SELECT p.updatedAt, p.imagesUpdatedAt, p.favoritesUpdatedAt, o.updatedAt, b.updatedAt " +
+           "FROM Property p LEFT JOIN p.owner o LEFT JOIN p.builderGroup b WHERE p.id = :id")
+    List<Object[]> findVersionRow(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Property p SET p.imagesUpdatedAt = :now WHERE p.id = :id")
+    int touchImages(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Property p SET p.favoritesUpdatedAt = :now WHERE p.id = :id")
+    int touchFavorites(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id FROM Property p WHERE p.builderGroup.id = :builderGroupId ORDER BY p.id")
+    List<Long> findIdsByBuilderGroupId(@Param("builderGroupId") Long builderGroupId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Property p WHERE p.owner.id = :ownerId ORDER BY p.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Set-based portfolio updates; both clear the persistence context, whose copies they make stale.
+    // Native because Hibernate renders the factor as a cast to an unsized NUMERIC, which H2 rejects
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE properties SET price = ROUND(price * :factor, 2), updated_at = :updatedAt WHERE id IN (:ids)",
+           nativeQuery = true)
+    int scalePrices(@Param("ids") Collection<Long> ids, @Param("factor") BigDecimal factor,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Property p SET p.available = :available, p.updatedAt = :updatedAt " +
+           "WHERE p.id IN :ids AND p.available <> :available")
+    int setAvailable(@Param("ids") Collection<Long> ids, @Param("available") boolean available,
+                     @Param("updatedAt") LocalDateTime updatedAt);
 }
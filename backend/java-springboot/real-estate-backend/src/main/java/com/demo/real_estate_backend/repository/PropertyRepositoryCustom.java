@@ -0,0 +1,59 @@
+package com.demo.real_estate_backend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.Property;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PropertyRepositoryCustom {
+
+    // Columns of the partner export feed, in output order
+    List<String> EXPORT_COLUMNS = List.of("id", "externalKey", "title", "description", "price", "address", "city",
+            "state", "zipCode", "propertyType", "listingType", "bedrooms", "bathrooms", "squareFeet", "yearBuilt",
+            "latitude", "longitude", "imageUrl", "available", "ownerId", "builderGroupId", "createdAt", "updatedAt");
+
+    /**
+     * Facet counts for the listings matching the specification in one grouped query: rows of
+     * [propertyType, listingType, bedrooms, bathrooms, priceBand, count].
+     */
+    List<Object[]> searchFacets(Specification<Property> specification);
+
+    /**
+     * One page of the listings matching the specification without the COUNT query that
+     * findAll(Specification, Pageable) runs; one extra row is fetched to tell whether more exist.
+     */
+    Slice<Property> findSlice(Specification<Property> specification, Pageable pageable);
+
+    List<Long> findIds(Specification<Property> specification);
+
+    /**
+     * Coordinates of the geocoded listings matching the specification: rows of
+     * [id, latitude, longitude].
+     */
+    List<Object[]> findCoordinates(Specification<Property> specification);
+
+    // Forward-only stream of [price, squareFeet] rows of the listings matching the specification,
+    // unordered; the caller must close the stream inside a transaction
+    Stream<Object[]> streamPrices(Specification<Property> specification, int fetchSize);
+
+    /**
+     * Listing cards of the rows matching the specification, selected by a constructor
+     * expression so no entity is loaded or tracked. imageUrl holds the legacy column.
+     */
+    List<PropertySummary> findSummaries(Specification<Property> specification, Sort sort, int offset, int limit);
+
+    /**
+     * Forward-only stream of every listing as scalar rows of EXPORT_COLUMNS,
+     * in id order, optionally only those updated since the given time. No entities are
+     * loaded, so the persistence context does not grow; the caller must close the stream
+     * inside a transaction.
+     */
+    Stream<Object[]> streamExportRows(LocalDateTime updatedSince, int fetchSize);
+}
@@ -0,0 +1,159 @@
+package com.demo.real_estate_backend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.search.SearchFacetCollector;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PropertyRepositoryCustomImpl implements PropertyRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> searchFacets(Specification<Property> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Property> root = query.from(Property.class);
+
+        Expression<Integer> priceBand = priceBand(cb, root.get("price"));
+        query.multiselect(
+                        root.get("propertyType"),
+                        root.get("listingType"),
+                        root.get("bedrooms"),
+                        root.get("bathrooms"),
+                        priceBand,
+                        cb.count(root))
+                .where(specification.toPredicate(root, query, cb))
+                .groupBy(root.get("propertyType"), root.get("listingType"), root.get("bedrooms"),
+                        root.get("bathrooms"), priceBand);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Slice<Property> findSlice(Specification<Property> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Property> query = cb.createQuery(Property.class);
+        Root<Property> root = query.from(Property.class);
+        query.select(root).where(specification.toPredicate(root, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(pageable.getSort().stream()
+                    .map(order -> order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())))
+                    .collect(Collectors.toList()));
+        }
+
+        List<Property> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Property> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Property> root = query.from(Property.class);
+        query.select(root.get("id")).where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Object[]> findCoordinates(Specification<Property> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Property> root = query.from(Property.class);
+        query.multiselect(root.get("id"), root.get("latitude"), root.get("longitude"))
+                .where(cb.and(specification.toPredicate(root, query, cb),
+                        cb.isNotNull(root.get("latitude")), cb.isNotNull(root.get("longitude"))));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Stream<Object[]> streamPrices(Specification<Property> specification, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Property> root = query.from(Property.class);
+        query.multiselect(root.get("price"), root.get("squareFeet"))
+                .where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<PropertySummary> findSummaries(Specification<Property> specification, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PropertySummary> query = cb.createQuery(PropertySummary.class);
+        Root<Property> root = query.from(Property.class);
+        query.select(cb.construct(PropertySummary.class,
+                        root.get("id"), root.get("title"), root.get("price"), root.get("city"), root.get("state"),
+                        root.get("propertyType"), root.get("listingType"), root.get("bedrooms"),
+                        root.get("bathrooms"), root.get("squareFeet"), root.get("imageUrl"), root.get("available"),
+                        root.get("createdAt")))
+                .where(specification.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(sort.stream()
+                    .map(order -> order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())))
+                    .collect(Collectors.toList()));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Object[]> streamExportRows(LocalDateTime updatedSince, int fetchSize) {
+        String select = EXPORT_COLUMNS.stream()
+                .map(column -> switch (column) {
+                    case "ownerId" -> "o.id";
+                    case "builderGroupId" -> "b.id";
+                    default -> "p." + column;
+                })
+                .collect(Collectors.joining(", "));
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT " + select + " FROM Property p LEFT JOIN p.owner o LEFT JOIN p.builderGroup b"
+                        + (updatedSince != null ? " WHERE p.updatedAt >= :updatedSince" : "")
+                        + " ORDER BY p.id", Object[].class);
+        if (updatedSince != null) {
+            query.setParameter("updatedSince", updatedSince);
+        }
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private Expression<Integer> priceBand(CriteriaBuilder cb, Expression<BigDecimal> price) {
+        long[] bounds = SearchFacetCollector.PRICE_BAND_BOUNDS;
+        CriteriaBuilder.Case<Integer> band = cb.selectCase();
+        for (int i = 0; i < bounds.length; i++) {
+            band = band.when(cb.lessThan(price, cb.literal(BigDecimal.valueOf(bounds[i]))), cb.literal(i));
+        }
+        return band.otherwise(cb.literal(bounds.length));
+    }
+}
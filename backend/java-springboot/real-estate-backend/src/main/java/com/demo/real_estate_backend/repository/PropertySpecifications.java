@@ -0,0 +1,180 @@
+package com.demo.real_estate_backend.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.search.PropertyCursor;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria building blocks for Property queries that PropertyRepository cannot express as
+ * a single static JPQL string.
+ */
+public final class PropertySpecifications {
+
+    private PropertySpecifications() {
+    }
+
+    public static Specification<Property> isAvailable() {
+        return (root, query, cb) -> cb.isTrue(root.get("available"));
+    }
+
+    public static Specification<Property> any() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<Property> inCity(String city) {
+        return (root, query, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    public static Specification<Property> ofPropertyType(PropertyType propertyType) {
+        return (root, query, cb) -> cb.equal(root.get("propertyType"), propertyType);
+    }
+
+    public static Specification<Property> ofListingType(ListingType listingType) {
+        return (root, query, cb) -> cb.equal(root.get("listingType"), listingType);
+    }
+
+    public static Specification<Property> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.between(root.get("price"), minPrice, maxPrice);
+    }
+
+    public static Specification<Property> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Property> matches(PropertySearchRequest request) {
+        return matches(request, null, null);
+    }
+
+    /**
+     * Search filter that only emits predicates for the fields that are set, so each query
+     * shape gets its own plan. When the caller has resolved the city or state to a stored
+     * spelling it is matched with an indexable equality; otherwise it falls back to the
+     * substring match of PropertyRepository.searchProperties.
+     */
+    public static Specification<Property> matches(PropertySearchRequest request, String exactCity, String exactState) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("available")));
+            if (exactCity != null) {
+                predicates.add(cb.equal(root.get("city"), exactCity));
+            } else if (request.getCity() != null && !request.getCity().isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("city")), "%" + request.getCity().trim().toLowerCase() + "%"));
+            }
+            if (exactState != null) {
+                predicates.add(cb.equal(root.get("state"), exactState));
+            } else if (request.getState() != null && !request.getState().isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("state")), "%" + request.getState().trim().toLowerCase() + "%"));
+            }
+            if (request.getPropertyType() != null) {
+                predicates.add(cb.equal(root.get("propertyType"), request.getPropertyType()));
+            }
+            if (request.getListingType() != null) {
+                predicates.add(cb.equal(root.get("listingType"), request.getListingType()));
+            }
+            if (request.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), request.getMinPrice()));
+            }
+            if (request.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), request.getMaxPrice()));
+            }
+            if (request.getMinBedrooms() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("bedrooms"), request.getMinBedrooms()));
+            }
+            if (request.getMaxBedrooms() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("bedrooms"), request.getMaxBedrooms()));
+            }
+            if (request.getMinBathrooms() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("bathrooms"), request.getMinBathrooms()));
+            }
+            if (request.getMaxBathrooms() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("bathrooms"), request.getMaxBathrooms()));
+            }
+            if (request.getMinSquareFeet() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("squareFeet"), request.getMinSquareFeet()));
+            }
+            if (request.getMaxSquareFeet() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("squareFeet"), request.getMaxSquareFeet()));
+            }
+            if (request.getMinYearBuilt() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("yearBuilt"), request.getMinYearBuilt()));
+            }
+            if (request.getMaxYearBuilt() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("yearBuilt"), request.getMaxYearBuilt()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Property> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    // Same substring match as PropertyRepository.searchByKeyword
+    public static Specification<Property> keywordMatches(String keyword) {
+        return (root, query, cb) -> {
+            String pattern = "%" + keyword.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern),
+                    cb.like(cb.lower(root.get("city")), pattern),
+                    cb.like(cb.lower(root.get("address")), pattern));
+        };
+    }
+
+    /**
+     * Listings inside a latitude/longitude box; minLongitude greater than maxLongitude means
+     * the box crosses the antimeridian.
+     */
+    public static Specification<Property> withinBox(double minLatitude, double maxLatitude,
+                                                    double minLongitude, double maxLongitude) {
+        return (root, query, cb) -> {
+            Path<Double> latitude = root.get("latitude");
+            Path<Double> longitude = root.get("longitude");
+            Predicate longitudes = minLongitude <= maxLongitude
+                    ? cb.between(longitude, minLongitude, maxLongitude)
+                    : cb.or(cb.greaterThanOrEqualTo(longitude, minLongitude), cb.lessThanOrEqualTo(longitude, maxLongitude));
+            return cb.and(cb.between(latitude, minLatitude, maxLatitude), longitudes);
+        };
+    }
+
+    /**
+     * Seek predicate for keyset pagination: rows strictly after the cursor position in
+     * (sortField, id) order. Nulls sort first ascending and last descending, which is the
+     * default ordering on both MySQL and H2.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Property> after(PropertyCursor cursor) {
+        return (root, query, cb) -> {
+            Path field = root.get(cursor.getSortField());
+            Path<Long> id = root.get("id");
+            Comparable value = cursor.getLastValue();
+            boolean ascending = cursor.getDirection() == Sort.Direction.ASC;
+
+            Predicate sameValueLaterId = cb.and(
+                    value == null ? cb.isNull(field) : cb.equal(field, value),
+                    ascending ? cb.greaterThan(id, cursor.getLastId()) : cb.lessThan(id, cursor.getLastId()));
+
+            if (value == null) {
+                return ascending ? cb.or(sameValueLaterId, cb.isNotNull(field)) : sameValueLaterId;
+            }
+            Predicate laterValue = ascending ? cb.greaterThan(field, value) : cb.lessThan(field, value);
+            return ascending
+                    ? cb.or(laterValue, sameValueLaterId)
+                    : cb.or(laterValue, sameValueLaterId, cb.isNull(field));
+        };
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.demo.real_estate_backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.demo.real_estate_backend.model.SavedSearchAlert;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SavedSearchAlertRepository extends JpaRepository<SavedSearchAlert, Long> {
+
+    // Saved searches already alerted about a listing
+    @Query("SELECT a.savedSearch.id FROM SavedSearchAlert a WHERE a.propertyId = :propertyId")
+    List<Long> findSavedSearchIdsByPropertyId(@Param("propertyId") Long propertyId);
+
+    @Query("SELECT a FROM SavedSearchAlert a JOIN FETCH a.savedSearch s WHERE s.user.id = :userId " +
+           "AND (:unreadOnly = false OR a.readAt IS NULL) ORDER BY a.createdAt DESC, a.id DESC")
+    List<SavedSearchAlert> findByUserId(@Param("userId") Long userId, @Param("unreadOnly") boolean unreadOnly);
+
+    @Modifying
+    @Query("UPDATE SavedSearchAlert a SET a.readAt = :readAt WHERE a.readAt IS NULL " +
+           "AND a.savedSearch.id IN (SELECT s.id FROM SavedSearch s WHERE s.user.id = :userId)")
+    int markReadByUserId(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchAlert a WHERE a.savedSearch.id = :savedSearchId")
+    void deleteBySavedSearchId(@Param("savedSearchId") Long savedSearchId);
+}
@@ -0,0 +1,45 @@
+package com.demo.real_estate_backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.SavedSearch;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    List<SavedSearch> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserId(Long userId);
+
+    /**
+     * Ids of the saved searches a listing matches, with the semantics of the percolator: city
+     * and state compared trimmed and lower-cased, and a bound on a null listing value never
+     * matching. For use before the percolator is built; city and state must be normalized.
+     */
+    @Query("SELECT s.id FROM SavedSearch s WHERE " +
+           "(s.searchCity IS NULL OR TRIM(s.searchCity) = '' OR LOWER(TRIM(s.searchCity)) = :city) " +
+           "AND (s.searchState IS NULL OR TRIM(s.searchState) = '' OR LOWER(TRIM(s.searchState)) = :state) " +
+           "AND (s.searchPropertyType IS NULL OR s.searchPropertyType = :propertyType) " +
+           "AND (s.searchListingType IS NULL OR s.searchListingType = :listingType) " +
+           "AND ((s.minPrice IS NULL AND s.maxPrice IS NULL) " +
+           "OR ((s.minPrice IS NULL OR s.minPrice <= :price) AND (s.maxPrice IS NULL OR s.maxPrice >= :price))) " +
+           "AND ((s.minBedrooms IS NULL AND s.maxBedrooms IS NULL) " +
+           "OR ((s.minBedrooms IS NULL OR s.minBedrooms <= :bedrooms) AND (s.maxBedrooms IS NULL OR s.maxBedrooms >= :bedrooms))) " +
+           "AND ((s.minBathrooms IS NULL AND s.maxBathrooms IS NULL) " +
+           "OR ((s.minBathrooms IS NULL OR s.minBathrooms <= :bathrooms) AND (s.maxBathrooms IS NULL OR s.maxBathrooms >= :bathrooms))) " +
+           "AND ((s.minSquareFeet IS NULL AND s.maxSquareFeet IS NULL) " +
+           "OR ((s.minSquareFeet IS NULL OR s.minSquareFeet <= :squareFeet) AND (s.maxSquareFeet IS NULL OR s.maxSquareFeet >= :squareFeet)))")
+    List<Long> findIdsMatching(@Param("city") String city, @Param("state") String state,
+                               @Param("propertyType") PropertyType propertyType,
+                               @Param("listingType") ListingType listingType, @Param("price") BigDecimal price,
+                               @Param("bedrooms") Integer bedrooms, @Param("bathrooms") Integer bathrooms,
+                               @Param("squareFeet") BigDecimal squareFeet);
+}
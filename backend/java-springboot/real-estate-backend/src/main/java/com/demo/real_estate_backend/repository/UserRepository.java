@@ -1,11 +1,16 @@
 package com.demo.real_estate_backend.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.demo.real_estate_backend.model.User;
 import com.demo.real_estate_backend.model.UserType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +24,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByActiveTrue();
     
     List<User> findByUserTypeAndActiveTrue(UserType userType);
+    
+    // Bounded list reads: one row past the page tells whether the result was cut off
+    Slice<User> findSliceBy(Pageable pageable);
+    
+    Slice<User> findSliceByUserType(UserType userType, Pageable pageable);
+    
+    Slice<User> findSliceByActiveTrue(Pageable pageable);
+    
+    // Owner summary columns for a page of properties; avoids loading the one-to-one subscription per user
+    @Query("SELECT u.id, u.firstName, u.lastName, u.email, u.phone, u.company, u.profileImageUrl " +
+           "FROM User u WHERE u.id IN :ids")
+    List<Object[]> findOwnerSummariesByIds(@Param("ids") Collection<Long> ids);
 }
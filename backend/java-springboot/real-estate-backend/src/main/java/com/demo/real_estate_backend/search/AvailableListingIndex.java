@@ -0,0 +1,152 @@
+package com.demo.real_estate_backend.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base for in-memory structures over the available listings. Handles the full rebuild from
+ * the repository on startup and the incremental updates from PropertyChangeEvents; changes
+ * that arrive while a rebuild runs are replayed on the new state before it is swapped in.
+ *
+ * @param <S> the index state that a rebuild replaces wholesale
+ */
+public abstract class AvailableListingIndex<S> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailableListingIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    protected S state = newState();
+
+    private volatile boolean ready;
+    private List<PropertyChangeEvent> changesDuringRebuild;
+
+    protected abstract S newState();
+
+    // Index an available listing that is not present in the state
+    protected abstract void add(S state, Property property);
+
+    // Drop a listing from the state if present
+    protected abstract void remove(S state, Long propertyId);
+
+    // Apply an update to an available listing in place; false falls back to remove and add
+    protected boolean replace(S state, Property property) {
+        return false;
+    }
+
+    protected abstract int size(S state);
+
+    // Disabled indexes are never built and stay not ready
+    protected boolean isEnabled() {
+        return true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        S fresh = newState();
+        // Keyset paging: each batch seeks past the last id instead of scanning an offset
+        List<Property> batch;
+        long lastId = 0;
+        do {
+            batch = propertyRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Property property : batch) {
+                add(fresh, property);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        int size;
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+            for (PropertyChangeEvent event : changesDuringRebuild) {
+                apply(event);
+            }
+            changesDuringRebuild = null;
+            size = size(state);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("{} rebuilt with {} listings in {} ms", getClass().getSimpleName(), size,
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void apply(PropertyChangeEvent event) {
+        Property property = event.getProperty();
+        boolean available = !event.isDeleted() && property != null && Boolean.TRUE.equals(property.getAvailable());
+        if (available && replace(state, property)) {
+            return;
+        }
+        remove(state, event.getPropertyId());
+        if (available) {
+            add(state, property);
+        }
+    }
+}
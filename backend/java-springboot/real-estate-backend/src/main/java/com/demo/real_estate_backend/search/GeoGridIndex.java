@@ -0,0 +1,138 @@
+package com.demo.real_estate_backend.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.model.Property;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fixed-size latitude/longitude grid over the geocoded available listings. A radius query
+ * only measures the listings in the cells overlapping the circle's bounding box, so the cost
+ * depends on local density rather than on the size of the catalog.
+ */
+@Component
+public class GeoGridIndex extends AvailableListingIndex<GeoGridIndex.State> {
+
+    // About 11 km of latitude per cell
+    static final double CELL_DEGREES = 0.1;
+    private static final int LNG_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    static class State {
+        private final Map<Long, Set<Long>> cells = new HashMap<>();
+        private final Map<Long, double[]> points = new HashMap<>();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final Long id;
+        private final double distanceKm;
+    }
+
+    /**
+     * Listings within radiusKm of the center, nearest first (ties by id).
+     */
+    public List<Hit> within(GeoPoint center, double radiusKm) {
+        double latSpan = GeoPoint.latitudeDegrees(radiusKm);
+        int minLatCell = latCell(Math.max(-90, center.getLatitude() - latSpan));
+        int maxLatCell = latCell(Math.min(90, center.getLatitude() + latSpan));
+
+        // Widest longitude span is at the box edge nearest a pole
+        double farthestLatitude = Math.abs(center.getLatitude()) + latSpan;
+        double lngSpan = farthestLatitude >= 90 ? 360 : GeoPoint.longitudeDegrees(radiusKm, farthestLatitude);
+        int minLngCell;
+        int maxLngCell;
+        if (lngSpan >= 180) {
+            minLngCell = 0;
+            maxLngCell = LNG_CELLS - 1;
+        } else {
+            minLngCell = rawLngCell(center.getLongitude() - lngSpan);
+            maxLngCell = rawLngCell(center.getLongitude() + lngSpan);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int rawLng = minLngCell; rawLng <= maxLngCell; rawLng++) {
+                    Set<Long> ids = state.cells.get(cellKey(latCell, Math.floorMod(rawLng, LNG_CELLS)));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        double[] point = state.points.get(id);
+                        double distance = center.distanceKm(point[0], point[1]);
+                        if (distance <= radiusKm) {
+                            hits.add(new Hit(id, distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparing(Hit::getId));
+        return hits;
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected int size(State state) {
+        return state.points.size();
+    }
+
+    @Override
+    protected void add(State state, Property property) {
+        if (property.getLatitude() == null || property.getLongitude() == null) {
+            return;
+        }
+        double[] point = {property.getLatitude(), property.getLongitude()};
+        state.points.put(property.getId(), point);
+        state.cells.computeIfAbsent(cellKey(point), key -> new HashSet<>()).add(property.getId());
+    }
+
+    @Override
+    protected void remove(State state, Long propertyId) {
+        double[] point = state.points.remove(propertyId);
+        if (point == null) {
+            return;
+        }
+        long key = cellKey(point);
+        Set<Long> ids = state.cells.get(key);
+        ids.remove(propertyId);
+        if (ids.isEmpty()) {
+            state.cells.remove(key);
+        }
+    }
+
+    private static long cellKey(double[] point) {
+        return cellKey(latCell(point[0]), Math.floorMod(rawLngCell(point[1]), LNG_CELLS));
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | lngCell;
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    // Not wrapped, so a range of cells can cross the antimeridian
+    private static int rawLngCell(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+}
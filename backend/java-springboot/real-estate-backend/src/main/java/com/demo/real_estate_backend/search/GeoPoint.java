@@ -0,0 +1,64 @@
+package com.demo.real_estate_backend.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A WGS84 latitude/longitude pair with great-circle distance.
+ */
+@Getter
+@AllArgsConstructor
+public class GeoPoint {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double latitude;
+    private final double longitude;
+
+    // Parses the "lat,lng" form used by the near search parameter
+    public static GeoPoint parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("near must be in the form lat,lng");
+        }
+        double latitude;
+        double longitude;
+        try {
+            latitude = Double.parseDouble(parts[0].trim());
+            longitude = Double.parseDouble(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("near must be in the form lat,lng", e);
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("near is out of range: latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+
+    public double distanceKm(double otherLatitude, double otherLongitude) {
+        return distanceKm(latitude, longitude, otherLatitude, otherLongitude);
+    }
+
+    // Haversine formula
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Degrees of latitude spanned by a distance
+    public static double latitudeDegrees(double km) {
+        return Math.toDegrees(km / EARTH_RADIUS_KM);
+    }
+
+    // Degrees of longitude spanned by a distance at the given latitude, or 360 when it wraps the globe
+    public static double longitudeDegrees(double km, double latitude) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(latitude), 90)));
+        if (cos <= 1e-9) {
+            return 360;
+        }
+        return Math.min(360, Math.toDegrees(km / (EARTH_RADIUS_KM * cos)));
+    }
+}
@@ -0,0 +1,294 @@
+package com.demo.real_estate_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) for approximate nearest
+ * neighbour search under Euclidean distance. Each node is linked to its closest neighbours on
+ * its own layer and on every layer below it; upper layers are exponentially sparser, so a
+ * query descends greedily from the top and only searches widely on the bottom layer.
+ *
+ * Deletion leaves a tombstone: the node keeps routing queries but is never returned. Callers
+ * rebuild once tombstones pile up. Not thread-safe; searches only read, so they may run
+ * concurrently with each other but not with add or delete.
+ */
+public class HnswGraph {
+
+    public record Neighbor(long label, float distance) {
+    }
+
+    private final int dimensions;
+    private final int maxConnections;
+    private final int maxConnectionsBottom;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private float[][] vectors = new float[64][];
+    private long[] labels = new long[64];
+    // links[node][layer] holds linkCounts[node][layer] neighbour ids
+    private int[][][] links = new int[64][][];
+    private int[][] linkCounts = new int[64][];
+    private final BitSet deleted = new BitSet();
+
+    private int count;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int topLayer = -1;
+
+    public HnswGraph(int dimensions, int maxConnections, int efConstruction, long seed) {
+        this.dimensions = dimensions;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsBottom = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+        this.random = new Random(seed);
+    }
+
+    // Nodes added, including deleted ones
+    public int size() {
+        return count;
+    }
+
+    public int deletedCount() {
+        return deletedCount;
+    }
+
+    public float[] vector(int node) {
+        return vectors[node];
+    }
+
+    public long label(int node) {
+        return labels[node];
+    }
+
+    /** Insert a vector and return its node id. */
+    public int add(long label, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        int node = count++;
+        ensureCapacity(count);
+        int layer = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        vectors[node] = vector;
+        labels[node] = label;
+        links[node] = new int[layer + 1][];
+        linkCounts[node] = new int[layer + 1];
+        for (int l = 0; l <= layer; l++) {
+            links[node][l] = new int[capacity(l) + 1];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLayer = layer;
+            return node;
+        }
+
+        int current = entryPoint;
+        for (int l = topLayer; l > layer; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        for (int l = Math.min(layer, topLayer); l >= 0; l--) {
+            PriorityQueue<Candidate> nearest = searchLayer(vector, current, efConstruction, l);
+            List<Candidate> sorted = new ArrayList<>(nearest);
+            sorted.sort(Comparator.comparingDouble(Candidate::distance));
+            List<Candidate> selected = selectNeighbours(sorted, maxConnections);
+            for (Candidate neighbour : selected) {
+                connect(node, neighbour.node(), l);
+                connect(neighbour.node(), node, l);
+            }
+            current = sorted.get(0).node();
+        }
+        if (layer > topLayer) {
+            topLayer = layer;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    public void delete(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    public boolean isDeleted(int node) {
+        return deleted.get(node);
+    }
+
+    /**
+     * The k live nodes closest to the query, nearest first, exploring ef candidates on the
+     * bottom layer; a larger ef trades speed for recall.
+     */
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int l = topLayer; l > 0; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        // Tombstones still count against ef, so widen the beam by the share of deleted nodes
+        int beam = Math.max(ef, k);
+        if (deletedCount > 0) {
+            beam = (int) Math.min(count, Math.ceil(beam * (double) count / Math.max(1, count - deletedCount)));
+        }
+        List<Candidate> found = new ArrayList<>(searchLayer(query, current, beam, 0));
+        found.sort(Comparator.comparingDouble(Candidate::distance));
+
+        List<Neighbor> result = new ArrayList<>(k);
+        for (Candidate candidate : found) {
+            if (!deleted.get(candidate.node())) {
+                result.add(new Neighbor(labels[candidate.node()], (float) Math.sqrt(candidate.distance())));
+                if (result.size() == k) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public static float squaredDistance(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            float d = a[i] - b[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    // distance is squared Euclidean throughout
+    private record Candidate(int node, float distance) {
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = squaredDistance(query, vectors[current]);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][layer];
+            int n = linkCounts[current][layer];
+            for (int i = 0; i < n; i++) {
+                float distance = squaredDistance(query, vectors[neighbours[i]]);
+                if (distance < best) {
+                    best = distance;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first beam search on one layer; returns up to ef closest nodes as a max-heap
+    private PriorityQueue<Candidate> searchLayer(float[] query, int start, int ef, int layer) {
+        BitSet visited = new BitSet(count);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).reversed());
+        Candidate first = new Candidate(start, squaredDistance(query, vectors[start]));
+        visited.set(start);
+        candidates.add(first);
+        nearest.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (closest.distance() > nearest.peek().distance() && nearest.size() >= ef) {
+                break;
+            }
+            int[] neighbours = links[closest.node()][layer];
+            int n = linkCounts[closest.node()][layer];
+            for (int i = 0; i < n; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float distance = squaredDistance(query, vectors[neighbour]);
+                if (nearest.size() < ef || distance < nearest.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbour, distance);
+                    candidates.add(candidate);
+                    nearest.add(candidate);
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Neighbour selection heuristic: keep a candidate only if it is closer to the new node
+     * than to every neighbour already kept, which spreads links across directions and keeps
+     * clustered data navigable. Remaining slots are filled with the closest leftovers.
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> sortedCandidates, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> skipped = new ArrayList<>();
+        for (Candidate candidate : sortedCandidates) {
+            if (selected.size() == max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (squaredDistance(vectors[candidate.node()], vectors[kept.node()]) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                skipped.add(candidate);
+            }
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < max; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    // Add a directed link, pruning the node's list back to capacity when it overflows
+    private void connect(int from, int to, int layer) {
+        int[] neighbours = links[from][layer];
+        int n = linkCounts[from][layer];
+        neighbours[n++] = to;
+        if (n <= capacity(layer)) {
+            linkCounts[from][layer] = n;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            candidates.add(new Candidate(neighbours[i], squaredDistance(vectors[from], vectors[neighbours[i]])));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::distance));
+        List<Candidate> kept = selectNeighbours(candidates, capacity(layer));
+        for (int i = 0; i < kept.size(); i++) {
+            neighbours[i] = kept.get(i).node();
+        }
+        linkCounts[from][layer] = kept.size();
+    }
+
+    private int capacity(int layer) {
+        return layer == 0 ? maxConnectionsBottom : maxConnections;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= vectors.length) {
+            return;
+        }
+        int capacity = Math.max(size, vectors.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity);
+        labels = Arrays.copyOf(labels, capacity);
+        links = Arrays.copyOf(links, capacity);
+        linkCounts = Arrays.copyOf(linkCounts, capacity);
+    }
+}
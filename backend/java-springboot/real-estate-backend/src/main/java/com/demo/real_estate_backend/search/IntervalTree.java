@@ -0,0 +1,105 @@
+package com.demo.real_estate_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Static centered interval tree over closed intervals tagged with ids. A stabbing query
+ * reports every interval containing a point in O(log n + k). Unbounded ends are infinities.
+ * Immutable; build a new tree to change the intervals.
+ */
+final class IntervalTree {
+
+    record Interval(double low, double high, long id) {
+    }
+
+    private static final class Node {
+        private final double center;
+        // The intervals containing center, by ascending low and by descending high
+        private final Interval[] byLow;
+        private final Interval[] byHigh;
+        private final Node left;
+        private final Node right;
+
+        private Node(double center, List<Interval> overlapping, Node left, Node right) {
+            this.center = center;
+            this.byLow = overlapping.toArray(new Interval[0]);
+            Arrays.sort(byLow, Comparator.comparingDouble(Interval::low));
+            this.byHigh = overlapping.toArray(new Interval[0]);
+            Arrays.sort(byHigh, Comparator.comparingDouble(Interval::high).reversed());
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    IntervalTree(List<Interval> intervals) {
+        this.root = build(intervals);
+        this.size = intervals.size();
+    }
+
+    int size() {
+        return size;
+    }
+
+    void stab(double point, LongConsumer ids) {
+        Node node = root;
+        while (node != null) {
+            if (point < node.center) {
+                for (Interval interval : node.byLow) {
+                    if (interval.low() > point) {
+                        break;
+                    }
+                    ids.accept(interval.id());
+                }
+                node = node.left;
+            } else if (point > node.center) {
+                for (Interval interval : node.byHigh) {
+                    if (interval.high() < point) {
+                        break;
+                    }
+                    ids.accept(interval.id());
+                }
+                node = node.right;
+            } else {
+                for (Interval interval : node.byLow) {
+                    ids.accept(interval.id());
+                }
+                return;
+            }
+        }
+    }
+
+    // The center is the median finite endpoint, so its own interval stays in the node and both sides shrink
+    private static Node build(List<Interval> intervals) {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        double[] endpoints = intervals.stream()
+                .flatMapToDouble(interval -> DoubleStream.of(interval.low(), interval.high()))
+                .filter(Double::isFinite)
+                .sorted()
+                .toArray();
+        double center = endpoints.length > 0 ? endpoints[endpoints.length / 2] : 0;
+
+        List<Interval> left = new ArrayList<>();
+        List<Interval> right = new ArrayList<>();
+        List<Interval> overlapping = new ArrayList<>();
+        for (Interval interval : intervals) {
+            if (interval.high() < center) {
+                left.add(interval);
+            } else if (interval.low() > center) {
+                right.add(interval);
+            } else {
+                overlapping.add(interval);
+            }
+        }
+        return new Node(center, overlapping, build(left), build(right));
+    }
+}
@@ -0,0 +1,267 @@
+package com.demo.real_estate_backend.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-process inverted index over the title, description, city and address of available
+ * listings. Replaces the un-indexable LOWER(col) LIKE '%kw%' scan in
+ * PropertyRepository.searchByKeyword.
+ *
+ * Every query term must match (exactly, or as a prefix of an indexed term). Hits are scored
+ * with BM25 over field-boosted term frequencies.
+ */
+@Component
+public class KeywordSearchIndex extends AvailableListingIndex<KeywordSearchIndex.State> {
+
+    public static final String SORT_RELEVANCE = "relevance";
+    private static final Set<String> SORT_FIELDS = Set.of(SORT_RELEVANCE, "createdAt", "price", "squareFeet", "bedrooms");
+
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float CITY_BOOST = 2.0f;
+    private static final float ADDRESS_BOOST = 1.5f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+
+    // Prefix matches rank below exact term matches
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final float BM25_K1 = 1.2f;
+    private static final float BM25_B = 0.75f;
+
+    private final KeywordTokenizer tokenizer;
+
+    static class State {
+        // term -> (propertyId -> field-boosted term frequency); sorted for prefix scans
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, IndexedListing> listings = new HashMap<>();
+        private double totalLength;
+    }
+
+    // Disabled, the index is never built and keyword searches run in SQL
+    @Value("${search.keyword.enabled:true}")
+    private boolean enabled = true;
+
+    public KeywordSearchIndex(@Value("${search.keyword.stemming:true}") boolean stemming) {
+        this.tokenizer = new KeywordTokenizer(stemming);
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean supportsSort(String sortBy) {
+        return SORT_FIELDS.contains(sortBy);
+    }
+
+    /**
+     * Ranked ids of available listings matching every term of the query, ordered by
+     * relevance or by one of the supported listing fields.
+     */
+    public List<Long> search(String query, String sortBy, boolean ascending) {
+        List<String> terms = tokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        Float other = termScores.get(entry.getKey());
+                        if (other != null) {
+                            merged.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(scores.keySet());
+            ids.sort(comparator(sortBy, ascending, scores));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query) {
+        return search(query, SORT_RELEVANCE, false);
+    }
+
+    /**
+     * Feed facet values of every listing matching the query into the collector without
+     * touching the database.
+     */
+    public void collectFacets(String query, SearchFacetCollector collector) {
+        List<Long> ids = search(query);
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                IndexedListing listing = state.listings.get(id);
+                if (listing != null) {
+                    collector.add(listing.propertyType, listing.listingType, listing.bedrooms, listing.bathrooms,
+                            SearchFacetCollector.priceBand(listing.price), 1);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected int size(State state) {
+        return state.listings.size();
+    }
+
+    @Override
+    protected void add(State state, Property property) {
+        IndexedListing listing = toIndexedListing(property);
+        state.listings.put(listing.id, listing);
+        state.totalLength += listing.length;
+        for (Map.Entry<String, Float> entry : listing.termWeights.entrySet()) {
+            state.postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(listing.id, entry.getValue());
+        }
+    }
+
+    @Override
+    protected void remove(State state, Long propertyId) {
+        IndexedListing existing = state.listings.remove(propertyId);
+        if (existing == null) {
+            return;
+        }
+        state.totalLength -= existing.length;
+        for (String term : existing.termWeights.keySet()) {
+            Map<Long, Float> docs = state.postings.get(term);
+            if (docs != null) {
+                docs.remove(propertyId);
+                if (docs.isEmpty()) {
+                    state.postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private IndexedListing toIndexedListing(Property property) {
+        Map<String, Float> weights = new HashMap<>();
+        float[] length = {0};
+        addField(weights, length, property.getTitle(), TITLE_BOOST);
+        addField(weights, length, property.getCity(), CITY_BOOST);
+        addField(weights, length, property.getAddress(), ADDRESS_BOOST);
+        addField(weights, length, property.getDescription(), DESCRIPTION_BOOST);
+        return new IndexedListing(property.getId(), weights, length[0], property.getPrice(),
+                property.getCreatedAt(), property.getSquareFeet(), property.getBedrooms(),
+                property.getBathrooms(), property.getPropertyType(), property.getListingType());
+    }
+
+    private void addField(Map<String, Float> weights, float[] length, String text, float boost) {
+        for (String token : tokenizer.tokenize(text)) {
+            weights.merge(token, boost, Float::sum);
+            length[0] += boost;
+        }
+    }
+
+    // Caller must hold the read lock
+    private Map<Long, Float> scoreTerm(String term) {
+        Map<Long, Float> scores = new HashMap<>();
+        TreeMap<String, Map<Long, Float>> postings = state.postings;
+        Map<Long, IndexedListing> listings = state.listings;
+        double avgLength = listings.isEmpty() ? 1 : state.totalLength / listings.size();
+
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().equals(term) ? 1.0f : PREFIX_MATCH_FACTOR;
+            Map<Long, Float> docs = entry.getValue();
+            double idf = Math.log(1 + (listings.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+            for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+                float tf = doc.getValue();
+                double norm = 1 - BM25_B + BM25_B * listings.get(doc.getKey()).length / avgLength;
+                float score = (float) (factor * idf * (tf * (BM25_K1 + 1)) / (tf + BM25_K1 * norm));
+                scores.merge(doc.getKey(), score, Math::max);
+            }
+            if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Comparator<Long> comparator(String sortBy, boolean ascending, Map<Long, Float> scores) {
+        Comparator<Long> byId = Comparator.reverseOrder();
+        if (sortBy == null || SORT_RELEVANCE.equals(sortBy)) {
+            Comparator<Long> byScore = Comparator.comparing(scores::get);
+            return (ascending ? byScore : byScore.reversed()).thenComparing(byId);
+        }
+
+        Comparator<IndexedListing> field = switch (sortBy) {
+            case "price" -> Comparator.comparing(l -> l.price, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "squareFeet" -> Comparator.comparing(l -> l.squareFeet, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "bedrooms" -> Comparator.comparing(l -> l.bedrooms, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "createdAt" -> Comparator.comparing(l -> l.createdAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new IllegalArgumentException("Unsupported sort field for keyword search: " + sortBy);
+        };
+        if (!ascending) {
+            field = field.reversed();
+        }
+        Comparator<IndexedListing> ordered = field;
+        Map<Long, IndexedListing> listings = state.listings;
+        return Comparator.<Long, IndexedListing>comparing(listings::get, ordered).thenComparing(byId);
+    }
+
+    private static class IndexedListing {
+        private final Long id;
+        private final Map<String, Float> termWeights;
+        private final float length;
+        private final BigDecimal price;
+        private final LocalDateTime createdAt;
+        private final BigDecimal squareFeet;
+        private final Integer bedrooms;
+        private final Integer bathrooms;
+        private final PropertyType propertyType;
+        private final ListingType listingType;
+
+        IndexedListing(Long id, Map<String, Float> termWeights, float length, BigDecimal price,
+                       LocalDateTime createdAt, BigDecimal squareFeet, Integer bedrooms,
+                       Integer bathrooms, PropertyType propertyType, ListingType listingType) {
+            this.id = id;
+            this.termWeights = termWeights;
+            this.length = length;
+            this.price = price;
+            this.createdAt = createdAt;
+            this.squareFeet = squareFeet;
+            this.bedrooms = bedrooms;
+            this.bathrooms = bathrooms;
+            this.propertyType = propertyType;
+            this.listingType = listingType;
+        }
+    }
+}
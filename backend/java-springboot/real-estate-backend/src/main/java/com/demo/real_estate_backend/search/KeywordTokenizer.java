@@ -0,0 +1,64 @@
+package com.demo.real_estate_backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits listing text into lower-cased terms for the keyword index. Stemming is a light
+ * plural stripper ("homes" -> "home", "properties" -> "property") so that the same
+ * tokenizer can be applied to both indexed text and queries.
+ */
+public class KeywordTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is",
+            "it", "of", "on", "or", "the", "to", "with");
+
+    private final boolean stemming;
+
+    public KeywordTokenizer(boolean stemming) {
+        this.stemming = stemming;
+    }
+
+    public List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(stemming ? stem(token) : token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static String stem(String token) {
+        int length = token.length();
+        if (length <= 3 || !Character.isLetter(token.charAt(length - 1))) {
+            return token;
+        }
+        if (token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+        if (token.endsWith("es") && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, length - 1);
+        }
+        if (token.endsWith("s") && !token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+}
@@ -0,0 +1,542 @@
+package com.demo.real_estate_backend.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Column-oriented copy of the available listings for structured search. Numeric fields live
+ * in primitive arrays indexed by row, city and state are dictionary-encoded, and city, state,
+ * propertyType and listingType filters are per-value bitsets. A search ANDs the bitsets,
+ * narrows the candidates with range scans over the arrays and selects the requested page
+ * with a bounded heap, so filtering, sorting, counting and faceting never reach the database.
+ *
+ * Matches PropertySpecifications.matches: nulls fail every range filter, and sorts order
+ * nulls first ascending and last descending with id as the tie-breaker.
+ */
+@Component
+public class ListingColumnStore extends AvailableListingIndex<ListingColumnStore.Columns> {
+
+    public static final Set<String> SORT_FIELDS = PropertyCursor.SORT_FIELDS;
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final byte NULL_BYTE = -1;
+
+    // price and squareFeet are stored as hundredths, the scale of their decimal columns
+    private static final int DECIMAL_SCALE = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean enabled;
+
+    static class Columns {
+        private int capacity = INITIAL_CAPACITY;
+        // High-water mark; rows below it are either live or on the free list
+        private int rowCount;
+
+        private long[] ids = new long[capacity];
+        private long[] priceCents = new long[capacity];
+        private long[] squareFeetHundredths = new long[capacity];
+        private long[] createdAtMicros = new long[capacity];
+        private int[] bedrooms = new int[capacity];
+        private int[] bathrooms = new int[capacity];
+        private int[] yearBuilt = new int[capacity];
+        private int[] cityCodes = new int[capacity];
+        private int[] stateCodes = new int[capacity];
+        private byte[] propertyTypes = new byte[capacity];
+        private byte[] listingTypes = new byte[capacity];
+
+        private final Dictionary cities = new Dictionary();
+        private final Dictionary states = new Dictionary();
+        private final BitSet[] byPropertyType = newBitSets(PropertyType.values().length);
+        private final BitSet[] byListingType = newBitSets(ListingType.values().length);
+
+        private final BitSet live = new BitSet();
+        private final Map<Long, Integer> rowById = new HashMap<>();
+        private int[] freeRows = new int[16];
+        private int freeCount;
+
+        private void grow() {
+            capacity *= 2;
+            ids = Arrays.copyOf(ids, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            squareFeetHundredths = Arrays.copyOf(squareFeetHundredths, capacity);
+            createdAtMicros = Arrays.copyOf(createdAtMicros, capacity);
+            bedrooms = Arrays.copyOf(bedrooms, capacity);
+            bathrooms = Arrays.copyOf(bathrooms, capacity);
+            yearBuilt = Arrays.copyOf(yearBuilt, capacity);
+            cityCodes = Arrays.copyOf(cityCodes, capacity);
+            stateCodes = Arrays.copyOf(stateCodes, capacity);
+            propertyTypes = Arrays.copyOf(propertyTypes, capacity);
+            listingTypes = Arrays.copyOf(listingTypes, capacity);
+        }
+    }
+
+    // Lower-cased value -> code, with the rows holding each code; codes are never reused
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<BitSet> rows = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_INT;
+            }
+            return codes.computeIfAbsent(value.toLowerCase(Locale.ROOT), key -> {
+                keys.add(key);
+                rows.add(new BitSet());
+                return keys.size() - 1;
+            });
+        }
+
+        // Rows whose value equals the input ignoring case, else those containing it
+        BitSet match(String input) {
+            Integer exact = codes.get(input.trim().toLowerCase(Locale.ROOT));
+            if (exact != null) {
+                return rows.get(exact);
+            }
+            String needle = input.toLowerCase(Locale.ROOT);
+            BitSet matched = new BitSet();
+            for (int code = 0; code < keys.size(); code++) {
+                if (keys.get(code).contains(needle)) {
+                    matched.or(rows.get(code));
+                }
+            }
+            return matched;
+        }
+    }
+
+    /**
+     * One page of a column store search: ids in display order plus the size of the whole
+     * match set. With a cursor, hasNext tells whether rows remain after the page.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final List<Long> ids;
+        private final long total;
+        private final boolean hasNext;
+    }
+
+    public ListingColumnStore(@Value("${search.column-store.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean supportsSort(String sortBy) {
+        return SORT_FIELDS.contains(sortBy);
+    }
+
+    /**
+     * Offset search: the page at offset/size of the listings matching the request's structured
+     * filters (the keyword is ignored), feeding every match into the facet collector if given.
+     */
+    public Result search(PropertySearchRequest request, String sortBy, Sort.Direction direction,
+                         int offset, int size, SearchFacetCollector facets) {
+        return search(request, sortBy, direction, null, offset, size, facets);
+    }
+
+    /**
+     * Keyset search: up to size listings strictly after the cursor position. The total still
+     * counts the whole match set, since it costs nothing extra here.
+     */
+    public Result search(PropertySearchRequest request, PropertyCursor cursor, int size, SearchFacetCollector facets) {
+        return search(request, cursor.getSortField(), cursor.getDirection(), cursor, 0, size, facets);
+    }
+
+    private Result search(PropertySearchRequest request, String sortBy, Sort.Direction direction,
+                          PropertyCursor cursor, int offset, int size, SearchFacetCollector facets) {
+        if (!supportsSort(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field for column store: " + sortBy);
+        }
+
+        lock.readLock().lock();
+        try {
+            Columns columns = state;
+            long[] candidates = filter(columns, request);
+
+            long total = 0;
+            for (long word : candidates) {
+                total += Long.bitCount(word);
+            }
+            if (facets != null) {
+                collectFacets(columns, candidates, facets);
+            }
+
+            long[] keys = sortKeys(columns, sortBy);
+            int sign = direction == Sort.Direction.ASC ? 1 : -1;
+            long cursorKey = cursor == null ? 0 : toSortKey(sortBy, cursor.getLastValue());
+            long cursorId = cursor == null ? 0 : cursor.getLastId();
+
+            // Keep the best `limit` rows in a heap whose root is the worst of them
+            int limit = cursor != null ? size + 1 : offset + size;
+            int[] heap = new int[Math.max(limit, 0)];
+            int heapSize = 0;
+            for (int w = 0; w < candidates.length && limit > 0; w++) {
+                long word = candidates[w];
+                while (word != 0) {
+                    int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (cursor != null && compare(keys[row], columns.ids[row], cursorKey, cursorId, sign) <= 0) {
+                        continue;
+                    }
+                    if (heapSize < limit) {
+                        heap[heapSize++] = row;
+                        siftUp(heap, heapSize - 1, keys, columns.ids, sign);
+                    } else if (compare(keys[row], columns.ids[row], keys[heap[0]], columns.ids[heap[0]], sign) < 0) {
+                        heap[0] = row;
+                        siftDown(heap, heapSize, keys, columns.ids, sign);
+                    }
+                }
+            }
+
+            // Drain worst-first into a display-ordered array
+            int[] ordered = new int[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ordered[i] = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize, keys, columns.ids, sign);
+            }
+
+            int from = cursor != null ? 0 : Math.min(offset, ordered.length);
+            int to = Math.min(from + size, ordered.length);
+            List<Long> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add(columns.ids[ordered[i]]);
+            }
+            boolean hasNext = cursor != null ? ordered.length > size : offset + size < total;
+            return new Result(ids, total, hasNext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The ids, in their given order, of the listings that also match the request's structured
+     * filters; used to apply those filters to candidates found by another index.
+     */
+    public List<Long> retainMatching(PropertySearchRequest request, List<Long> ids) {
+        lock.readLock().lock();
+        try {
+            Columns columns = state;
+            BitSet candidates = BitSet.valueOf(filter(columns, request));
+            List<Long> retained = new ArrayList<>();
+            for (Long id : ids) {
+                Integer row = columns.rowById.get(id);
+                if (row != null && candidates.get(row)) {
+                    retained.add(id);
+                }
+            }
+            return retained;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected Columns newState() {
+        return new Columns();
+    }
+
+    @Override
+    protected int size(Columns columns) {
+        return columns.rowById.size();
+    }
+
+    @Override
+    protected void add(Columns columns, Property property) {
+        int row;
+        if (columns.freeCount > 0) {
+            row = columns.freeRows[--columns.freeCount];
+        } else {
+            if (columns.rowCount == columns.capacity) {
+                columns.grow();
+            }
+            row = columns.rowCount++;
+        }
+
+        columns.ids[row] = property.getId();
+        columns.priceCents[row] = scaled(property.getPrice(), RoundingMode.HALF_UP);
+        columns.squareFeetHundredths[row] = scaled(property.getSquareFeet(), RoundingMode.HALF_UP);
+        columns.createdAtMicros[row] = micros(property.getCreatedAt());
+        columns.bedrooms[row] = orNull(property.getBedrooms());
+        columns.bathrooms[row] = orNull(property.getBathrooms());
+        columns.yearBuilt[row] = orNull(property.getYearBuilt());
+        columns.propertyTypes[row] = property.getPropertyType() == null ? NULL_BYTE : (byte) property.getPropertyType().ordinal();
+        columns.listingTypes[row] = property.getListingType() == null ? NULL_BYTE : (byte) property.getListingType().ordinal();
+
+        columns.cityCodes[row] = columns.cities.encode(property.getCity());
+        columns.stateCodes[row] = columns.states.encode(property.getState());
+        if (columns.cityCodes[row] != NULL_INT) {
+            columns.cities.rows.get(columns.cityCodes[row]).set(row);
+        }
+        if (columns.stateCodes[row] != NULL_INT) {
+            columns.states.rows.get(columns.stateCodes[row]).set(row);
+        }
+        if (property.getPropertyType() != null) {
+            columns.byPropertyType[property.getPropertyType().ordinal()].set(row);
+        }
+        if (property.getListingType() != null) {
+            columns.byListingType[property.getListingType().ordinal()].set(row);
+        }
+
+        columns.live.set(row);
+        columns.rowById.put(property.getId(), row);
+    }
+
+    @Override
+    protected void remove(Columns columns, Long propertyId) {
+        Integer row = columns.rowById.remove(propertyId);
+        if (row == null) {
+            return;
+        }
+        columns.live.clear(row);
+        if (columns.cityCodes[row] != NULL_INT) {
+            columns.cities.rows.get(columns.cityCodes[row]).clear(row);
+        }
+        if (columns.stateCodes[row] != NULL_INT) {
+            columns.states.rows.get(columns.stateCodes[row]).clear(row);
+        }
+        if (columns.propertyTypes[row] != NULL_BYTE) {
+            columns.byPropertyType[columns.propertyTypes[row]].clear(row);
+        }
+        if (columns.listingTypes[row] != NULL_BYTE) {
+            columns.byListingType[columns.listingTypes[row]].clear(row);
+        }
+
+        if (columns.freeCount == columns.freeRows.length) {
+            columns.freeRows = Arrays.copyOf(columns.freeRows, columns.freeCount * 2);
+        }
+        columns.freeRows[columns.freeCount++] = row;
+    }
+
+    // Candidate rows as BitSet words: equality bitsets first, then range scans on what is left
+    private long[] filter(Columns columns, PropertySearchRequest request) {
+        BitSet matched = (BitSet) columns.live.clone();
+        if (request.getCity() != null && !request.getCity().isBlank()) {
+            matched.and(columns.cities.match(request.getCity()));
+        }
+        if (request.getState() != null && !request.getState().isBlank()) {
+            matched.and(columns.states.match(request.getState()));
+        }
+        if (request.getPropertyType() != null) {
+            matched.and(columns.byPropertyType[request.getPropertyType().ordinal()]);
+        }
+        if (request.getListingType() != null) {
+            matched.and(columns.byListingType[request.getListingType().ordinal()]);
+        }
+
+        long[] words = matched.toLongArray();
+        int rowCount = columns.rowCount;
+        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+            rangeFilter(words, rowCount, columns.priceCents,
+                    lowerBound(request.getMinPrice()), upperBound(request.getMaxPrice()));
+        }
+        if (request.getMinSquareFeet() != null || request.getMaxSquareFeet() != null) {
+            rangeFilter(words, rowCount, columns.squareFeetHundredths,
+                    lowerBound(request.getMinSquareFeet()), upperBound(request.getMaxSquareFeet()));
+        }
+        if (request.getMinBedrooms() != null || request.getMaxBedrooms() != null) {
+            rangeFilter(words, rowCount, columns.bedrooms, request.getMinBedrooms(), request.getMaxBedrooms());
+        }
+        if (request.getMinBathrooms() != null || request.getMaxBathrooms() != null) {
+            rangeFilter(words, rowCount, columns.bathrooms, request.getMinBathrooms(), request.getMaxBathrooms());
+        }
+        if (request.getMinYearBuilt() != null || request.getMaxYearBuilt() != null) {
+            rangeFilter(words, rowCount, columns.yearBuilt, request.getMinYearBuilt(), request.getMaxYearBuilt());
+        }
+        return words;
+    }
+
+    /*
+     * The range scans build each 64-row mask without branching on the values so the JIT can
+     * unroll and vectorize the inner loop. NULL_LONG / NULL_INT sit below every lower bound,
+     * so null columns drop out like they do in SQL.
+     */
+    private static void rangeFilter(long[] words, int rowCount, long[] column, long min, long max) {
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] == 0) {
+                continue;
+            }
+            int base = w << 6;
+            int end = Math.min(64, rowCount - base);
+            long mask = 0;
+            for (int b = 0; b < end; b++) {
+                long value = column[base + b];
+                mask |= (value >= min & value <= max ? 1L : 0L) << b;
+            }
+            words[w] &= mask;
+        }
+    }
+
+    private static void rangeFilter(long[] words, int rowCount, int[] column, Integer min, Integer max) {
+        int lo = min != null ? min : NULL_INT + 1;
+        int hi = max != null ? max : Integer.MAX_VALUE;
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] == 0) {
+                continue;
+            }
+            int base = w << 6;
+            int end = Math.min(64, rowCount - base);
+            long mask = 0;
+            for (int b = 0; b < end; b++) {
+                int value = column[base + b];
+                mask |= (value >= lo & value <= hi ? 1L : 0L) << b;
+            }
+            words[w] &= mask;
+        }
+    }
+
+    private static void collectFacets(Columns columns, long[] candidates, SearchFacetCollector facets) {
+        PropertyType[] propertyTypes = PropertyType.values();
+        ListingType[] listingTypes = ListingType.values();
+        for (int w = 0; w < candidates.length; w++) {
+            long word = candidates[w];
+            while (word != 0) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                byte propertyType = columns.propertyTypes[row];
+                byte listingType = columns.listingTypes[row];
+                long price = columns.priceCents[row];
+                facets.add(propertyType == NULL_BYTE ? null : propertyTypes[propertyType],
+                        listingType == NULL_BYTE ? null : listingTypes[listingType],
+                        nullable(columns.bedrooms[row]), nullable(columns.bathrooms[row]),
+                        price == NULL_LONG ? -1 : SearchFacetCollector.priceBand(Math.floorDiv(price, 100)), 1);
+            }
+        }
+    }
+
+    private static long[] sortKeys(Columns columns, String sortBy) {
+        return switch (sortBy) {
+            case "createdAt" -> columns.createdAtMicros;
+            case "price" -> columns.priceCents;
+            case "squareFeet" -> columns.squareFeetHundredths;
+            case "bedrooms" -> widen(columns.bedrooms, columns.rowCount);
+            default -> throw new IllegalArgumentException("Unsupported sort field for column store: " + sortBy);
+        };
+    }
+
+    private static long toSortKey(String sortBy, Comparable<?> value) {
+        if (value == null) {
+            return NULL_LONG;
+        }
+        return switch (sortBy) {
+            case "createdAt" -> micros((LocalDateTime) value);
+            case "price", "squareFeet" -> scaled((BigDecimal) value, RoundingMode.HALF_UP);
+            case "bedrooms" -> (Integer) value;
+            default -> throw new IllegalArgumentException("Unsupported sort field for column store: " + sortBy);
+        };
+    }
+
+    // Negative when (keyA, idA) comes before (keyB, idB) in display order
+    private static int compare(long keyA, long idA, long keyB, long idB, int sign) {
+        int byKey = Long.compare(keyA, keyB);
+        return sign * (byKey != 0 ? byKey : Long.compare(idA, idB));
+    }
+
+    private static void siftUp(int[] heap, int i, long[] keys, long[] ids, int sign) {
+        int row = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(keys[row], ids[row], keys[heap[parent]], ids[heap[parent]], sign) <= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] keys, long[] ids, int sign) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(keys[heap[child + 1]], ids[heap[child + 1]],
+                    keys[heap[child]], ids[heap[child]], sign) > 0) {
+                child++;
+            }
+            if (compare(keys[heap[child]], ids[heap[child]], keys[row], ids[row], sign) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = row;
+    }
+
+    private static long lowerBound(BigDecimal min) {
+        return min != null ? scaled(min, RoundingMode.CEILING) : NULL_LONG + 1;
+    }
+
+    private static long upperBound(BigDecimal max) {
+        return max != null ? scaled(max, RoundingMode.FLOOR) : Long.MAX_VALUE;
+    }
+
+    private static long scaled(BigDecimal value, RoundingMode rounding) {
+        return value == null ? NULL_LONG : value.setScale(DECIMAL_SCALE, rounding).unscaledValue().longValue();
+    }
+
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_LONG;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static int orNull(Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    private static Integer nullable(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static long[] widen(int[] column, int rowCount) {
+        long[] widened = new long[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            widened[i] = column[i] == NULL_INT ? NULL_LONG : column[i];
+        }
+        return widened;
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] bitSets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+}
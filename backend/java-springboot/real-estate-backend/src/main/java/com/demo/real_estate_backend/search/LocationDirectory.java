@@ -0,0 +1,67 @@
+package com.demo.real_estate_backend.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Known city and state spellings, used to turn a search for an exact city or state into an
+ * indexable equality predicate instead of LOWER(col) LIKE '%..%'.
+ */
+@Component
+public class LocationDirectory {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    // lower-cased name -> spelling stored on listings
+    private final Map<String, String> cities = new ConcurrentHashMap<>();
+    private final Map<String, String> states = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        propertyRepository.findAllCities().forEach(city -> register(cities, city));
+        propertyRepository.findAllStates().forEach(state -> register(states, state));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        Property property = event.getProperty();
+        if (property != null) {
+            register(cities, property.getCity());
+            register(states, property.getState());
+        }
+    }
+
+    public Optional<String> exactCity(String city) {
+        return lookup(cities, city);
+    }
+
+    public Optional<String> exactState(String state) {
+        return lookup(states, state);
+    }
+
+    private static void register(Map<String, String> names, String name) {
+        if (name != null && !name.isBlank()) {
+            names.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), name);
+        }
+    }
+
+    private static Optional<String> lookup(Map<String, String> names, String input) {
+        if (input == null || input.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(names.get(input.trim().toLowerCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,361 @@
+package com.demo.real_estate_backend.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.dto.MarketStats;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import jakarta.annotation.PreDestroy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count, sum, min and max of the price and price per square foot of available listings for
+ * every (city, propertyType, listingType) combination, each dimension either fixed or rolled
+ * up. A listing feeds the eight roll-ups it belongs to, so any stats lookup is a single map
+ * read. Min and max are kept exact under removals with a sorted multiset per group.
+ *
+ * Kept current from PropertyChangeEvents; a periodic rebuild reconciles it with the database
+ * in case a write bypassed PropertyService.
+ */
+@Component
+public class MarketStatsRegistry extends AvailableListingIndex<MarketStatsRegistry.State> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketStatsRegistry.class);
+
+    private static final int SCALE = 2;
+
+    public enum Dimension {
+        CITY("city"),
+        PROPERTY_TYPE("propertyType"),
+        LISTING_TYPE("listingType");
+
+        private final String label;
+
+        Dimension(String label) {
+            this.label = label;
+        }
+
+        public static Dimension fromLabel(String label) {
+            for (Dimension dimension : values()) {
+                if (dimension.label.equalsIgnoreCase(label) || dimension.name().equalsIgnoreCase(label)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown stats dimension: " + label);
+        }
+    }
+
+    private final boolean enabled;
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "market-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // A null field stands for "every value"; city is lower-cased
+    private record GroupKey(String city, PropertyType propertyType, ListingType listingType) {
+    }
+
+    static class State {
+        private final Map<GroupKey, Aggregate> groups = new HashMap<>();
+        private final Map<Long, Listing> listings = new HashMap<>();
+    }
+
+    private record Listing(String city, PropertyType propertyType, ListingType listingType,
+                           BigDecimal price, BigDecimal pricePerSquareFoot) {
+    }
+
+    private static class Aggregate {
+        // Spelling of the city as first seen on a listing
+        private final String city;
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+        private long areaCount;
+        private BigDecimal areaSum = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Integer> pricesPerSquareFoot = new TreeMap<>();
+
+        Aggregate(String city) {
+            this.city = city;
+        }
+
+        void add(BigDecimal price, BigDecimal pricePerSquareFoot, int sign) {
+            count += sign;
+            if (price != null) {
+                sum = sum.add(sign > 0 ? price : price.negate());
+                adjust(prices, price, sign);
+            }
+            if (pricePerSquareFoot != null) {
+                areaCount += sign;
+                areaSum = areaSum.add(sign > 0 ? pricePerSquareFoot : pricePerSquareFoot.negate());
+                adjust(pricesPerSquareFoot, pricePerSquareFoot, sign);
+            }
+        }
+
+        MarketStats toStats(GroupKey key) {
+            return MarketStats.builder()
+                    .city(key.city() != null ? city : null)
+                    .propertyType(key.propertyType())
+                    .listingType(key.listingType())
+                    .listingCount(count)
+                    .totalPrice(sum)
+                    .averagePrice(count == 0 ? null : sum.divide(BigDecimal.valueOf(count), SCALE, RoundingMode.HALF_UP))
+                    .minPrice(prices.isEmpty() ? null : prices.firstKey())
+                    .maxPrice(prices.isEmpty() ? null : prices.lastKey())
+                    .pricedAreaCount(areaCount)
+                    .averagePricePerSquareFoot(areaCount == 0 ? null : areaSum.divide(BigDecimal.valueOf(areaCount), SCALE, RoundingMode.HALF_UP))
+                    .minPricePerSquareFoot(pricesPerSquareFoot.isEmpty() ? null : pricesPerSquareFoot.firstKey())
+                    .maxPricePerSquareFoot(pricesPerSquareFoot.isEmpty() ? null : pricesPerSquareFoot.lastKey())
+                    .build();
+        }
+
+        private static void adjust(TreeMap<BigDecimal, Integer> values, BigDecimal value, int sign) {
+            values.merge(value, sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    public MarketStatsRegistry(@Value("${stats.market.enabled:true}") boolean enabled,
+                               @Value("${stats.market.reconcile-minutes:30}") long reconcileMinutes) {
+        this.enabled = enabled;
+        if (enabled && reconcileMinutes > 0) {
+            reconciler.scheduleWithFixedDelay(this::reconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Number of available listings. */
+    public long count() {
+        return stats(null, null, null).getListingCount();
+    }
+
+    /** Stats of one group; null arguments roll the dimension up. */
+    public MarketStats stats(String city, PropertyType propertyType, ListingType listingType) {
+        lock.readLock().lock();
+        try {
+            return stats(state, city, propertyType, listingType);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stats per distinct value of the groupBy dimensions, largest groups first. Filters on
+     * the other dimensions fix them; filters on a groupBy dimension keep only that group.
+     */
+    public List<MarketStats> grouped(Set<Dimension> groupBy, String city, PropertyType propertyType,
+                                     ListingType listingType) {
+        lock.readLock().lock();
+        try {
+            return grouped(state, groupBy, city, propertyType, listingType);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same lookups over grouped database rows of [city, propertyType, listingType, count,
+     * sum, min, max, areaCount, areaSum, areaMin, areaMax], for use before the registry is built.
+     */
+    public static MarketStats stats(List<Object[]> rows, String city, PropertyType propertyType,
+                                    ListingType listingType) {
+        return stats(fromRows(rows), city, propertyType, listingType);
+    }
+
+    public static List<MarketStats> grouped(List<Object[]> rows, Set<Dimension> groupBy, String city,
+                                            PropertyType propertyType, ListingType listingType) {
+        return grouped(fromRows(rows), groupBy, city, propertyType, listingType);
+    }
+
+    // Rebuild from the database, logging when the incremental totals had drifted
+    void reconcile() {
+        if (!isReady()) {
+            return;
+        }
+        try {
+            MarketStats before = stats(null, null, null);
+            rebuild();
+            MarketStats after = stats(null, null, null);
+            if (before.getListingCount() != after.getListingCount()
+                    || before.getTotalPrice().compareTo(after.getTotalPrice()) != 0) {
+                logger.info("Market stats reconciled: {} listings / {} total price -> {} / {}",
+                        before.getListingCount(), before.getTotalPrice(), after.getListingCount(), after.getTotalPrice());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Market stats reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected int size(State state) {
+        return state.listings.size();
+    }
+
+    @Override
+    protected void add(State state, Property property) {
+        BigDecimal squareFeet = property.getSquareFeet();
+        BigDecimal pricePerSquareFoot = property.getPrice() != null && squareFeet != null && squareFeet.signum() > 0
+                ? property.getPrice().divide(squareFeet, SCALE, RoundingMode.HALF_UP)
+                : null;
+        Listing listing = new Listing(property.getCity(), property.getPropertyType(), property.getListingType(),
+                property.getPrice(), pricePerSquareFoot);
+        state.listings.put(property.getId(), listing);
+        apply(state, listing, 1);
+    }
+
+    @Override
+    protected void remove(State state, Long propertyId) {
+        Listing listing = state.listings.remove(propertyId);
+        if (listing != null) {
+            apply(state, listing, -1);
+        }
+    }
+
+    private static void apply(State state, Listing listing, int sign) {
+        String city = normalize(listing.city());
+        for (int mask = 0; mask < 8; mask++) {
+            // A listing missing a dimension only counts towards the roll-ups over it
+            if (((mask & 1) != 0 && city == null)
+                    || ((mask & 2) != 0 && listing.propertyType() == null)
+                    || ((mask & 4) != 0 && listing.listingType() == null)) {
+                continue;
+            }
+            GroupKey key = new GroupKey((mask & 1) != 0 ? city : null,
+                    (mask & 2) != 0 ? listing.propertyType() : null,
+                    (mask & 4) != 0 ? listing.listingType() : null);
+            Aggregate aggregate = state.groups.computeIfAbsent(key, k -> new Aggregate(listing.city() != null ? listing.city().trim() : null));
+            aggregate.add(listing.price(), listing.pricePerSquareFoot(), sign);
+            if (aggregate.count == 0) {
+                state.groups.remove(key);
+            }
+        }
+    }
+
+    private static MarketStats stats(State state, String city, PropertyType propertyType, ListingType listingType) {
+        GroupKey key = new GroupKey(normalize(city), propertyType, listingType);
+        Aggregate aggregate = state.groups.get(key);
+        if (aggregate == null) {
+            return MarketStats.builder()
+                    .city(key.city() != null ? city.trim() : null)
+                    .propertyType(propertyType)
+                    .listingType(listingType)
+                    .totalPrice(BigDecimal.ZERO)
+                    .build();
+        }
+        return aggregate.toStats(key);
+    }
+
+    private static List<MarketStats> grouped(State state, Set<Dimension> groupBy, String city,
+                                             PropertyType propertyType, ListingType listingType) {
+        String cityKey = normalize(city);
+        List<MarketStats> result = new ArrayList<>();
+        for (Map.Entry<GroupKey, Aggregate> entry : state.groups.entrySet()) {
+            GroupKey key = entry.getKey();
+            if (fits(key.city(), cityKey, groupBy.contains(Dimension.CITY))
+                    && fits(key.propertyType(), propertyType, groupBy.contains(Dimension.PROPERTY_TYPE))
+                    && fits(key.listingType(), listingType, groupBy.contains(Dimension.LISTING_TYPE))) {
+                result.add(entry.getValue().toStats(key));
+            }
+        }
+        result.sort(Comparator.comparingLong(MarketStats::getListingCount).reversed()
+                .thenComparing(MarketStats::getCity, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(MarketStats::getPropertyType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(MarketStats::getListingType, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    // Grouped dimensions need a concrete value, others must match the filter or be rolled up
+    private static boolean fits(Object value, Object filter, boolean grouped) {
+        if (grouped) {
+            return value != null && (filter == null || filter.equals(value));
+        }
+        return filter == null ? value == null : filter.equals(value);
+    }
+
+    private static State fromRows(List<Object[]> rows) {
+        State state = new State();
+        for (Object[] row : rows) {
+            String city = (String) row[0];
+            PropertyType propertyType = (PropertyType) row[1];
+            ListingType listingType = (ListingType) row[2];
+            String cityKey = normalize(city);
+            for (int mask = 0; mask < 8; mask++) {
+                if (((mask & 1) != 0 && cityKey == null)
+                        || ((mask & 2) != 0 && propertyType == null)
+                        || ((mask & 4) != 0 && listingType == null)) {
+                    continue;
+                }
+                GroupKey key = new GroupKey((mask & 1) != 0 ? cityKey : null,
+                        (mask & 2) != 0 ? propertyType : null,
+                        (mask & 4) != 0 ? listingType : null);
+                Aggregate aggregate = state.groups.computeIfAbsent(key, k -> new Aggregate(city != null ? city.trim() : null));
+                aggregate.count += ((Number) row[3]).longValue();
+                aggregate.sum = aggregate.sum.add(decimal(row[4], BigDecimal.ZERO));
+                addBounds(aggregate.prices, decimal(row[5], null), decimal(row[6], null), ((Number) row[3]).intValue());
+                long areaCount = ((Number) row[7]).longValue();
+                aggregate.areaCount += areaCount;
+                aggregate.areaSum = aggregate.areaSum.add(decimal(row[8], BigDecimal.ZERO));
+                addBounds(aggregate.pricesPerSquareFoot, decimal(row[9], null), decimal(row[10], null), (int) areaCount);
+            }
+        }
+        return state;
+    }
+
+    // Only the extremes of a grouped row are known; the multiset still has to sum to its count
+    private static void addBounds(TreeMap<BigDecimal, Integer> values, BigDecimal min, BigDecimal max, int count) {
+        if (min == null || max == null || count == 0) {
+            return;
+        }
+        values.merge(min, 1, Integer::sum);
+        if (count > 1) {
+            values.merge(max, count - 1, Integer::sum);
+        }
+    }
+
+    private static BigDecimal decimal(Object value, BigDecimal fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        BigDecimal decimal = value instanceof BigDecimal big ? big : new BigDecimal(value.toString());
+        return decimal.setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
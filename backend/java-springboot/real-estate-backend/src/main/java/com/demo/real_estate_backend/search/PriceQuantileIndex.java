@@ -0,0 +1,322 @@
+package com.demo.real_estate_backend.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.dto.PricePercentiles;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Price and price-per-square-foot t-digests of available listings per (state, city,
+ * propertyType, listingType). Percentiles over any combination of those filters, up to the
+ * whole market, merge the matching digests instead of sorting listings.
+ *
+ * New listings are added to their group's digests directly. Digests cannot forget a value, so
+ * a removal marks its group stale and the group is re-digested from its members on the next
+ * read; an update that keeps the group, price and square feet leaves the digests alone.
+ *
+ * Roll-ups per state and for the whole market are kept alongside the groups, so those
+ * queries read one digest instead of merging every group. A removal marks the affected
+ * roll-ups stale, and they are re-merged from the refreshed groups on the next read.
+ */
+@Component
+public class PriceQuantileIndex extends AvailableListingIndex<PriceQuantileIndex.State> {
+
+    private final double compression;
+
+    // state and city lower-cased
+    private record GroupKey(String state, String city, PropertyType propertyType, ListingType listingType) {
+    }
+
+    private record Listing(GroupKey key, double price, double pricePerSquareFoot) {
+    }
+
+    static class State {
+        private final Map<GroupKey, Group> groups = new HashMap<>();
+        private final Map<Long, Listing> listings = new HashMap<>();
+        private final Set<Group> stale = new HashSet<>();
+        // Keyed by lower-cased state, which may be null
+        private final Map<String, Digests> stateRollups = new HashMap<>();
+        private final Set<String> staleStates = new HashSet<>();
+        private Digests market;
+        private boolean marketStale;
+    }
+
+    private class Digests {
+        TDigest price = new TDigest(compression);
+        TDigest pricePerSquareFoot = new TDigest(compression);
+
+        void add(Listing listing) {
+            price.add(listing.price());
+            if (!Double.isNaN(listing.pricePerSquareFoot())) {
+                pricePerSquareFoot.add(listing.pricePerSquareFoot());
+            }
+        }
+
+        void merge(Digests other) {
+            price.merge(other.price);
+            pricePerSquareFoot.merge(other.pricePerSquareFoot);
+        }
+    }
+
+    private class Group extends Digests {
+        private final Set<Long> members = new HashSet<>();
+
+        void redigest(Map<Long, Listing> listings) {
+            price = new TDigest(compression);
+            pricePerSquareFoot = new TDigest(compression);
+            for (Long id : members) {
+                add(listings.get(id));
+            }
+        }
+    }
+
+    public PriceQuantileIndex(@Value("${stats.percentiles.compression:100}") double compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Estimated percentiles (0-100) of the listings matching the filters; null filters match
+     * every value.
+     */
+    public PricePercentiles percentiles(String state, String city, PropertyType propertyType,
+                                        ListingType listingType, List<Double> percentiles) {
+        validate(percentiles);
+        String stateKey = normalize(state);
+        String cityKey = normalize(city);
+
+        refreshStaleGroups();
+        // Estimating compresses a digest, so even a roll-up is merged into a private copy
+        Digests merged = new Digests();
+        lock.readLock().lock();
+        try {
+            if (cityKey == null && propertyType == null && listingType == null) {
+                Digests rollup = stateKey == null ? this.state.market : this.state.stateRollups.get(stateKey);
+                if (rollup != null) {
+                    merged.merge(rollup);
+                }
+            } else {
+                for (Map.Entry<GroupKey, Group> entry : this.state.groups.entrySet()) {
+                    GroupKey key = entry.getKey();
+                    if ((stateKey == null || stateKey.equals(key.state()))
+                            && (cityKey == null || cityKey.equals(key.city()))
+                            && (propertyType == null || propertyType == key.propertyType())
+                            && (listingType == null || listingType == key.listingType())) {
+                        merged.merge(entry.getValue());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return toPercentiles(merged.price, merged.pricePerSquareFoot, state, city, propertyType, listingType,
+                percentiles);
+    }
+
+    /**
+     * Same estimates digested from a stream of database rows of [price, squareFeet], for use
+     * before the index is built.
+     */
+    public static PricePercentiles percentiles(Stream<Object[]> rows, String state, String city,
+                                               PropertyType propertyType, ListingType listingType,
+                                               List<Double> percentiles) {
+        validate(percentiles);
+        TDigest price = new TDigest();
+        TDigest pricePerSquareFoot = new TDigest();
+        rows.forEach(row -> {
+            BigDecimal listingPrice = (BigDecimal) row[0];
+            BigDecimal squareFeet = (BigDecimal) row[1];
+            if (listingPrice != null) {
+                price.add(listingPrice.doubleValue());
+                if (squareFeet != null && squareFeet.signum() > 0) {
+                    pricePerSquareFoot.add(listingPrice.doubleValue() / squareFeet.doubleValue());
+                }
+            }
+        });
+        return toPercentiles(price, pricePerSquareFoot, state, city, propertyType, listingType, percentiles);
+    }
+
+    private static PricePercentiles toPercentiles(TDigest price, TDigest pricePerSquareFoot, String state,
+                                                  String city, PropertyType propertyType,
+                                                  ListingType listingType, List<Double> percentiles) {
+        return PricePercentiles.builder()
+                .state(state)
+                .city(city)
+                .propertyType(propertyType)
+                .listingType(listingType)
+                .listingCount(price.size())
+                .price(estimate(price, percentiles))
+                .pricePerSquareFoot(estimate(pricePerSquareFoot, percentiles))
+                .build();
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected int size(State state) {
+        return state.listings.size();
+    }
+
+    @Override
+    protected void add(State state, Property property) {
+        Listing listing = listing(property);
+        if (listing == null) {
+            return;
+        }
+        state.listings.put(property.getId(), listing);
+
+        Group group = state.groups.computeIfAbsent(listing.key(), k -> new Group());
+        group.members.add(property.getId());
+        // Stale digests are rebuilt from the members anyway
+        if (!state.stale.contains(group)) {
+            group.add(listing);
+        }
+        String stateKey = listing.key().state();
+        if (!state.staleStates.contains(stateKey)) {
+            state.stateRollups.computeIfAbsent(stateKey, k -> new Digests()).add(listing);
+        }
+        if (!state.marketStale) {
+            if (state.market == null) {
+                state.market = new Digests();
+            }
+            state.market.add(listing);
+        }
+    }
+
+    // Edits that do not touch what is digested keep the digests fresh
+    @Override
+    protected boolean replace(State state, Property property) {
+        Listing listing = listing(property);
+        return listing != null && listing.equals(state.listings.get(property.getId()));
+    }
+
+    @Override
+    protected void remove(State state, Long propertyId) {
+        Listing listing = state.listings.remove(propertyId);
+        if (listing == null) {
+            return;
+        }
+        Group group = state.groups.get(listing.key());
+        group.members.remove(propertyId);
+        if (group.members.isEmpty()) {
+            state.groups.remove(listing.key());
+            state.stale.remove(group);
+        } else {
+            state.stale.add(group);
+        }
+        state.staleStates.add(listing.key().state());
+        state.marketStale = true;
+    }
+
+    private void refreshStaleGroups() {
+        lock.readLock().lock();
+        try {
+            if (state.stale.isEmpty() && state.staleStates.isEmpty() && !state.marketStale) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            for (Group group : state.stale) {
+                group.redigest(state.listings);
+            }
+            state.stale.clear();
+            // Roll-ups re-merge the refreshed groups rather than re-digesting listings
+            for (String stateKey : state.staleStates) {
+                Digests rollup = new Digests();
+                boolean any = false;
+                for (Map.Entry<GroupKey, Group> entry : state.groups.entrySet()) {
+                    if (Objects.equals(stateKey, entry.getKey().state())) {
+                        rollup.merge(entry.getValue());
+                        any = true;
+                    }
+                }
+                if (any) {
+                    state.stateRollups.put(stateKey, rollup);
+                } else {
+                    state.stateRollups.remove(stateKey);
+                }
+            }
+            state.staleStates.clear();
+            if (state.marketStale) {
+                state.market = new Digests();
+                state.stateRollups.values().forEach(state.market::merge);
+                state.marketStale = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Null when the listing has no price to digest
+    private static Listing listing(Property property) {
+        if (property.getPrice() == null) {
+            return null;
+        }
+        GroupKey key = new GroupKey(normalize(property.getState()), normalize(property.getCity()),
+                property.getPropertyType(), property.getListingType());
+        BigDecimal squareFeet = property.getSquareFeet();
+        double pricePerSquareFoot = squareFeet != null && squareFeet.signum() > 0
+                ? property.getPrice().doubleValue() / squareFeet.doubleValue()
+                : Double.NaN;
+        return new Listing(key, property.getPrice().doubleValue(), pricePerSquareFoot);
+    }
+
+    // Whether a read would have to re-digest or re-merge anything
+    boolean hasStaleDigests() {
+        lock.readLock().lock();
+        try {
+            return !state.stale.isEmpty() || !state.staleStates.isEmpty() || state.marketStale;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void validate(List<Double> percentiles) {
+        if (percentiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one percentile is required");
+        }
+        for (Double p : percentiles) {
+            if (p == null || p < 0 || p > 100) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 100: " + p);
+            }
+        }
+    }
+
+    private static Map<String, BigDecimal> estimate(TDigest digest, List<Double> percentiles) {
+        Map<String, BigDecimal> estimates = new LinkedHashMap<>();
+        for (Double p : percentiles) {
+            double value = digest.quantile(p / 100);
+            estimates.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(),
+                    Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP));
+        }
+        return estimates;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,98 @@
+package com.demo.real_estate_backend.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.springframework.data.domain.Sort;
+
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.Property;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque keyset pagination cursor: the (sortField, id) position of the last row a client
+ * has seen, plus the sort direction it was produced under.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyCursor {
+
+    public static final Set<String> SORT_FIELDS = Set.of("createdAt", "price", "squareFeet", "bedrooms");
+
+    private static final String VERSION = "v1";
+    private static final String NULL_VALUE = "~";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+
+    // Value of sortField on the last row; null when the column was null
+    private final Comparable<?> lastValue;
+    private final Long lastId;
+
+    public static boolean supports(String sortField) {
+        return SORT_FIELDS.contains(sortField);
+    }
+
+    public static PropertyCursor after(Property property, String sortField, Sort.Direction direction) {
+        return new PropertyCursor(sortField, direction, valueOf(sortField, property.getCreatedAt(), property.getPrice(),
+                property.getSquareFeet(), property.getBedrooms()), property.getId());
+    }
+
+    public static PropertyCursor after(PropertySummary summary, String sortField, Sort.Direction direction) {
+        return new PropertyCursor(sortField, direction, valueOf(sortField, summary.getCreatedAt(), summary.getPrice(),
+                summary.getSquareFeet(), summary.getBedrooms()), summary.getId());
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+    }
+
+    public String encode() {
+        String value = lastValue == null ? NULL_VALUE
+                : lastValue instanceof BigDecimal decimal ? decimal.toPlainString()
+                : lastValue.toString();
+        String raw = String.join("|", VERSION, sortField, direction.name(), value, lastId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PropertyCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || !supports(parts[1])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String sortField = parts[1];
+            Comparable<?> value = NULL_VALUE.equals(parts[3]) ? null : parseValue(sortField, parts[3]);
+            return new PropertyCursor(sortField, Sort.Direction.fromString(parts[2]), value, Long.valueOf(parts[4]));
+        } catch (RuntimeException e) {
+            // Malformed Base64, numbers, dates or directions
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Comparable<?> parseValue(String sortField, String value) {
+        return switch (sortField) {
+            case "createdAt" -> LocalDateTime.parse(value);
+            case "price", "squareFeet" -> new BigDecimal(value);
+            case "bedrooms" -> Integer.valueOf(value);
+            default -> throw new IllegalArgumentException("Invalid cursor");
+        };
+    }
+
+    private static Comparable<?> valueOf(String sortField, LocalDateTime createdAt, BigDecimal price,
+                                         BigDecimal squareFeet, Integer bedrooms) {
+        return switch (sortField) {
+            case "createdAt" -> createdAt;
+            case "price" -> price;
+            case "squareFeet" -> squareFeet;
+            case "bedrooms" -> bedrooms;
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field: " + sortField);
+        };
+    }
+}
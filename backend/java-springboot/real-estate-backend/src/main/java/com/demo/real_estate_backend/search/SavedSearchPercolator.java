@@ -0,0 +1,311 @@
+package com.demo.real_estate_backend.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.SavedSearch;
+import com.demo.real_estate_backend.repository.SavedSearchRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse index over saved searches: given a listing, finds the saved searches it matches
+ * without running any of them.
+ *
+ * Searches are bucketed by (city, propertyType, listingType), with null meaning "any", so
+ * a listing visits at most eight buckets. Each bucket keeps interval trees over the price,
+ * bedroom and square-foot ranges of its searches; the listing's values stab those trees and
+ * only the smallest candidate set is checked against the full criteria. Buckets rebuild their
+ * trees lazily after a search is added or removed.
+ */
+@Component
+public class SavedSearchPercolator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchPercolator.class);
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Map<BucketKey, Bucket> buckets = new HashMap<>();
+    private Map<Long, Criteria> searches = new HashMap<>();
+    private List<Runnable> changesDuringRebuild;
+
+    private volatile boolean ready;
+
+    // city lower-cased; null fields match any value
+    private record BucketKey(String city, PropertyType propertyType, ListingType listingType) {
+    }
+
+    // Detached copy of a saved search's criteria; city and state lower-cased
+    record Criteria(long id, String city, String state, PropertyType propertyType, ListingType listingType,
+                    BigDecimal minPrice, BigDecimal maxPrice, Integer minBedrooms, Integer maxBedrooms,
+                    Integer minBathrooms, Integer maxBathrooms, BigDecimal minSquareFeet, BigDecimal maxSquareFeet) {
+
+        static Criteria of(SavedSearch search) {
+            return new Criteria(search.getId(), normalize(search.getSearchCity()), normalize(search.getSearchState()),
+                    search.getSearchPropertyType(), search.getSearchListingType(),
+                    search.getMinPrice(), search.getMaxPrice(), search.getMinBedrooms(), search.getMaxBedrooms(),
+                    search.getMinBathrooms(), search.getMaxBathrooms(), search.getMinSquareFeet(), search.getMaxSquareFeet());
+        }
+
+        BucketKey bucket() {
+            return new BucketKey(city, propertyType, listingType);
+        }
+
+        // Same semantics as the search filter: a bound on a null column never matches
+        boolean matches(Property property) {
+            return (city == null || city.equals(normalize(property.getCity())))
+                    && (state == null || state.equals(normalize(property.getState())))
+                    && (propertyType == null || propertyType == property.getPropertyType())
+                    && (listingType == null || listingType == property.getListingType())
+                    && within(property.getPrice(), minPrice, maxPrice)
+                    && within(property.getBedrooms(), minBedrooms, maxBedrooms)
+                    && within(property.getBathrooms(), minBathrooms, maxBathrooms)
+                    && within(property.getSquareFeet(), minSquareFeet, maxSquareFeet);
+        }
+
+        private static <T extends Comparable<T>> boolean within(T value, T min, T max) {
+            if (min == null && max == null) {
+                return true;
+            }
+            return value != null && (min == null || value.compareTo(min) >= 0) && (max == null || value.compareTo(max) <= 0);
+        }
+    }
+
+    private static final class Bucket {
+        private final Map<Long, Criteria> members = new LinkedHashMap<>();
+        private IntervalTree price;
+        private IntervalTree bedrooms;
+        private IntervalTree squareFeet;
+
+        boolean isStale() {
+            return price == null;
+        }
+
+        void invalidate() {
+            price = null;
+            bedrooms = null;
+            squareFeet = null;
+        }
+
+        void buildTrees() {
+            List<IntervalTree.Interval> priceRanges = new ArrayList<>();
+            List<IntervalTree.Interval> bedroomRanges = new ArrayList<>();
+            List<IntervalTree.Interval> squareFeetRanges = new ArrayList<>();
+            for (Criteria criteria : members.values()) {
+                priceRanges.add(interval(criteria.id(), criteria.minPrice(), criteria.maxPrice()));
+                bedroomRanges.add(interval(criteria.id(), criteria.minBedrooms(), criteria.maxBedrooms()));
+                squareFeetRanges.add(interval(criteria.id(), criteria.minSquareFeet(), criteria.maxSquareFeet()));
+            }
+            price = new IntervalTree(priceRanges);
+            bedrooms = new IntervalTree(bedroomRanges);
+            squareFeet = new IntervalTree(squareFeetRanges);
+        }
+
+        private static IntervalTree.Interval interval(long id, Number min, Number max) {
+            return new IntervalTree.Interval(min != null ? min.doubleValue() : Double.NEGATIVE_INFINITY,
+                    max != null ? max.doubleValue() : Double.POSITIVE_INFINITY, id);
+        }
+
+        // Candidates from the most selective tree the listing has a value for, then the full check;
+        // a bucket changed since its trees were refreshed is scanned instead
+        void collect(Property property, List<Long> matches) {
+            if (isStale()) {
+                members.values().stream().filter(criteria -> criteria.matches(property)).forEach(c -> matches.add(c.id()));
+                return;
+            }
+            List<Long> candidates = null;
+            for (List<Long> stabbed : Arrays.asList(stab(price, property.getPrice()),
+                    stab(bedrooms, property.getBedrooms()), stab(squareFeet, property.getSquareFeet()))) {
+                if (stabbed != null && (candidates == null || stabbed.size() < candidates.size())) {
+                    candidates = stabbed;
+                }
+            }
+            for (Long id : candidates != null ? candidates : members.keySet()) {
+                if (members.get(id).matches(property)) {
+                    matches.add(id);
+                }
+            }
+        }
+
+        // Null when the listing has no value to stab with
+        private static List<Long> stab(IntervalTree tree, Number value) {
+            if (value == null) {
+                return null;
+            }
+            List<Long> ids = new ArrayList<>();
+            tree.stab(value.doubleValue(), ids::add);
+            return ids;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<SavedSearch> saved = savedSearchRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            buckets = new HashMap<>();
+            searches = new HashMap<>();
+            saved.forEach(search -> index(Criteria.of(search)));
+            changesDuringRebuild.forEach(Runnable::run);
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("SavedSearchPercolator rebuilt with {} saved searches in {} ms", saved.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Add or replace a saved search
+    public void put(SavedSearch search) {
+        Criteria criteria = Criteria.of(search);
+        change(() -> {
+            unindex(criteria.id());
+            index(criteria);
+        });
+    }
+
+    public void remove(Long savedSearchId) {
+        change(() -> unindex(savedSearchId));
+    }
+
+    // Ids of the saved searches the listing matches
+    public List<Long> match(Property property) {
+        // A listing with a null field probes the same "any" bucket more than once
+        Set<BucketKey> keys = new LinkedHashSet<>();
+        String city = normalize(property.getCity());
+        for (String c : new String[] {null, city}) {
+            for (PropertyType type : new PropertyType[] {null, property.getPropertyType()}) {
+                for (ListingType listing : new ListingType[] {null, property.getListingType()}) {
+                    keys.add(new BucketKey(c, type, listing));
+                }
+            }
+        }
+
+        refreshStaleBuckets(keys);
+        List<Long> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (BucketKey key : keys) {
+                Bucket bucket = buckets.get(key);
+                if (bucket != null) {
+                    bucket.collect(property, matches);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("ready", ready);
+            stats.put("savedSearches", searches.size());
+            stats.put("buckets", buckets.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void index(Criteria criteria) {
+        searches.put(criteria.id(), criteria);
+        Bucket bucket = buckets.computeIfAbsent(criteria.bucket(), key -> new Bucket());
+        bucket.members.put(criteria.id(), criteria);
+        bucket.invalidate();
+    }
+
+    // Caller must hold the write lock
+    private void unindex(Long savedSearchId) {
+        Criteria criteria = searches.remove(savedSearchId);
+        if (criteria == null) {
+            return;
+        }
+        Bucket bucket = buckets.get(criteria.bucket());
+        bucket.members.remove(savedSearchId);
+        if (bucket.members.isEmpty()) {
+            buckets.remove(criteria.bucket());
+        } else {
+            bucket.invalidate();
+        }
+    }
+
+    private void refreshStaleBuckets(Set<BucketKey> keys) {
+        lock.readLock().lock();
+        try {
+            if (keys.stream().map(buckets::get).noneMatch(bucket -> bucket != null && bucket.isStale())) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            for (BucketKey key : keys) {
+                Bucket bucket = buckets.get(key);
+                if (bucket != null && bucket.isStale()) {
+                    bucket.buildTrees();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.real_estate_backend.search;
+
+import com.demo.real_estate_backend.dto.SearchFacets;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates facet counts for a search result set in a single pass. Rows can be fed one
+ * listing at a time or pre-grouped with a count.
+ */
+public class SearchFacetCollector {
+
+    // Upper bounds (exclusive) of each price band; keep in sync with PropertyRepository.searchFacets
+    public static final long[] PRICE_BAND_BOUNDS = {1_000, 5_000, 100_000, 250_000, 500_000, 1_000_000};
+    public static final String[] PRICE_BAND_LABELS = {
+            "0-1000", "1000-5000", "5000-100000", "100000-250000", "250000-500000", "500000-1000000", "1000000+"};
+
+    public static final int MAX_BEDROOM_BUCKET = 5;
+    public static final int MAX_BATHROOM_BUCKET = 4;
+
+    private final long[] propertyTypeCounts = new long[PropertyType.values().length];
+    private final long[] listingTypeCounts = new long[ListingType.values().length];
+    private final long[] bedroomCounts = new long[MAX_BEDROOM_BUCKET + 1];
+    private final long[] bathroomCounts = new long[MAX_BATHROOM_BUCKET + 1];
+    private final long[] priceBandCounts = new long[PRICE_BAND_LABELS.length];
+
+    public void add(PropertyType propertyType, ListingType listingType, Integer bedrooms, Integer bathrooms,
+                    int priceBand, long count) {
+        if (propertyType != null) {
+            propertyTypeCounts[propertyType.ordinal()] += count;
+        }
+        if (listingType != null) {
+            listingTypeCounts[listingType.ordinal()] += count;
+        }
+        if (bedrooms != null && bedrooms >= 0) {
+            bedroomCounts[Math.min(bedrooms, MAX_BEDROOM_BUCKET)] += count;
+        }
+        if (bathrooms != null && bathrooms >= 0) {
+            bathroomCounts[Math.min(bathrooms, MAX_BATHROOM_BUCKET)] += count;
+        }
+        if (priceBand >= 0 && priceBand < priceBandCounts.length) {
+            priceBandCounts[priceBand] += count;
+        }
+    }
+
+    public static int priceBand(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        return priceBand(price.longValue());
+    }
+
+    public static int priceBand(long wholePrice) {
+        for (int i = 0; i < PRICE_BAND_BOUNDS.length; i++) {
+            if (wholePrice < PRICE_BAND_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return PRICE_BAND_BOUNDS.length;
+    }
+
+    public SearchFacets toFacets() {
+        Map<String, Long> propertyTypes = new LinkedHashMap<>();
+        for (PropertyType type : PropertyType.values()) {
+            propertyTypes.put(type.name(), propertyTypeCounts[type.ordinal()]);
+        }
+        Map<String, Long> listingTypes = new LinkedHashMap<>();
+        for (ListingType type : ListingType.values()) {
+            listingTypes.put(type.name(), listingTypeCounts[type.ordinal()]);
+        }
+        Map<String, Long> priceBands = new LinkedHashMap<>();
+        for (int i = 0; i < PRICE_BAND_LABELS.length; i++) {
+            priceBands.put(PRICE_BAND_LABELS[i], priceBandCounts[i]);
+        }
+
+        return SearchFacets.builder()
+                .propertyType(propertyTypes)
+                .listingType(listingTypes)
+                .bedrooms(bucketCounts(bedroomCounts))
+                .bathrooms(bucketCounts(bathroomCounts))
+                .priceBands(priceBands)
+                .build();
+    }
+
+    private static Map<String, Long> bucketCounts(long[] counts) {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            buckets.put(i == counts.length - 1 ? i + "+" : String.valueOf(i), counts[i]);
+        }
+        return buckets;
+    }
+}
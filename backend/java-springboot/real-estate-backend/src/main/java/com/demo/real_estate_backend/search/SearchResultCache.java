@@ -0,0 +1,234 @@
+package com.demo.real_estate_backend.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.real_estate_backend.dto.CountMode;
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Bounded LRU cache of property search results, keyed by the canonical form of the search
+ * request. Only the page of ids and its paging metadata are kept, so favorites and counts are
+ * still hydrated per caller.
+ *
+ * Entries expire after a TTL and are dropped as soon as a committed write touches a listing
+ * whose city, state, propertyType and listingType (before or after the change) fit the
+ * entry's filters. Keyword searches are dropped on every write.
+ */
+@Component
+public class SearchResultCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Guarded by this
+    private final LinkedHashMap<String, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    // Bumped on every write so results computed across a write are not cached
+    private long generation;
+
+    private static class Entry {
+        private final PageResponse<Long> page;
+        private final long expiresAt;
+        private final boolean keyword;
+        private final String city;
+        private final String state;
+        private final PropertyType propertyType;
+        private final ListingType listingType;
+
+        Entry(PageResponse<Long> page, long expiresAt, PropertySearchRequest request) {
+            this.page = page;
+            this.expiresAt = expiresAt;
+            this.keyword = request.getKeyword() != null && !request.getKeyword().isEmpty();
+            this.city = normalize(request.getCity());
+            this.state = normalize(request.getState());
+            this.propertyType = request.getPropertyType();
+            this.listingType = request.getListingType();
+        }
+
+        boolean couldMatch(Property listing) {
+            return keyword
+                    || (contains(listing.getCity(), city)
+                    && contains(listing.getState(), state)
+                    && (propertyType == null || propertyType == listing.getPropertyType())
+                    && (listingType == null || listingType == listing.getListingType()));
+        }
+
+        private static boolean contains(String value, String filter) {
+            return filter == null || (value != null && value.toLowerCase(Locale.ROOT).contains(filter));
+        }
+    }
+
+    public SearchResultCache(@Value("${search.cache.enabled:true}") boolean enabled,
+                             @Value("${search.cache.max-entries:1000}") int maxEntries,
+                             @Value("${search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Canonical cache key: defaults applied, location filters trimmed and lower-cased (blank
+     * ones dropped, as the search does), decimals without trailing zeros.
+     */
+    public static String key(PropertySearchRequest request) {
+        StringJoiner key = new StringJoiner("|");
+        key.add(filterKey(request));
+        key.add(request.getSortBy() != null ? request.getSortBy() : "createdAt");
+        key.add(request.getSortDirection() != null ? request.getSortDirection().toUpperCase(Locale.ROOT) : "DESC");
+        key.add(String.valueOf(request.getPage() != null ? request.getPage() : 0));
+        key.add(String.valueOf(request.getSize() != null ? request.getSize() : 10));
+        key.add(String.valueOf(request.getCursor() != null && !request.getCursor().isBlank() ? request.getCursor() : null));
+        key.add(String.valueOf(request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT));
+        key.add(String.valueOf(Boolean.TRUE.equals(request.getIncludeFacets())));
+        return key.toString();
+    }
+
+    // Canonical form of the filters alone, shared by every page and sort of the same result set
+    public static String filterKey(PropertySearchRequest request) {
+        StringJoiner key = new StringJoiner("|");
+        key.add(String.valueOf(keywordKey(request.getKeyword())));
+        key.add(String.valueOf(normalize(request.getCity())));
+        key.add(String.valueOf(normalize(request.getState())));
+        key.add(String.valueOf(normalize(request.getZipCode())));
+        key.add(String.valueOf(request.getPropertyType()));
+        key.add(String.valueOf(request.getListingType()));
+        key.add(decimal(request.getMinPrice())).add(decimal(request.getMaxPrice()));
+        key.add(String.valueOf(request.getMinBedrooms())).add(String.valueOf(request.getMaxBedrooms()));
+        key.add(String.valueOf(request.getMinBathrooms())).add(String.valueOf(request.getMaxBathrooms()));
+        key.add(decimal(request.getMinSquareFeet())).add(decimal(request.getMaxSquareFeet()));
+        key.add(String.valueOf(request.getMinYearBuilt())).add(String.valueOf(request.getMaxYearBuilt()));
+        return key.toString();
+    }
+
+    // Pass to put() so that results read before a concurrent write are discarded
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized PageResponse<Long> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.page;
+    }
+
+    public synchronized void put(String key, PropertySearchRequest request, PageResponse<Long> page, long generation) {
+        if (generation != this.generation) {
+            return;
+        }
+        entries.put(key, new Entry(page, System.currentTimeMillis() + ttlMillis, request));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPropertyChange(PropertyChangeEvent event) {
+        generation++;
+        Property current = event.getProperty();
+        Property previous = event.getPrevious();
+        if (previous == null && event.getChangeType() != PropertyChangeEvent.ChangeType.CREATED) {
+            // Unknown prior city or type: any entry could be affected
+            invalidations += entries.size();
+            entries.clear();
+            return;
+        }
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if ((current != null && entry.couldMatch(current)) || (previous != null && entry.couldMatch(previous))) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        stats.put("enabled", enabled);
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    public static PageResponse<Long> idsOf(PageResponse<?> page, List<Long> ids) {
+        return PageResponse.<Long>builder()
+                .content(List.copyOf(ids))
+                .pageNumber(page.getPageNumber())
+                .pageSize(page.getPageSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .hasNext(page.isHasNext())
+                .hasPrevious(page.isHasPrevious())
+                .nextCursor(page.getNextCursor())
+                .exactTotal(page.isExactTotal())
+                .facets(page.getFacets())
+                .build();
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Both keyword paths match case-insensitively, and the index ignores extra whitespace
+    private static String keywordKey(String keyword) {
+        return keyword == null || keyword.isEmpty() ? null : keyword.toLowerCase(Locale.ROOT);
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value == null ? "null" : value.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,240 @@
+package com.demo.real_estate_backend.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+import jakarta.annotation.PreDestroy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approximate "similar homes" lookup: every available listing is a feature vector in one HNSW
+ * graph per listing type, so a sale is never suggested for a rental. Updates and removals
+ * tombstone the old node; a periodic check rebuilds the index from the database once
+ * tombstones make up too large a share of a graph.
+ */
+@Component
+public class SimilarListingIndex extends AvailableListingIndex<SimilarListingIndex.State> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarListingIndex.class);
+
+    private static final int MAX_CONNECTIONS = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    // Feature weights, chosen so one unit of distance is roughly: double the price, 1.7 times
+    // the area, three bedrooms or bathrooms, 60 years of age, 25 km or a different property type
+    private static final double PRICE_WEIGHT = 1.5;
+    private static final double AREA_WEIGHT = 1.0;
+    private static final double ROOM_WEIGHT = 0.35;
+    private static final double AGE_WEIGHT = 0.5;
+    private static final double LOCATION_KM_PER_UNIT = 25;
+    private static final double TYPE_WEIGHT = Math.sqrt(0.5);
+
+    // Typical values stand in for missing attributes so they neither attract nor repel
+    private static final double DEFAULT_SQUARE_FEET = 1500;
+    private static final int DEFAULT_BEDROOMS = 3;
+    private static final int DEFAULT_BATHROOMS = 2;
+    private static final int DEFAULT_YEAR_BUILT = 1990;
+
+    public static final int DIMENSIONS = 8 + PropertyType.values().length;
+
+    public record Match(long id, double distance) {
+    }
+
+    private record Node(ListingType listingType, int node) {
+    }
+
+    static class State {
+        private final Map<ListingType, HnswGraph> graphs = new EnumMap<>(ListingType.class);
+        private final Map<Long, Node> nodes = new HashMap<>();
+    }
+
+    private final boolean enabled;
+    private final int efSearch;
+    private final double maxDeletedRatio;
+
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similar-listings-compact");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimilarListingIndex(@Value("${search.similar.enabled:true}") boolean enabled,
+                               @Value("${search.similar.ef-search:64}") int efSearch,
+                               @Value("${search.similar.max-deleted-ratio:0.25}") double maxDeletedRatio,
+                               @Value("${search.similar.compact-check-minutes:10}") long compactCheckMinutes) {
+        this.enabled = enabled;
+        this.efSearch = efSearch;
+        this.maxDeletedRatio = maxDeletedRatio;
+        if (enabled && compactCheckMinutes > 0) {
+            compactor.scheduleWithFixedDelay(this::compact, compactCheckMinutes, compactCheckMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The k available listings of the same listing type closest to the given one, nearest
+     * first, never including the listing itself. Works for listings that are not indexed too.
+     */
+    public List<Match> similar(Property property, int k) {
+        if (property.getListingType() == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node self = state.nodes.get(property.getId());
+            HnswGraph graph = state.graphs.get(property.getListingType());
+            if (graph == null) {
+                return List.of();
+            }
+            float[] query = self != null ? graph.vector(self.node()) : features(property);
+            List<Match> matches = new ArrayList<>(k);
+            for (HnswGraph.Neighbor neighbor : graph.search(query, k + 1, Math.max(efSearch, k + 1))) {
+                if (neighbor.label() != property.getId() && matches.size() < k) {
+                    matches.add(new Match(neighbor.label(), neighbor.distance()));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("ready", isReady());
+            stats.put("listings", state.nodes.size());
+            for (Map.Entry<ListingType, HnswGraph> entry : state.graphs.entrySet()) {
+                Map<String, Object> graph = new LinkedHashMap<>();
+                graph.put("nodes", entry.getValue().size());
+                graph.put("deleted", entry.getValue().deletedCount());
+                stats.put(entry.getKey().name(), graph);
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Feature vector of a listing: log price and area, rooms, age, a point on the sphere and a
+     * one-hot property type, each scaled by its weight so plain Euclidean distance applies.
+     */
+    public static float[] features(Property property) {
+        float[] vector = new float[DIMENSIONS];
+        double price = property.getPrice() != null && property.getPrice().signum() > 0 ? property.getPrice().doubleValue() : 1;
+        BigDecimal squareFeet = property.getSquareFeet();
+        double area = squareFeet != null && squareFeet.signum() > 0 ? squareFeet.doubleValue() : DEFAULT_SQUARE_FEET;
+        vector[0] = (float) (Math.log(price) * PRICE_WEIGHT);
+        vector[1] = (float) (Math.log(area) * AREA_WEIGHT);
+        vector[2] = (float) (valueOr(property.getBedrooms(), DEFAULT_BEDROOMS) * ROOM_WEIGHT);
+        vector[3] = (float) (valueOr(property.getBathrooms(), DEFAULT_BATHROOMS) * ROOM_WEIGHT);
+        vector[4] = (float) ((valueOr(property.getYearBuilt(), DEFAULT_YEAR_BUILT) - DEFAULT_YEAR_BUILT) / 30.0 * AGE_WEIGHT);
+
+        double latitude;
+        double longitude;
+        if (property.getLatitude() != null && property.getLongitude() != null) {
+            latitude = Math.toRadians(property.getLatitude());
+            longitude = Math.toRadians(property.getLongitude());
+        } else {
+            // Without coordinates, listings of one city share a stable stand-in point
+            String place = (property.getCity() != null ? property.getCity() : "") + "|"
+                    + (property.getState() != null ? property.getState() : "");
+            long hash = place.trim().toLowerCase(Locale.ROOT).hashCode() * 0x9E3779B97F4A7C15L;
+            latitude = Math.asin(2 * ((hash >>> 40) / (double) (1L << 24)) - 1);
+            longitude = ((hash & 0xFFFFFF) / (double) (1 << 24)) * 2 * Math.PI - Math.PI;
+        }
+        double scale = EARTH_RADIUS_KM / LOCATION_KM_PER_UNIT;
+        vector[5] = (float) (Math.cos(latitude) * Math.cos(longitude) * scale);
+        vector[6] = (float) (Math.cos(latitude) * Math.sin(longitude) * scale);
+        vector[7] = (float) (Math.sin(latitude) * scale);
+
+        if (property.getPropertyType() != null) {
+            vector[8 + property.getPropertyType().ordinal()] = (float) TYPE_WEIGHT;
+        }
+        return vector;
+    }
+
+    // Rebuild once any graph is carrying too many tombstones
+    void compact() {
+        if (!isReady()) {
+            return;
+        }
+        try {
+            boolean stale;
+            lock.readLock().lock();
+            try {
+                stale = state.graphs.values().stream()
+                        .anyMatch(graph -> graph.deletedCount() > graph.size() * maxDeletedRatio);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (stale) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Similar listings compaction failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected int size(State state) {
+        return state.nodes.size();
+    }
+
+    @Override
+    protected void add(State state, Property property) {
+        if (property.getListingType() == null) {
+            return;
+        }
+        HnswGraph graph = state.graphs.computeIfAbsent(property.getListingType(),
+                type -> new HnswGraph(DIMENSIONS, MAX_CONNECTIONS, EF_CONSTRUCTION, type.ordinal()));
+        int node = graph.add(property.getId(), features(property));
+        state.nodes.put(property.getId(), new Node(property.getListingType(), node));
+    }
+
+    @Override
+    protected void remove(State state, Long propertyId) {
+        Node node = state.nodes.remove(propertyId);
+        if (node != null) {
+            state.graphs.get(node.listingType()).delete(node.node());
+        }
+    }
+
+    private static int valueOr(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,356 @@
+package com.demo.real_estate_backend.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.real_estate_backend.dto.Suggestion;
+import com.demo.real_estate_backend.event.BuilderGroupChangeEvent;
+import com.demo.real_estate_backend.model.BuilderGroup;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.repository.BuilderGroupRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix tries of the city, state, zip code and builder group names of available listings,
+ * each value weighted by its live listing count. Every trie node caches the top suggestions
+ * of its subtree; a write only clears the caches on its own path, so a lookup is a walk down
+ * the prefix plus, at worst, a re-merge of the child caches that changed.
+ */
+@Component
+public class SuggestionIndex extends AvailableListingIndex<SuggestionIndex.State> {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    public enum Field {
+        CITY("city"),
+        STATE("state"),
+        ZIP("zip"),
+        BUILDER_GROUP("builderGroup");
+
+        private final String label;
+
+        Field(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Field fromLabel(String label) {
+            for (Field field : values()) {
+                if (field.label.equalsIgnoreCase(label) || field.name().equalsIgnoreCase(label)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown suggestion type: " + label);
+        }
+    }
+
+    private static final Comparator<Term> BY_COUNT = Comparator.comparingInt((Term term) -> term.count).reversed()
+            .thenComparing(term -> term.key);
+
+    @Autowired
+    private BuilderGroupRepository builderGroupRepository;
+
+    // Builder group names are not on the listing rows; kept across rebuilds
+    private final Map<Long, String> builderGroupNames = new ConcurrentHashMap<>();
+
+    static class State {
+        private final Map<Field, Trie> tries = new EnumMap<>(Field.class);
+        // propertyId -> values it was counted under, by Field ordinal
+        private final Map<Long, String[]> listings = new HashMap<>();
+        // builderGroupId -> its listings, so a rename moves exactly those; and the reverse
+        private final Map<Long, Set<Long>> builderGroupListings = new HashMap<>();
+        private final Map<Long, Long> listingBuilderGroups = new HashMap<>();
+
+        State() {
+            for (Field field : Field.values()) {
+                tries.put(field, new Trie());
+            }
+        }
+    }
+
+    private static class Trie {
+        private final Node root = new Node();
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Term term;
+        // Best MAX_SUGGESTIONS terms of this subtree; null when stale
+        private volatile List<Term> top;
+    }
+
+    private static class Term {
+        private final String key;
+        private final String value;
+        private int count;
+
+        Term(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Values starting with the prefix (case-insensitive), most listed first; limited to one
+     * field when given.
+     */
+    public List<Suggestion> suggest(String prefix, Field field, int limit) {
+        String key = normalize(prefix);
+        int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        if (key == null) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Suggestion> suggestions = new ArrayList<>();
+            for (Field candidate : Field.values()) {
+                if (field != null && field != candidate) {
+                    continue;
+                }
+                Node node = find(state.tries.get(candidate).root, key);
+                if (node != null) {
+                    for (Term term : top(node)) {
+                        suggestions.add(Suggestion.builder()
+                                .type(candidate.getLabel())
+                                .value(term.value)
+                                .listingCount(term.count)
+                                .build());
+                    }
+                }
+            }
+            suggestions.sort(Comparator.comparingLong(Suggestion::getListingCount).reversed()
+                    .thenComparing(Suggestion::getValue, String.CASE_INSENSITIVE_ORDER));
+            return suggestions.size() > max ? new ArrayList<>(suggestions.subList(0, max)) : suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every indexed value of a field in case-insensitive order, as served by the cities and
+     * states endpoints.
+     */
+    public List<String> values(Field field) {
+        lock.readLock().lock();
+        try {
+            List<String> values = new ArrayList<>();
+            collect(state.tries.get(field).root, values);
+            values.sort(String.CASE_INSENSITIVE_ORDER);
+            return values;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps builder group names current, since renames do not go through PropertyService: a
+     * committed rename moves the group's listing count to the new name.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBuilderGroupChange(BuilderGroupChangeEvent event) {
+        if (event.getName() == null) {
+            // Deleted; its listings were deleted one by one before it
+            builderGroupNames.remove(event.getBuilderGroupId());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            builderGroupNames.put(event.getBuilderGroupId(), event.getName());
+            Set<Long> listings = state.builderGroupListings.get(event.getBuilderGroupId());
+            if (listings == null) {
+                return;
+            }
+            Trie trie = state.tries.get(Field.BUILDER_GROUP);
+            int slot = Field.BUILDER_GROUP.ordinal();
+            for (Long propertyId : listings) {
+                String[] values = state.listings.get(propertyId);
+                if (!event.getName().equals(values[slot])) {
+                    if (values[slot] != null) {
+                        decrement(trie, values[slot]);
+                    }
+                    increment(trie, event.getName());
+                    values[slot] = event.getName();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        if (builderGroupRepository != null) {
+            for (BuilderGroup group : builderGroupRepository.findAll()) {
+                builderGroupNames.put(group.getId(), group.getName());
+            }
+        }
+        super.rebuild();
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected int size(State state) {
+        return state.listings.size();
+    }
+
+    @Override
+    protected void add(State state, Property property) {
+        String[] values = new String[Field.values().length];
+        values[Field.CITY.ordinal()] = property.getCity();
+        values[Field.STATE.ordinal()] = property.getState();
+        values[Field.ZIP.ordinal()] = property.getZipCode();
+        // Reading the id of a lazy proxy does not initialize it
+        if (property.getBuilderGroup() != null && property.getBuilderGroup().getId() != null) {
+            Long builderGroupId = property.getBuilderGroup().getId();
+            values[Field.BUILDER_GROUP.ordinal()] = builderGroupName(builderGroupId);
+            state.builderGroupListings.computeIfAbsent(builderGroupId, id -> new HashSet<>()).add(property.getId());
+            state.listingBuilderGroups.put(property.getId(), builderGroupId);
+        }
+
+        for (Field field : Field.values()) {
+            if (values[field.ordinal()] != null) {
+                increment(state.tries.get(field), values[field.ordinal()]);
+            }
+        }
+        state.listings.put(property.getId(), values);
+    }
+
+    @Override
+    protected void remove(State state, Long propertyId) {
+        String[] values = state.listings.remove(propertyId);
+        if (values == null) {
+            return;
+        }
+        Long builderGroupId = state.listingBuilderGroups.remove(propertyId);
+        if (builderGroupId != null) {
+            Set<Long> listings = state.builderGroupListings.get(builderGroupId);
+            listings.remove(propertyId);
+            if (listings.isEmpty()) {
+                state.builderGroupListings.remove(builderGroupId);
+            }
+        }
+        for (Field field : Field.values()) {
+            if (values[field.ordinal()] != null) {
+                decrement(state.tries.get(field), values[field.ordinal()]);
+            }
+        }
+    }
+
+    private String builderGroupName(Long builderGroupId) {
+        String name = builderGroupNames.get(builderGroupId);
+        if (name == null && builderGroupRepository != null) {
+            name = builderGroupRepository.findById(builderGroupId).map(BuilderGroup::getName).orElse(null);
+            if (name != null) {
+                builderGroupNames.put(builderGroupId, name);
+            }
+        }
+        return name;
+    }
+
+    private static void increment(Trie trie, String value) {
+        String key = normalize(value);
+        if (key == null) {
+            return;
+        }
+        Node node = trie.root;
+        node.top = null;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            node.top = null;
+        }
+        if (node.term == null) {
+            node.term = new Term(key, value.trim());
+        }
+        node.term.count++;
+    }
+
+    private static void decrement(Trie trie, String value) {
+        String key = normalize(value);
+        if (key == null) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        path[0] = trie.root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].children.get(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node leaf = path[key.length()];
+        if (leaf.term == null) {
+            return;
+        }
+        if (--leaf.term.count == 0) {
+            leaf.term = null;
+        }
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].top = null;
+            if (i > 0 && path[i].term == null && path[i].children.isEmpty()) {
+                path[i - 1].children.remove(key.charAt(i - 1));
+            }
+        }
+    }
+
+    private static Node find(Node root, String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    // Caller must hold the read lock; concurrent readers may both fill a stale cache, which is harmless
+    private static List<Term> top(Node node) {
+        List<Term> cached = node.top;
+        if (cached != null) {
+            return cached;
+        }
+        List<Term> candidates = new ArrayList<>();
+        if (node.term != null) {
+            candidates.add(node.term);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(top(child));
+        }
+        candidates.sort(BY_COUNT);
+        List<Term> top = List.copyOf(candidates.size() > MAX_SUGGESTIONS ? candidates.subList(0, MAX_SUGGESTIONS) : candidates);
+        node.top = top;
+        return top;
+    }
+
+    private static void collect(Node node, List<String> values) {
+        if (node.term != null) {
+            values.add(node.term.value);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, values);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,171 @@
+package com.demo.real_estate_backend.search;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest (Dunning): a mergeable quantile sketch whose centroids stay small near
+ * the tails, so p90/p99 remain accurate while the whole digest is bounded by the compression
+ * factor. Values are buffered and folded into the centroids in sorted batches.
+ *
+ * Not thread-safe. merge() only reads the other digest, so digests guarded by a read lock
+ * can be merged into a private one.
+ */
+public class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+
+    // Merged centroids, sorted by mean
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+
+    // Values and centroids waiting to be merged
+    private double[] bufferMeans;
+    private double[] bufferWeights;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression * 2) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[capacity * 4];
+        this.bufferWeights = new double[capacity * 4];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void merge(TDigest other) {
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        for (int i = 0; i < other.buffered; i++) {
+            add(other.bufferMeans[i], other.bufferWeights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    /** Estimated value at quantile q in [0, 1]; NaN when the digest is empty. */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+
+        double target = q * totalWeight;
+        // Below the first centroid's center, interpolate from the minimum
+        if (target < weights[0] / 2) {
+            return min + (means[0] - min) * target / (weights[0] / 2);
+        }
+        double cumulative = 0;
+        for (int i = 0; i < centroids - 1; i++) {
+            double center = cumulative + weights[i] / 2;
+            double nextCenter = cumulative + weights[i] + weights[i + 1] / 2;
+            if (target <= nextCenter) {
+                double fraction = (target - center) / (nextCenter - center);
+                return means[i] + (means[i + 1] - means[i]) * fraction;
+            }
+            cumulative += weights[i];
+        }
+        // Above the last centroid's center, interpolate towards the maximum
+        int last = centroids - 1;
+        double lastCenter = totalWeight - weights[last] / 2;
+        double fraction = Math.min(1, (target - lastCenter) / (weights[last] / 2));
+        return means[last] + (max - means[last]) * fraction;
+    }
+
+    private void add(double value, double weight) {
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    // Fold the buffer into the centroids, merging neighbours while the k1 scale allows
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferMeans, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, centroids, buffered);
+        buffered = 0;
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        double[] mergedMeans = new double[means.length];
+        double[] mergedWeights = new double[weights.length];
+        int count = 0;
+        double soFar = 0;
+        double currentMean = allMeans[order[0]];
+        double currentWeight = allWeights[order[0]];
+        for (int i = 1; i < n; i++) {
+            double mean = allMeans[order[i]];
+            double weight = allWeights[order[i]];
+            double proposed = currentWeight + weight;
+            if (k((soFar + proposed) / totalWeight) - k(soFar / totalWeight) <= 1) {
+                currentMean += (mean - currentMean) * weight / proposed;
+                currentWeight = proposed;
+            } else {
+                if (count == mergedMeans.length) {
+                    mergedMeans = Arrays.copyOf(mergedMeans, count * 2);
+                    mergedWeights = Arrays.copyOf(mergedWeights, count * 2);
+                }
+                mergedMeans[count] = currentMean;
+                mergedWeights[count++] = currentWeight;
+                soFar += currentWeight;
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        if (count == mergedMeans.length) {
+            mergedMeans = Arrays.copyOf(mergedMeans, count + 1);
+            mergedWeights = Arrays.copyOf(mergedWeights, count + 1);
+        }
+        mergedMeans[count] = currentMean;
+        mergedWeights[count++] = currentWeight;
+
+        means = mergedMeans;
+        weights = mergedWeights;
+        centroids = count;
+    }
+
+    // k1 scale function: centroid size limit shrinks towards q = 0 and q = 1
+    private double k(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.demo.real_estate_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Cached row counts for paged listings that skip the per-page COUNT query. The first request
+ * for a filter counts synchronously; afterwards the cached value is served and recounted on a
+ * background thread once it is older than the refresh interval.
+ */
+@Component
+public class ApproximateCountCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApproximateCountCache.class);
+
+    private final long refreshMillis;
+    private final int maxEntries;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "approximate-count-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private final LinkedHashMap<String, CachedCount> counts;
+
+    private static class CachedCount {
+        private volatile long value;
+        private volatile long countedAt;
+        private volatile boolean refreshing;
+
+        CachedCount(long value) {
+            this.value = value;
+            this.countedAt = System.currentTimeMillis();
+        }
+    }
+
+    public ApproximateCountCache(@Value("${paging.approximate-count.refresh-seconds:300}") long refreshSeconds,
+                                 @Value("${paging.approximate-count.max-entries:10000}") int maxEntries) {
+        this.refreshMillis = refreshSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+                return size() > ApproximateCountCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The cached count for the key, computing it with the counter on first use and
+     * scheduling a recount when it is stale.
+     */
+    public long get(String key, Supplier<Long> counter) {
+        CachedCount cached;
+        synchronized (this) {
+            cached = counts.get(key);
+        }
+        if (cached == null) {
+            long value = counter.get();
+            synchronized (this) {
+                counts.put(key, new CachedCount(value));
+            }
+            return value;
+        }
+
+        if (System.currentTimeMillis() - cached.countedAt > refreshMillis && !cached.refreshing) {
+            cached.refreshing = true;
+            refresher.execute(() -> {
+                try {
+                    cached.value = counter.get();
+                    cached.countedAt = System.currentTimeMillis();
+                } catch (RuntimeException e) {
+                    logger.warn("Recounting {} failed: {}", key, e.getMessage());
+                } finally {
+                    cached.refreshing = false;
+                }
+            });
+        }
+        return cached.value;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
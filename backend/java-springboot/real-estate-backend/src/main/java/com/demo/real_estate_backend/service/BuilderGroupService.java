@@ -1,11 +1,13 @@
 package com.demo.real_estate_backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.demo.real_estate_backend.dto.BuilderGroupRequest;
 import com.demo.real_estate_backend.dto.BuilderGroupResponse;
+import com.demo.real_estate_backend.event.BuilderGroupChangeEvent;
 import com.demo.real_estate_backend.exception.DuplicateResourceException;
 import com.demo.real_estate_backend.exception.ResourceNotFoundException;
 import com.demo.real_estate_backend.model.BuilderGroup;
@@ -22,6 +24,12 @@ public class BuilderGroupService {
     @Autowired
     private BuilderGroupRepository builderGroupRepository;
 
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<BuilderGroupResponse> getAllBuilderGroups() {
         return builderGroupRepository.findAllByOrderByNameAsc().stream()
                 .map(this::toBuilderGroupResponse)
@@ -51,6 +59,7 @@ public class BuilderGroupService {
         builderGroup.setActive(request.getActive() != null ? request.getActive() : true);
 
         BuilderGroup savedBuilderGroup = builderGroupRepository.save(builderGroup);
+        eventPublisher.publishEvent(new BuilderGroupChangeEvent(savedBuilderGroup.getId(), savedBuilderGroup.getName()));
         return toBuilderGroupResponse(savedBuilderGroup);
     }
 
@@ -71,6 +80,7 @@ public class BuilderGroupService {
         }
 
         BuilderGroup updatedBuilderGroup = builderGroupRepository.save(builderGroup);
+        eventPublisher.publishEvent(new BuilderGroupChangeEvent(id, updatedBuilderGroup.getName()));
         return toBuilderGroupResponse(updatedBuilderGroup);
     }
 
@@ -78,7 +88,9 @@ public class BuilderGroupService {
         if (!builderGroupRepository.existsById(id)) {
             throw new ResourceNotFoundException("BuilderGroup", "id", id);
         }
+        propertyService.deletePropertiesOfBuilderGroup(id);
         builderGroupRepository.deleteById(id);
+        eventPublisher.publishEvent(new BuilderGroupChangeEvent(id, null));
     }
 
     public BuilderGroupResponse toBuilderGroupResponse(BuilderGroup builderGroup) {
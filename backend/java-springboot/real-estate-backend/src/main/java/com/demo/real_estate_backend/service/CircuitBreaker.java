@@ -0,0 +1,74 @@
+package com.demo.real_estate_backend.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker for a remote dependency. After failureThreshold
+ * failures in a row the circuit opens and calls are refused for openMillis; then a single
+ * trial call is let through (half-open), whose outcome closes or re-opens the circuit.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /** Whether a call may go ahead; each permitted call must report onSuccess or onFailure. */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    // A permitted call that was never made; counts as neither success nor failure
+    synchronized void release() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        return state == State.OPEN && clock.getAsLong() - openedAt >= openMillis ? State.HALF_OPEN : state;
+    }
+}
@@ -3,50 +3,184 @@ package com.demo.real_estate_backend.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.demo.real_estate_backend.model.Property;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Optional plugin that lets the .NET recommendation service rank the candidates chosen by
+ * RecommendationService. Only created when recommendation.dotnet.enabled=true.
+ *
+ * Every way the call can go wrong ends in an empty result, which sends the caller to the
+ * native ranking: a circuit breaker stops calling a failing service for a while, and a
+ * bulkhead caps how many request threads can be waiting on it at once, turning the rest
+ * away instead of queueing them. Rankings are cached per (location, budget bucket).
+ */
 @Service
+@ConditionalOnProperty(name = "recommendation.dotnet.enabled", havingValue = "true")
 public class DotNetRecommendationClient {
-	
+
 	private static final Logger logger = LoggerFactory.getLogger(DotNetRecommendationClient.class);
-    private static final String DOT_NET_API_URL = "http://localhost:5000/api/recommend";
+
+    @Value("${recommendation.dotnet.url:http://localhost:5000/api/recommend}")
+    private String dotNetApiUrl;
 
     @Autowired
+    @Qualifier("dotNetRestTemplate")
     private RestTemplate restTemplate;
 
-    public List<Property> getRecommendations(List<Property> properties, String location, double budget) {
+    private final CircuitBreaker circuitBreaker;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMillis;
+    private final double budgetBucketWidth;
+    private final int cacheMaxEntries;
+    private final long cacheTtlMillis;
+
+    // Guarded by this
+    private final LinkedHashMap<String, CachedRanking> cache;
+    private long cacheHits;
+    private long cacheMisses;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private record CachedRanking(List<Long> ids, long expiresAt) {
+    }
+
+    public DotNetRecommendationClient(@Value("${recommendation.dotnet.breaker.failure-threshold:5}") int failureThreshold,
+                                      @Value("${recommendation.dotnet.breaker.open-seconds:30}") long openSeconds,
+                                      @Value("${recommendation.dotnet.bulkhead.max-concurrent:10}") int maxConcurrent,
+                                      @Value("${recommendation.dotnet.bulkhead.wait-ms:50}") long bulkheadWaitMillis,
+                                      @Value("${recommendation.dotnet.cache.budget-bucket-width:0.05}") double budgetBucketWidth,
+                                      @Value("${recommendation.dotnet.cache.max-entries:1000}") int cacheMaxEntries,
+                                      @Value("${recommendation.dotnet.cache.ttl-seconds:60}") long cacheTtlSeconds) {
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openSeconds * 1000, System::currentTimeMillis);
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.bulkheadWaitMillis = bulkheadWaitMillis;
+        this.budgetBucketWidth = budgetBucketWidth;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.cacheTtlMillis = cacheTtlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRanking> eldest) {
+                return size() > DotNetRecommendationClient.this.cacheMaxEntries;
+            }
+        };
+    }
+
+    /** Listing ids the service ranked recently for this location and budget bucket, else null. */
+    public synchronized List<Long> cached(String location, double budget) {
+        String key = cacheKey(location, budget);
+        CachedRanking ranking = cache.get(key);
+        if (ranking != null && ranking.expiresAt() <= System.currentTimeMillis()) {
+            cache.remove(key);
+            ranking = null;
+        }
+        if (ranking == null) {
+            cacheMisses++;
+            return null;
+        }
+        cacheHits++;
+        return ranking.ids();
+    }
+
+    /** Ids of the candidates as ranked by the service, best first; empty if it could not answer. */
+    public List<Long> rank(List<Property> candidates, String location, double budget) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            return List.of();
+        }
+        boolean admitted = false;
+        try {
+            admitted = bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!admitted) {
+            // Not the service's fault: free the breaker's trial slot without counting a failure
+            circuitBreaker.release();
+            rejected.incrementAndGet();
+            return List.of();
+        }
+
         try {
-            Map<String, Object> body = new HashMap<>();
-            body.put("properties", properties);
-            body.put("location", location);
-            body.put("budget", budget);
+            calls.incrementAndGet();
+            List<Long> ids = call(candidates, location, budget);
+            circuitBreaker.onSuccess();
+            if (!ids.isEmpty()) {
+                synchronized (this) {
+                    cache.put(cacheKey(location, budget), new CachedRanking(ids, System.currentTimeMillis() + cacheTtlMillis));
+                }
+            }
+            return ids;
+        } catch (RuntimeException e) {
+            // RestClientException for I/O errors, timeouts and error statuses; anything else is still no answer
+            circuitBreaker.onFailure();
+            failures.incrementAndGet();
+            logger.warn("Error calling .NET recommendation service: {}", e.getMessage());
+            return List.of();
+        } finally {
+            bulkhead.release();
+        }
+    }
 
-            logger.info("Calling .NET recommendation service for location: {} with budget: {}", location, budget);
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuit", circuitBreaker.state().name());
+        stats.put("calls", calls.get());
+        stats.put("failures", failures.get());
+        stats.put("shortCircuited", shortCircuited.get());
+        stats.put("rejectedByBulkhead", rejected.get());
+        stats.put("inFlight", maxConcurrent - bulkhead.availablePermits());
+        stats.put("cacheSize", cache.size());
+        stats.put("cacheHits", cacheHits);
+        stats.put("cacheMisses", cacheMisses);
+        return stats;
+    }
+
+    private List<Long> call(List<Property> candidates, String location, double budget) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("properties", candidates);
+        body.put("location", location);
+        body.put("budget", budget);
 
-            ResponseEntity<Property[]> response =
-                    restTemplate.postForEntity(DOT_NET_API_URL, body, Property[].class);
+        logger.debug("Calling .NET recommendation service for location: {} with budget: {} and {} candidates",
+                location, budget, candidates.size());
 
-            if (response.getBody() != null) {
-                logger.info("Successfully retrieved {} recommendations", response.getBody().length);
-                return Arrays.asList(response.getBody());
+        ResponseEntity<Property[]> response = restTemplate.postForEntity(dotNetApiUrl, body, Property[].class);
+        List<Long> ids = new ArrayList<>();
+        if (response.getBody() != null) {
+            for (Property property : response.getBody()) {
+                if (property != null && property.getId() != null) {
+                    ids.add(property.getId());
+                }
             }
-            logger.warn("Empty response from .NET recommendation service");
-        } catch (RestClientException e) {
-            logger.error("Error calling .NET recommendation service: {}", e.getMessage(), e);
-        } catch (Exception e) {
-            logger.error("Unexpected error in getRecommendations: {}", e.getMessage(), e);
         }
-        return List.of();
+        return ids;
     }
 
+    // Budgets within the same bucketWidth-sized step on a log scale share a key
+    private String cacheKey(String location, double budget) {
+        long bucket = (long) Math.floor(Math.log(budget) / Math.log1p(budgetBucketWidth));
+        return location.trim().toLowerCase(Locale.ROOT) + "|" + bucket;
+    }
 }
@@ -19,6 +19,7 @@ import com.demo.real_estate_backend.repository.FavoriteRepository;
 import com.demo.real_estate_backend.repository.PropertyRepository;
 import com.demo.real_estate_backend.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -54,7 +55,9 @@ public class FavoriteService {
                 .notes(notes)
                 .build();
 
-        return favoriteRepository.save(favorite);
+        Favorite saved = favoriteRepository.save(favorite);
+        favoritesChanged(propertyId);
+        return saved;
     }
     
     public Favorite addFavorite(Long userId, Long propertyId) {
@@ -65,13 +68,19 @@ public class FavoriteService {
         Favorite favorite = favoriteRepository.findByUserIdAndPropertyId(userId, propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Favorite not found for user " + userId + " and property " + propertyId));
         favoriteRepository.delete(favorite);
+        favoritesChanged(propertyId);
     }
     
     public void removeFavoriteById(Long favoriteId) {
-        if (!favoriteRepository.existsById(favoriteId)) {
-            throw new ResourceNotFoundException("Favorite", "id", favoriteId);
-        }
-        favoriteRepository.deleteById(favoriteId);
+        Favorite favorite = favoriteRepository.findById(favoriteId)
+                .orElseThrow(() -> new ResourceNotFoundException("Favorite", "id", favoriteId));
+        favoriteRepository.delete(favorite);
+        favoritesChanged(favorite.getProperty().getId());
+    }
+    
+    // Favorite counts show on the listing's details, so they take part in its version
+    private void favoritesChanged(Long propertyId) {
+        propertyRepository.touchFavorites(propertyId, LocalDateTime.now());
     }
     
     public List<Favorite> getUserFavorites(Long userId) {
@@ -162,6 +171,7 @@ public class FavoriteService {
         
         if (existingFavorite.isPresent()) {
             favoriteRepository.delete(existingFavorite.get());
+            favoritesChanged(propertyId);
             return null; // Removed
         } else {
             return addFavorite(userId, propertyId);
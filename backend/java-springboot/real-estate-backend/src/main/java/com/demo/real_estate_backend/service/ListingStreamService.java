@@ -0,0 +1,402 @@
+package com.demo.real_estate_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Server-sent events of listings entering and leaving a lightweight filter (city, property
+ * and listing type, price band), pushed once a write commits instead of clients polling.
+ *
+ * Subscribers are bucketed by (city, propertyType, listingType) with null meaning "any", so a
+ * change visits at most eight buckets. Its card is serialized and matched once on the
+ * committing thread and offered to the matching buffers, which never blocks; sending runs on a
+ * small fan-out pool. Every subscriber's bounded buffer is drained by one task at a time, and
+ * a subscriber whose buffer fills up is closed rather than allowed to hold the others back;
+ * EventSource clients reconnect on their own. Open streams hold no request thread, so a node
+ * is bounded by its connection limit.
+ *
+ * A servlet write blocks while the client's socket is full. A send still running after
+ * send-timeout closes its subscriber, and the pool gets one more thread until that send
+ * returns, which the container's write timeout guarantees. Stalled clients therefore cost a
+ * thread each for a while, but never take the pool away from the healthy ones.
+ */
+@Service
+public class ListingStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingStreamService.class);
+
+    private static final Push HEARTBEAT = new Push(null, null);
+
+    // city lower-cased; null fields match any value
+    private record BucketKey(String city, PropertyType propertyType, ListingType listingType) {
+    }
+
+    /** What a subscriber wants pushed; null fields match any value. */
+    public record Filter(String city, PropertyType propertyType, ListingType listingType,
+                         BigDecimal minPrice, BigDecimal maxPrice) {
+
+        public Filter {
+            city = city == null || city.isBlank() ? null : city.trim().toLowerCase(Locale.ROOT);
+            if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+                throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+            }
+        }
+
+        boolean matches(Listing listing) {
+            return listing.available()
+                    && (city == null || city.equals(listing.city()))
+                    && (propertyType == null || propertyType == listing.propertyType())
+                    && (listingType == null || listingType == listing.listingType())
+                    && (minPrice == null || (listing.price() != null && listing.price().compareTo(minPrice) >= 0))
+                    && (maxPrice == null || (listing.price() != null && listing.price().compareTo(maxPrice) <= 0));
+        }
+
+        BucketKey bucket() {
+            return new BucketKey(city, propertyType, listingType);
+        }
+    }
+
+    // The fields filters look at, copied off the entity before the fan-out
+    private record Listing(String city, PropertyType propertyType, ListingType listingType, BigDecimal price,
+                           boolean available) {
+
+        static Listing of(Property property) {
+            return new Listing(property.getCity() == null ? null : property.getCity().toLowerCase(Locale.ROOT),
+                    property.getPropertyType(), property.getListingType(), property.getPrice(),
+                    Boolean.TRUE.equals(property.getAvailable()));
+        }
+    }
+
+    // An event name and its JSON data; HEARTBEAT is sent as a comment
+    private record Push(String name, String json) {
+    }
+
+    private final class Subscriber {
+        private final Filter filter;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Push> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // When the send in progress started, 0 when none is; guarded by the subscriber
+        private long sendStartedNanos;
+        private boolean stalled;
+
+        Subscriber(Filter filter, SseEmitter emitter) {
+            this.filter = filter;
+            this.emitter = emitter;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final int fanoutThreads;
+    private final long sendTimeoutNanos;
+
+    private final Map<BucketKey, Set<Subscriber>> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong pushed = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong stalledSends = new AtomicLong();
+
+    // Subscribers with a drain running, checked for stalled sends
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    // Threads added for sends that stalled and have not returned yet; guarded by this
+    private int stalledThreads;
+
+    private final ThreadPoolExecutor fanout;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "listing-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ListingStreamService(ObjectMapper objectMapper,
+                                @Value("${stream.fanout-threads:4}") int fanoutThreads,
+                                @Value("${stream.buffer-size:64}") int bufferSize,
+                                @Value("${stream.max-subscribers:50000}") int maxSubscribers,
+                                @Value("${stream.timeout-minutes:30}") long timeoutMinutes,
+                                @Value("${stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                                @Value("${stream.send-timeout-millis:10000}") long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.fanoutThreads = fanoutThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threads = new AtomicInteger();
+        this.fanout = new ThreadPoolExecutor(fanoutThreads, fanoutThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "listing-stream-fanout-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        long checkMillis = Math.max(sendTimeoutMillis / 4, 50);
+        heartbeat.scheduleWithFixedDelay(this::evictStalledSends, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        if (heartbeatSeconds > 0) {
+            // Keeps idle streams open through proxies and finds connections that went away
+            heartbeat.scheduleWithFixedDelay(() -> forEachSubscriber(subscriber -> offer(subscriber, HEARTBEAT)),
+                    heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /** A new stream for the filter, or empty when the node already holds max-subscribers. */
+    public Optional<SseEmitter> subscribe(Filter filter) {
+        return subscribe(filter, new SseEmitter(timeoutMillis));
+    }
+
+    Optional<SseEmitter> subscribe(Filter filter, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(filter, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        buckets.computeIfAbsent(filter.bucket(), key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        Property current = event.getProperty();
+        Listing now = current == null ? null : Listing.of(current);
+        Listing before = event.getPrevious() == null ? null : Listing.of(event.getPrevious());
+        Push card = current == null ? null : new Push("listing", json(toSummary(current)));
+        Push removal = new Push("removed", json(Map.of("id", event.getPropertyId())));
+        // Matched and buffered here, in commit order; only the sends run on the pool, so a
+        // listing's pushes reach each buffer in the order its writes committed
+        publish(now, before, card, removal);
+    }
+
+    /**
+     * Pushes the card to the subscribers the listing now matches and a removal to those it
+     * matched before but no longer does, as when it was sold, repriced out of their band or
+     * deleted.
+     */
+    private void publish(Listing now, Listing before, Push card, Push removal) {
+        Set<Subscriber> candidates = new LinkedHashSet<>();
+        if (now != null) {
+            collect(now, candidates);
+        }
+        if (before != null) {
+            collect(before, candidates);
+        }
+        for (Subscriber subscriber : candidates) {
+            if (now != null && subscriber.filter.matches(now)) {
+                offer(subscriber, card);
+            } else if (before != null && subscriber.filter.matches(before)) {
+                offer(subscriber, removal);
+            }
+        }
+    }
+
+    private void collect(Listing listing, Set<Subscriber> candidates) {
+        for (String city : new String[] {listing.city(), null}) {
+            for (PropertyType propertyType : new PropertyType[] {listing.propertyType(), null}) {
+                for (ListingType listingType : new ListingType[] {listing.listingType(), null}) {
+                    Set<Subscriber> bucket = buckets.get(new BucketKey(city, propertyType, listingType));
+                    if (bucket != null) {
+                        candidates.addAll(bucket);
+                    }
+                }
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Push push) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(push)) {
+            evicted.incrementAndGet();
+            logger.debug("Closing a listing stream that fell {} events behind", bufferSize);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            fanout.execute(() -> drain(subscriber));
+        }
+    }
+
+    // One drain per subscriber at a time keeps its events in order
+    private void drain(Subscriber subscriber) {
+        sending.add(subscriber);
+        try {
+            Push push;
+            while (!subscriber.closed.get() && (push = subscriber.buffer.poll()) != null) {
+                synchronized (subscriber) {
+                    subscriber.sendStartedNanos = System.nanoTime();
+                }
+                if (push == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(push.name()).data(push.json()));
+                    pushed.incrementAndGet();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away
+            close(subscriber);
+        } finally {
+            sending.remove(subscriber);
+            boolean stalled;
+            synchronized (subscriber) {
+                subscriber.sendStartedNanos = 0;
+                stalled = subscriber.stalled;
+                subscriber.stalled = false;
+            }
+            if (stalled) {
+                resizeFanout(-1);
+            }
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed.get() && !subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            fanout.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Closes the subscribers whose send has run past the timeout and gives the pool a thread
+    // for each, as theirs stays blocked until the container fails the write
+    private void evictStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            synchronized (subscriber) {
+                if (subscriber.stalled || subscriber.sendStartedNanos == 0
+                        || now - subscriber.sendStartedNanos < sendTimeoutNanos) {
+                    continue;
+                }
+                subscriber.stalled = true;
+            }
+            stalledSends.incrementAndGet();
+            evicted.incrementAndGet();
+            resizeFanout(1);
+            logger.debug("Closing a listing stream whose send stalled");
+            close(subscriber);
+        }
+    }
+
+    private synchronized void resizeFanout(int delta) {
+        stalledThreads += delta;
+        int size = fanoutThreads + stalledThreads;
+        // The maximum must never fall below the core size
+        if (delta > 0) {
+            fanout.setMaximumPoolSize(size);
+            fanout.setCorePoolSize(size);
+        } else {
+            fanout.setCorePoolSize(size);
+            fanout.setMaximumPoolSize(size);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        Set<Subscriber> bucket = buckets.get(subscriber.filter.bucket());
+        if (bucket != null) {
+            bucket.remove(subscriber);
+        }
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private void forEachSubscriber(Consumer<Subscriber> action) {
+        List<Set<Subscriber>> all = new ArrayList<>(buckets.values());
+        all.forEach(bucket -> bucket.forEach(action));
+    }
+
+    private static PropertySummary toSummary(Property property) {
+        return PropertySummary.builder()
+                .id(property.getId())
+                .title(property.getTitle())
+                .price(property.getPrice())
+                .city(property.getCity())
+                .state(property.getState())
+                .propertyType(property.getPropertyType())
+                .listingType(property.getListingType())
+                .bedrooms(property.getBedrooms())
+                .bathrooms(property.getBathrooms())
+                .squareFeet(property.getSquareFeet())
+                .imageUrl(property.getImageUrl())
+                .available(property.getAvailable())
+                .createdAt(property.getCreatedAt())
+                .build();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize a listing stream event", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriberCount.get());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("buckets", buckets.size());
+        stats.put("pushed", pushed.get());
+        stats.put("evicted", evicted.get());
+        stats.put("stalledSends", stalledSends.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        fanout.shutdownNow();
+    }
+}
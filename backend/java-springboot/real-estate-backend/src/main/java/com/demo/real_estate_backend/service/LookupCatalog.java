@@ -0,0 +1,170 @@
+package com.demo.real_estate_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import com.demo.real_estate_backend.dto.ApiResponse;
+import com.demo.real_estate_backend.event.BuilderGroupChangeEvent;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized responses of the lookups every page load asks for (cities, states, the available
+ * count and builder groups), kept under a catalog version. A committed write that can change
+ * any of them bumps the version, and each body is rebuilt from the database on its next
+ * request; until then requests, and 304s for clients holding the version, cost no queries.
+ *
+ * The version starts at the boot time in millis, so a tag handed out before a restart does
+ * not match the new process. The timestamp inside a body is the time it was built.
+ */
+@Component
+public class LookupCatalog {
+
+    public enum Lookup {
+        CITIES,
+        STATES,
+        AVAILABLE_COUNT,
+        BUILDER_GROUPS
+    }
+
+    public record Body(long version, byte[] json) {
+
+        public String etag() {
+            return Long.toString(version, 36);
+        }
+    }
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private BuilderGroupService builderGroupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${lookup.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lookup.cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private final Map<Lookup, Body> bodies = new ConcurrentHashMap<>();
+    private final AtomicLong builds = new AtomicLong();
+
+    /**
+     * The lookup as a JSON response tagged with the catalog version. A client that sends the
+     * current version in If-None-Match gets a 304 before anything is built; null is returned
+     * then, as Spring expects of a handler whose request was found not modified.
+     */
+    public ResponseEntity<byte[]> respond(Lookup lookup, WebRequest request) {
+        if (!enabled) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(get(lookup).json());
+        }
+        if (request.checkNotModified(etag())) {
+            return null;
+        }
+        Body body = get(lookup);
+        return ResponseEntity.ok()
+                .eTag(body.etag())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.json());
+    }
+
+    public String etag() {
+        return Long.toString(version.get(), 36);
+    }
+
+    public Body get(Lookup lookup) {
+        long current = version.get();
+        Body body = bodies.get(lookup);
+        if (body != null && body.version() == current) {
+            return body;
+        }
+        body = new Body(current, serialize(load(lookup)));
+        builds.incrementAndGet();
+        // A body read across a write is served once but left for the next request to rebuild
+        if (enabled && version.get() == current) {
+            bodies.put(lookup, body);
+        }
+        return body;
+    }
+
+    // From the database, not the in-memory indexes: those follow the same change events and
+    // may not have applied a write yet when a body is rebuilt under its new version
+    private Object load(Lookup lookup) {
+        return switch (lookup) {
+            case CITIES -> propertyRepository.findAllCities();
+            case STATES -> propertyRepository.findAllStates();
+            case AVAILABLE_COUNT -> Map.of("availableCount", propertyRepository.countAvailable());
+            case BUILDER_GROUPS -> builderGroupService.getAllBuilderGroups();
+        };
+    }
+
+    private byte[] serialize(Object data) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize lookup", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        if (changesLookups(event)) {
+            version.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBuilderGroupChange(BuilderGroupChangeEvent event) {
+        version.incrementAndGet();
+    }
+
+    // Creates and deletes move the counts; an update only matters if it moves the listing's
+    // city or state, takes it on or off the market, or moves it to another builder group,
+    // whose propertyCount is part of the BUILDER_GROUPS body
+    private static boolean changesLookups(PropertyChangeEvent event) {
+        Property current = event.getProperty();
+        Property previous = event.getPrevious();
+        if (event.getChangeType() != PropertyChangeEvent.ChangeType.UPDATED || current == null || previous == null) {
+            return true;
+        }
+        return !Objects.equals(current.getCity(), previous.getCity())
+                || !Objects.equals(current.getState(), previous.getState())
+                || !Objects.equals(current.getAvailable(), previous.getAvailable())
+                || !Objects.equals(builderGroupId(current), builderGroupId(previous));
+    }
+
+    // Read from the reference without loading the group
+    private static Long builderGroupId(Property property) {
+        return property.getBuilderGroup() == null ? null : property.getBuilderGroup().getId();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("version", etag());
+        stats.put("cached", bodies.size());
+        stats.put("builds", builds.get());
+        return stats;
+    }
+}
@@ -0,0 +1,286 @@
+package com.demo.real_estate_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.real_estate_backend.dto.ChangeFeed;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyChange;
+import com.demo.real_estate_backend.repository.PropertyChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Append-only log of listing writes behind the change feed. Every PropertyChangeEvent is
+ * logged in the transaction that published it, so a rolled-back write leaves no entry and a
+ * committed delete always leaves its tombstone.
+ *
+ * A transaction's entries are appended just before it commits, under the row lock of the
+ * log's head: their tokens follow commit order and have no gaps, so a reader that saw token n
+ * has missed nothing up to n, and a since older than the oldest kept entry is detected.
+ */
+@Service
+public class PropertyChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyChangeLog.class);
+
+    private static final String LOG_NAME = "property_changes";
+
+    private static final TypeReference<Map<String, Object>> DELTA_TYPE = new TypeReference<>() {
+    };
+
+    // Fields of a listing the feed reports changes of, in feed order
+    private static final Map<String, Function<Property, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("title", Property::getTitle);
+        FIELDS.put("description", Property::getDescription);
+        FIELDS.put("price", Property::getPrice);
+        FIELDS.put("address", Property::getAddress);
+        FIELDS.put("city", Property::getCity);
+        FIELDS.put("state", Property::getState);
+        FIELDS.put("zipCode", Property::getZipCode);
+        FIELDS.put("propertyType", Property::getPropertyType);
+        FIELDS.put("listingType", Property::getListingType);
+        FIELDS.put("bedrooms", Property::getBedrooms);
+        FIELDS.put("bathrooms", Property::getBathrooms);
+        FIELDS.put("squareFeet", Property::getSquareFeet);
+        FIELDS.put("yearBuilt", Property::getYearBuilt);
+        FIELDS.put("latitude", Property::getLatitude);
+        FIELDS.put("longitude", Property::getLongitude);
+        FIELDS.put("imageUrl", Property::getImageUrl);
+        FIELDS.put("available", Property::getAvailable);
+    }
+
+    private record Entry(Long propertyId, PropertyChangeEvent.ChangeType changeType, String delta) {
+    }
+
+    @Autowired
+    private PropertyChangeRepository propertyChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${changes.max-limit:5000}")
+    private int maxLimit;
+
+    @Value("${changes.retention-days:30}")
+    private long retentionDays;
+
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "property-changes-prune");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Changes committed after the since token, oldest first. Without a token only the current
+     * one is returned: a client takes it, downloads the catalog, then follows the feed from it.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeed getChanges(Long since, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        long head = headToken();
+        if (since == null) {
+            return ChangeFeed.builder().nextToken(head).hasMore(false).changes(List.of()).build();
+        }
+        if (since < 0 || since > head) {
+            throw new IllegalArgumentException("Unknown change token: " + since);
+        }
+        List<PropertyChange> rows = propertyChangeRepository.findByIdGreaterThanOrderByIdAsc(since,
+                PageRequest.of(0, limit + 1));
+        if (since < head && (rows.isEmpty() || rows.get(0).getId() != since + 1)) {
+            throw new IllegalArgumentException("Change token " + since
+                    + " is older than the kept log; download the catalog again");
+        }
+        boolean hasMore = rows.size() > limit;
+        List<ChangeFeed.Change> changes = rows.stream()
+                .limit(limit)
+                .map(this::toChange)
+                .toList();
+        return ChangeFeed.builder()
+                .nextToken(changes.isEmpty() ? since : changes.get(changes.size() - 1).getToken())
+                .hasMore(hasMore)
+                .changes(changes)
+                .build();
+    }
+
+    // Runs in the publishing transaction, unlike the after-commit listeners of the indexes
+    @EventListener
+    public void onPropertyChange(PropertyChangeEvent event) {
+        Entry entry = toEntry(event);
+        if (entry == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> append(List.of(entry)));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Entry> pending = (List<Entry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Entry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    append(entries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PropertyChangeLog.this);
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    // Null for an update that changed none of the feed fields
+    private Entry toEntry(PropertyChangeEvent event) {
+        if (event.getChangeType() != PropertyChangeEvent.ChangeType.UPDATED) {
+            return new Entry(event.getPropertyId(), event.getChangeType(), null);
+        }
+        Map<String, Object> delta = new LinkedHashMap<>();
+        FIELDS.forEach((name, field) -> {
+            Object value = field.apply(event.getProperty());
+            if (event.getPrevious() == null || !same(value, field.apply(event.getPrevious()))) {
+                delta.put(name, value);
+            }
+        });
+        if (delta.isEmpty()) {
+            return null;
+        }
+        try {
+            return new Entry(event.getPropertyId(), event.getChangeType(), objectMapper.writeValueAsString(delta));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the change of listing " + event.getPropertyId(), e);
+        }
+    }
+
+    private static boolean same(Object value, Object previous) {
+        if (value instanceof BigDecimal decimal && previous instanceof BigDecimal previousDecimal) {
+            return decimal.compareTo(previousDecimal) == 0;
+        }
+        return Objects.equals(value, previous);
+    }
+
+    private void append(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long first = reserve(entries.size()) - entries.size() + 1;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            rows.add(new Object[] {first + i, entry.propertyId(), entry.changeType().name(), entry.delta(), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO property_changes (id, property_id, change_type, delta, changed_at)"
+                + " VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // Moves the head by count and returns it; the updated row stays locked until commit
+    private long reserve(int count) {
+        String advance = "UPDATE change_log_heads SET last_token = last_token + ? WHERE log_name = ?";
+        if (jdbcTemplate.update(advance, count, LOG_NAME) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO change_log_heads (log_name, last_token) VALUES (?, 0)", LOG_NAME);
+            } catch (DuplicateKeyException e) {
+                // Created by a concurrent first writer
+            }
+            jdbcTemplate.update(advance, count, LOG_NAME);
+        }
+        return jdbcTemplate.queryForObject("SELECT last_token FROM change_log_heads WHERE log_name = ?", Long.class,
+                LOG_NAME);
+    }
+
+    private long headToken() {
+        List<Long> head = jdbcTemplate.queryForList("SELECT last_token FROM change_log_heads WHERE log_name = ?",
+                Long.class, LOG_NAME);
+        return head.isEmpty() ? 0 : head.get(0);
+    }
+
+    private ChangeFeed.Change toChange(PropertyChange change) {
+        try {
+            return ChangeFeed.Change.builder()
+                    .token(change.getId())
+                    .propertyId(change.getPropertyId())
+                    .type(change.getChangeType())
+                    .fields(change.getDelta() == null ? null : objectMapper.readValue(change.getDelta(), DELTA_TYPE))
+                    .changedAt(change.getChangedAt())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable change " + change.getId(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePruning() {
+        if (retentionDays > 0) {
+            pruner.scheduleWithFixedDelay(this::prune, 1, 60, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Drops the entries older than the retention, always from the front so the kept tokens
+     * stay contiguous. Clients behind the pruned range are told to download the catalog again.
+     */
+    public int prune() {
+        try {
+            Integer pruned = new TransactionTemplate(transactionManager).execute(status -> {
+                Long last = propertyChangeRepository.findLastIdBefore(LocalDateTime.now().minusDays(retentionDays));
+                return last == null ? 0 : propertyChangeRepository.deleteThrough(last);
+            });
+            logger.debug("Pruned {} property changes", pruned);
+            return pruned;
+        } catch (RuntimeException e) {
+            logger.warn("Pruning the property change log failed", e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pruner.shutdownNow();
+    }
+}
@@ -0,0 +1,191 @@
+package com.demo.real_estate_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Partner syndication feed. Listings are read through a forward-only cursor as scalar rows
+ * and written one at a time, so memory use does not depend on the size of the catalog.
+ *
+ * Each export holds a connection and an async thread for as long as it streams, so only a
+ * few may run at once; callers take a slot first and release it when the export ends.
+ */
+@Service
+public class PropertyExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + name);
+        }
+    }
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${export.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${export.as-of-margin-seconds:60}")
+    private long asOfMarginSeconds;
+
+    private final Semaphore slots;
+
+    public PropertyExportService(@Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    // False when as many exports as allowed are already streaming
+    public boolean tryAcquireSlot() {
+        return slots.tryAcquire();
+    }
+
+    public void releaseSlot() {
+        slots.release();
+    }
+
+    /**
+     * Value for X-Export-As-Of. Listings committed while the export reads may carry an
+     * updatedAt from before it started without being in its snapshot, so the time is set back
+     * by a margin; the next incremental pull repeats those rows rather than missing them.
+     */
+    public LocalDateTime asOf() {
+        return LocalDateTime.now().minusSeconds(asOfMarginSeconds);
+    }
+
+    // How long one export may stream; full feeds outlast the default async request timeout
+    public long getTimeoutMillis() {
+        return TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    /**
+     * Write every listing, or those updated since the given time, to the stream in id order.
+     * The stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, Format format, LocalDateTime updatedSince) throws IOException {
+        try (Stream<Object[]> rows = propertyRepository.streamExportRows(updatedSince, fetchSize)) {
+            return format == Format.CSV ? writeCsv(out, rows.iterator()) : writeNdjson(out, rows.iterator());
+        }
+    }
+
+    private long writeNdjson(OutputStream out, Iterator<Object[]> rows) throws IOException {
+        List<String> columns = PropertyRepository.EXPORT_COLUMNS;
+        long count = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                json.writeStartObject();
+                for (int i = 0; i < columns.size(); i++) {
+                    json.writeFieldName(columns.get(i));
+                    writeJsonValue(json, row[i]);
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(OutputStream out, Iterator<Object[]> rows) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(String.join(",", PropertyRepository.EXPORT_COLUMNS));
+        writer.write("\r\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(row[i]));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeJsonValue(JsonGenerator json, Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            json.writeNumber(decimal);
+        } else if (value instanceof Long number) {
+            json.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            json.writeNumber(number);
+        } else if (value instanceof Double number) {
+            json.writeNumber(number);
+        } else if (value instanceof Boolean flag) {
+            json.writeBoolean(flag);
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    // RFC 4180: quote values holding a separator, quote or line break, doubling inner quotes
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -9,6 +9,7 @@ import com.demo.real_estate_backend.model.PropertyImage;
 import com.demo.real_estate_backend.repository.PropertyImageRepository;
 import com.demo.real_estate_backend.repository.PropertyRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -98,6 +99,7 @@ public class PropertyImageBulkService {
 
             propertyImageRepository.save(image);
         }
+        propertyRepository.touchImages(property.getId(), LocalDateTime.now());
     }
 
     /**
@@ -127,6 +129,7 @@ public class PropertyImageBulkService {
             propertyImageRepository.save(image);
             imagesAdded++;
         }
+        propertyRepository.touchImages(property.getId(), LocalDateTime.now());
 
         return imagesAdded;
     }
@@ -174,6 +177,7 @@ public class PropertyImageBulkService {
             propertyImageRepository.save(image);
             imagesAdded++;
         }
+        propertyRepository.touchImages(property.getId(), LocalDateTime.now());
 
         return imagesAdded;
     }
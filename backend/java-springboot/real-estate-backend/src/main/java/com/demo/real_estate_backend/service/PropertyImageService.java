@@ -12,6 +12,7 @@ import com.demo.real_estate_backend.model.PropertyImage;
 import com.demo.real_estate_backend.repository.PropertyImageRepository;
 import com.demo.real_estate_backend.repository.PropertyRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,6 +50,7 @@ public class PropertyImageService {
                 .build();
 
         PropertyImage savedImage = propertyImageRepository.save(image);
+        imagesChanged(propertyId);
         return toPropertyImageResponse(savedImage);
     }
 
@@ -70,14 +72,15 @@ public class PropertyImageService {
         }
 
         PropertyImage updatedImage = propertyImageRepository.save(image);
+        imagesChanged(image.getProperty().getId());
         return toPropertyImageResponse(updatedImage);
     }
 
     public void deleteImage(Long imageId) {
-        if (!propertyImageRepository.existsById(imageId)) {
-            throw new ResourceNotFoundException("PropertyImage", "id", imageId);
-        }
-        propertyImageRepository.deleteById(imageId);
+        PropertyImage image = propertyImageRepository.findById(imageId)
+                .orElseThrow(() -> new ResourceNotFoundException("PropertyImage", "id", imageId));
+        propertyImageRepository.delete(image);
+        imagesChanged(image.getProperty().getId());
     }
 
     // Updated setPrimaryImage to use the new repository method
@@ -95,6 +98,7 @@ public class PropertyImageService {
         // Set this image as primary
         image.setIsPrimary(true);
         PropertyImage updated = propertyImageRepository.save(image);
+        imagesChanged(propertyId);
 
         return toPropertyImageResponse(updated);
     }
@@ -113,6 +117,7 @@ public class PropertyImageService {
             image.setDisplayOrder(i);
             propertyImageRepository.save(image);
         }
+        imagesChanged(propertyId);
     }
 
     public List<PropertyImageResponse> getPropertyImages(Long propertyId) {
@@ -122,6 +127,11 @@ public class PropertyImageService {
                 .collect(Collectors.toList());
     }
 
+    // Reading the id of the lazy property proxy does not load it
+    private void imagesChanged(Long propertyId) {
+        propertyRepository.touchImages(propertyId, LocalDateTime.now());
+    }
+
     public PropertyImageResponse toPropertyImageResponse(PropertyImage image) {
         return PropertyImageResponse.builder()
                 .id(image.getId())
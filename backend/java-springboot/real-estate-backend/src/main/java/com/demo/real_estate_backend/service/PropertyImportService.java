@@ -0,0 +1,539 @@
+package com.demo.real_estate_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.real_estate_backend.dto.ImportReport;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.service.PropertyExportService.Format;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk upsert of brokerage feeds, keyed by each listing's externalKey. Rows are read from
+ * an NDJSON or CSV stream in the export feed's columns, validated like POST /api/properties,
+ * and written in chunks of batch-size rows: one lookup of the chunk's keys, then one JDBC
+ * batch of inserts and one of updates, committed per chunk. Rows identical to the stored
+ * listing, which make up most of a re-sent daily feed, are not written at all.
+ *
+ * The writes go around Hibernate because Property ids are IDENTITY columns, for which
+ * Hibernate gives up insert batching; the driver batches them fine (on MySQL with
+ * rewriteBatchedStatements=true, as multi-row inserts). Change events are still published
+ * for every written row, so indexes, caches and saved-search alerts follow the import.
+ */
+@Service
+public class PropertyImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO properties (external_key, title, description, price,"
+            + " address, city, state, zip_code, property_type, listing_type, bedrooms, bathrooms, square_feet,"
+            + " year_built, latitude, longitude, image_url, available, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Owner, builder group and createdAt are not part of a feed row and are kept
+    private static final String UPDATE_SQL = "UPDATE properties SET title = ?, description = ?, price = ?,"
+            + " address = ?, city = ?, state = ?, zip_code = ?, property_type = ?, listing_type = ?, bedrooms = ?,"
+            + " bathrooms = ?, square_feet = ?, year_built = ?, latitude = ?, longitude = ?, image_url = ?,"
+            + " available = ?, updated_at = ? WHERE id = ?";
+
+    // Export columns a feed cannot set
+    private static final Set<String> IGNORED_COLUMNS = Set.of("id", "ownerId", "builderGroupId", "createdAt", "updatedAt");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record Row(long line, Property property) {
+    }
+
+    private record Written(int created, int updated, int unchanged) {
+    }
+
+    // Counts and reported errors of one import
+    private class Progress {
+        long rows;
+        long created;
+        long updated;
+        long unchanged;
+        long failed;
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String externalKey, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.RowError(line, externalKey, message));
+            }
+        }
+    }
+
+    /**
+     * Upsert every row of the stream, which is read to the end but not closed. Rows that
+     * cannot be parsed, fail validation or are refused by the database are reported and
+     * skipped; the rest are imported.
+     */
+    public ImportReport importListings(InputStream in, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress();
+        Map<String, Row> chunk = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 65536);
+        if (format == Format.CSV) {
+            readCsv(reader, chunk, progress);
+        } else {
+            readNdjson(reader, chunk, progress);
+        }
+        flush(chunk.values(), progress);
+
+        ImportReport report = ImportReport.builder()
+                .rows(progress.rows)
+                .created(progress.created)
+                .updated(progress.updated)
+                .unchanged(progress.unchanged)
+                .failed(progress.failed)
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .errors(progress.errors)
+                .build();
+        logger.info("Imported {} rows: {} created, {} updated, {} unchanged, {} failed in {} ms", report.getRows(),
+                report.getCreated(), report.getUpdated(), report.getUnchanged(), report.getFailed(),
+                report.getElapsedMillis());
+        return report;
+    }
+
+    private void readNdjson(BufferedReader reader, Map<String, Row> chunk, Progress progress) throws IOException {
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            progress.rows++;
+            Property property;
+            try {
+                property = objectMapper.readValue(text, Property.class);
+            } catch (JsonProcessingException e) {
+                progress.fail(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            accept(new Row(line, property), chunk, progress);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Map<String, Row> chunk, Progress progress) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (MalformedCsvException e) {
+            progress.fail(csv.line(), null, e.getMessage());
+            return;
+        }
+        if (header == null) {
+            return;
+        }
+        while (true) {
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (MalformedCsvException e) {
+                // The open quote ran to the end of the input, so there is nothing left to read
+                progress.rows++;
+                progress.fail(csv.line(), null, e.getMessage());
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            progress.rows++;
+            if (fields.size() != header.size()) {
+                progress.fail(csv.line(), null, "Expected " + header.size() + " fields but found " + fields.size());
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim();
+                if (!fields.get(i).isEmpty() && !IGNORED_COLUMNS.contains(column)) {
+                    values.put(column, fields.get(i));
+                }
+            }
+            Property property;
+            try {
+                property = objectMapper.convertValue(values, Property.class);
+            } catch (IllegalArgumentException e) {
+                String message = e.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage() : e.getMessage();
+                progress.fail(csv.line(), values.get("externalKey"), "Invalid value: " + message);
+                continue;
+            }
+            accept(new Row(csv.line(), property), chunk, progress);
+        }
+    }
+
+    private void accept(Row row, Map<String, Row> chunk, Progress progress) {
+        Property property = row.property();
+        String key = property.getExternalKey() == null ? "" : property.getExternalKey().trim();
+        if (key.isEmpty()) {
+            progress.fail(row.line(), null, "externalKey is required");
+            return;
+        }
+        property.setExternalKey(key);
+        if (property.getAvailable() == null) {
+            property.setAvailable(true);
+        }
+        Set<ConstraintViolation<Property>> violations = validator.validate(property);
+        if (!violations.isEmpty()) {
+            progress.fail(row.line(), key, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        // A key seen again in the same chunk is written after the first, as an update
+        if (chunk.containsKey(key) || chunk.size() >= batchSize) {
+            flush(chunk.values(), progress);
+            chunk.clear();
+        }
+        chunk.put(key, row);
+    }
+
+    private void flush(Collection<Row> rows, Progress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            Written written = new TransactionTemplate(transactionManager).execute(status -> write(rows));
+            progress.created += written.created();
+            progress.updated += written.updated();
+            progress.unchanged += written.unchanged();
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                Row row = rows.iterator().next();
+                progress.fail(row.line(), row.property().getExternalKey(),
+                        "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            // Find the offending rows by writing the chunk one row at a time
+            for (Row row : rows) {
+                flush(List.of(row), progress);
+            }
+        }
+    }
+
+    private Written write(Collection<Row> rows) {
+        Map<String, Property> existing = findByExternalKeys(rows.stream()
+                .map(row -> row.property().getExternalKey())
+                .toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<Property> inserts = new ArrayList<>();
+        List<Property> updates = new ArrayList<>();
+        int unchanged = 0;
+        for (Row row : rows) {
+            Property property = row.property();
+            Property previous = existing.get(property.getExternalKey());
+            property.setUpdatedAt(now);
+            if (previous != null && sameFeedFields(property, previous)) {
+                unchanged++;
+            } else if (previous == null) {
+                property.setId(null);
+                property.setCreatedAt(now);
+                inserts.add(property);
+            } else {
+                property.setId(previous.getId());
+                property.setCreatedAt(previous.getCreatedAt());
+                updates.add(property);
+            }
+        }
+
+        insert(inserts);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Property property = updates.get(i);
+                int index = bindFields(statement, 1, property);
+                statement.setTimestamp(index++, Timestamp.valueOf(property.getUpdatedAt()));
+                statement.setLong(index, property.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+
+        // Delivered to the listeners once the chunk commits
+        for (Property property : inserts) {
+            eventPublisher.publishEvent(PropertyChangeEvent.created(property));
+        }
+        for (Property property : updates) {
+            eventPublisher.publishEvent(PropertyChangeEvent.updated(property, existing.get(property.getExternalKey())));
+        }
+        return new Written(inserts.size(), updates.size(), unchanged);
+    }
+
+    private void insert(List<Property> inserts) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Property property = inserts.get(i);
+                        statement.setString(1, property.getExternalKey());
+                        int index = bindFields(statement, 2, property);
+                        statement.setTimestamp(index++, Timestamp.valueOf(property.getCreatedAt()));
+                        statement.setTimestamp(index, Timestamp.valueOf(property.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < inserts.size(); i++) {
+            // The key column is named ID on H2 and GENERATED_KEY on MySQL
+            inserts.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    // Binds the feed fields from title through available, returning the next parameter index
+    private static int bindFields(PreparedStatement statement, int index, Property property) throws SQLException {
+        statement.setString(index++, property.getTitle());
+        statement.setString(index++, property.getDescription());
+        statement.setBigDecimal(index++, property.getPrice());
+        statement.setString(index++, property.getAddress());
+        statement.setString(index++, property.getCity());
+        statement.setString(index++, property.getState());
+        statement.setString(index++, property.getZipCode());
+        statement.setString(index++, property.getPropertyType().name());
+        statement.setString(index++, property.getListingType().name());
+        statement.setObject(index++, property.getBedrooms(), Types.INTEGER);
+        statement.setObject(index++, property.getBathrooms(), Types.INTEGER);
+        statement.setBigDecimal(index++, property.getSquareFeet());
+        statement.setObject(index++, property.getYearBuilt(), Types.INTEGER);
+        statement.setObject(index++, property.getLatitude(), Types.DOUBLE);
+        statement.setObject(index++, property.getLongitude(), Types.DOUBLE);
+        statement.setString(index++, property.getImageUrl());
+        statement.setBoolean(index++, property.getAvailable());
+        return index;
+    }
+
+    // Stored feed fields, id and createdAt of the listings with these external keys
+    private Map<String, Property> findByExternalKeys(List<String> keys) {
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        Map<String, Property> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, external_key, title, description, price, address, city, state, zip_code,"
+                        + " property_type, listing_type, bedrooms, bathrooms, square_feet, year_built, latitude,"
+                        + " longitude, image_url, available, created_at FROM properties"
+                        + " WHERE external_key IN (" + placeholders + ")",
+                resultSet -> {
+                    String propertyType = resultSet.getString("property_type");
+                    String listingType = resultSet.getString("listing_type");
+                    Timestamp createdAt = resultSet.getTimestamp("created_at");
+                    existing.put(resultSet.getString("external_key"), Property.builder()
+                            .id(resultSet.getLong("id"))
+                            .externalKey(resultSet.getString("external_key"))
+                            .title(resultSet.getString("title"))
+                            .description(resultSet.getString("description"))
+                            .price(resultSet.getBigDecimal("price"))
+                            .address(resultSet.getString("address"))
+                            .city(resultSet.getString("city"))
+                            .state(resultSet.getString("state"))
+                            .zipCode(resultSet.getString("zip_code"))
+                            .propertyType(propertyType != null ? PropertyType.valueOf(propertyType) : null)
+                            .listingType(listingType != null ? ListingType.valueOf(listingType) : null)
+                            .bedrooms(resultSet.getObject("bedrooms", Integer.class))
+                            .bathrooms(resultSet.getObject("bathrooms", Integer.class))
+                            .squareFeet(resultSet.getBigDecimal("square_feet"))
+                            .yearBuilt(resultSet.getObject("year_built", Integer.class))
+                            .latitude(resultSet.getObject("latitude", Double.class))
+                            .longitude(resultSet.getObject("longitude", Double.class))
+                            .imageUrl(resultSet.getString("image_url"))
+                            .available(resultSet.getBoolean("available"))
+                            .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                            .build());
+                },
+                keys.toArray());
+        return existing;
+    }
+
+    // Whether writing the row would leave the stored listing as it is
+    private static boolean sameFeedFields(Property row, Property stored) {
+        return Objects.equals(row.getTitle(), stored.getTitle())
+                && Objects.equals(row.getDescription(), stored.getDescription())
+                && sameNumber(row.getPrice(), stored.getPrice())
+                && Objects.equals(row.getAddress(), stored.getAddress())
+                && Objects.equals(row.getCity(), stored.getCity())
+                && Objects.equals(row.getState(), stored.getState())
+                && Objects.equals(row.getZipCode(), stored.getZipCode())
+                && row.getPropertyType() == stored.getPropertyType()
+                && row.getListingType() == stored.getListingType()
+                && Objects.equals(row.getBedrooms(), stored.getBedrooms())
+                && Objects.equals(row.getBathrooms(), stored.getBathrooms())
+                && sameNumber(row.getSquareFeet(), stored.getSquareFeet())
+                && Objects.equals(row.getYearBuilt(), stored.getYearBuilt())
+                && Objects.equals(row.getLatitude(), stored.getLatitude())
+                && Objects.equals(row.getLongitude(), stored.getLongitude())
+                && Objects.equals(row.getImageUrl(), stored.getImageUrl())
+                && Objects.equals(row.getAvailable(), stored.getAvailable());
+    }
+
+    // Columns are stored with scale 2, so 300000 in a feed matches a stored 300000.00
+    private static boolean sameNumber(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    // A record the CsvReader cannot split into fields; reported as a failed row
+    static class MalformedCsvException extends IOException {
+
+        MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * RFC 4180 records, the way the export writes them: fields separated by commas, quoted
+     * when they hold a separator, quote or line break, with inner quotes doubled.
+     */
+    static class CsvReader {
+
+        private final Reader reader;
+        private int lookahead = -2;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Line the last record returned by next() started on
+        long line() {
+            return recordLine;
+        }
+
+        // Fields of the next record, or null at the end of the input
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new MalformedCsvException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            lookahead = following;
+                        }
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (lookahead != -2) {
+                int c = lookahead;
+                lookahead = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
@@ -1,31 +1,78 @@
 package com.demo.real_estate_backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.demo.real_estate_backend.dto.BulkUpdateRequest;
+import com.demo.real_estate_backend.dto.BulkUpdateResult;
+import com.demo.real_estate_backend.dto.CountMode;
+import com.demo.real_estate_backend.dto.MarketStats;
 import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PricePercentiles;
 import com.demo.real_estate_backend.dto.PropertyResponse;
 import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.dto.SearchFacets;
+import com.demo.real_estate_backend.dto.Suggestion;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.exception.ResourceNotFoundException;
 import com.demo.real_estate_backend.model.ListingType;
 import com.demo.real_estate_backend.model.Property;
 import com.demo.real_estate_backend.model.PropertyType;
 import com.demo.real_estate_backend.model.User;
+import com.demo.real_estate_backend.repository.BuilderGroupRepository;
 import com.demo.real_estate_backend.repository.FavoriteRepository;
 import com.demo.real_estate_backend.repository.PropertyImageRepository;
 import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.demo.real_estate_backend.repository.PropertySpecifications;
+import com.demo.real_estate_backend.repository.UserRepository;
+import com.demo.real_estate_backend.search.GeoGridIndex;
+import com.demo.real_estate_backend.search.GeoPoint;
+import com.demo.real_estate_backend.search.HnswGraph;
+import com.demo.real_estate_backend.search.KeywordSearchIndex;
+import com.demo.real_estate_backend.search.ListingColumnStore;
+import com.demo.real_estate_backend.search.LocationDirectory;
+import com.demo.real_estate_backend.search.MarketStatsRegistry;
+import com.demo.real_estate_backend.search.PriceQuantileIndex;
+import com.demo.real_estate_backend.search.PropertyCursor;
+import com.demo.real_estate_backend.search.SearchFacetCollector;
+import com.demo.real_estate_backend.search.SearchResultCache;
+import com.demo.real_estate_backend.search.SimilarListingIndex;
+import com.demo.real_estate_backend.search.SuggestionIndex;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Reads run in read-only transactions: Hibernate keeps no dirty-checking snapshots and skips the flush
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class PropertyService {
 	
 	@Autowired
@@ -38,21 +85,94 @@ public class PropertyService {
     private PropertyImageRepository propertyImageRepository;
 
     @Autowired
-    private DotNetRecommendationClient dotNetRecommendationClient;
+    private UserRepository userRepository;
 
+    @Autowired
+    private BuilderGroupRepository builderGroupRepository;
+
+    @Autowired
+    private KeywordSearchIndex keywordSearchIndex;
+
+    @Autowired
+    private ListingColumnStore listingColumnStore;
+
+    @Autowired
+    private GeoGridIndex geoGridIndex;
+
+    @Autowired
+    private LocationDirectory locationDirectory;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private MarketStatsRegistry marketStatsRegistry;
+
+    @Autowired
+    private PriceQuantileIndex priceQuantileIndex;
+
+    @Autowired
+    private SimilarListingIndex similarListingIndex;
+
+    @Autowired
+    private ResultLimits resultLimits;
+
+    @Autowired
+    private ApproximateCountCache approximateCountCache;
+
+    @Value("${search.geo.default-radius-km:10}")
+    private double defaultRadiusKm;
+
+    @Value("${search.geo.max-radius-km:100}")
+    private double maxRadiusKm;
+
+    @Value("${search.similar.max-k:50}")
+    private int maxSimilar;
+
+    @Value("${search.similar.fallback-candidates:1000}")
+    private int similarFallbackCandidates;
+
+    @Value("${bulk-update.max-listings:5000}")
+    private int bulkUpdateMaxListings;
+
+    @Value("${bulk-update.chunk-size:500}")
+    private int bulkUpdateChunkSize;
+
+    @Value("${stats.percentiles.fetch-size:1000}")
+    private int percentileFetchSize;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Unpaged list endpoints return at most ResultLimits.maxResults rows in id order
     public List<Property> getAllProperties() {
-        return propertyRepository.findAll();
+        return limitedList("properties", PropertySpecifications.any());
     }
     
     public List<Property> getAvailableProperties() {
-        return propertyRepository.findByAvailableTrue();
+        return limitedList("properties.available", PropertySpecifications.isAvailable());
     }
     
     public PageResponse<PropertyResponse> getAvailablePropertiesPaged(int page, int size, String sortBy, String direction) {
-        Sort sort = direction.equalsIgnoreCase("ASC") 
-                ? Sort.by(sortBy).ascending() 
-                : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        return getAvailablePropertiesPaged(page, size, sortBy, direction, null);
+    }
+    
+    public PageResponse<PropertyResponse> getAvailablePropertiesPaged(int page, int size, String sortBy, String direction,
+                                                                      String cursor) {
+        size = resultLimits.pageSize("properties.available.paged", size);
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        if (listingColumnStore.isReady() && (hasCursor || listingColumnStore.supportsSort(sortBy))) {
+            return searchColumnStore(new PropertySearchRequest(), hasCursor ? PropertyCursor.decode(cursor) : null,
+                    sortBy, direction, page, size, null);
+        }
+        if (hasCursor) {
+            return buildSeekPageResponse(PropertySpecifications.isAvailable(), PropertyCursor.decode(cursor), size, null);
+        }
+        
+        Pageable pageable = PageRequest.of(page, size, pageSort(sortBy, direction));
         Page<Property> propertyPage = propertyRepository.findByAvailableTrue(pageable);
         
         return buildPageResponse(propertyPage, null);
@@ -68,13 +188,50 @@ public class PropertyService {
         return toPropertyResponse(property, userId);
     }
     
+    /**
+     * Version of a listing's responses, read from its timestamps without loading it. The ETag
+     * spells out every timestamp, so any change to the listing, its images, its favorites, its
+     * owner or its builder group yields a new one.
+     */
+    public Optional<ListingVersion> getListingVersion(Long id) {
+        List<Object[]> rows = propertyRepository.findVersionRow(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        StringBuilder etag = new StringBuilder().append(id);
+        LocalDateTime lastModified = null;
+        for (Object value : rows.get(0)) {
+            LocalDateTime timestamp = (LocalDateTime) value;
+            if (timestamp == null) {
+                etag.append("-0");
+                continue;
+            }
+            long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+            etag.append('-').append(Long.toString(micros, 36));
+            if (lastModified == null || timestamp.isAfter(lastModified)) {
+                lastModified = timestamp;
+            }
+        }
+        return Optional.of(new ListingVersion(etag.toString(),
+                lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+    
+    // Timestamps are stored in the server's zone, as LocalDateTime.now() writes them
+    public record ListingVersion(String etag, long lastModified) {
+    }
+    
+    @Transactional
     public Property createProperty(Property property) {
-        return propertyRepository.save(property);
+        Property savedProperty = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangeEvent.created(savedProperty));
+        return savedProperty;
     }
     
+    @Transactional
     public Property updateProperty(Long id, Property propertyDetails) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
+        Property previous = PropertyChangeEvent.snapshot(property);
         
         property.setTitle(propertyDetails.getTitle());
         property.setDescription(propertyDetails.getDescription());
@@ -89,80 +246,576 @@ public class PropertyService {
         property.setBathrooms(propertyDetails.getBathrooms());
         property.setSquareFeet(propertyDetails.getSquareFeet());
         property.setYearBuilt(propertyDetails.getYearBuilt());
+        property.setLatitude(propertyDetails.getLatitude());
+        property.setLongitude(propertyDetails.getLongitude());
         property.setImageUrl(propertyDetails.getImageUrl());
         property.setAvailable(propertyDetails.getAvailable());
         
-        return propertyRepository.save(property);
+        Property updatedProperty = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangeEvent.updated(updatedProperty, previous));
+        return updatedProperty;
     }
     
-    public void deleteProperty(Long id) {
+    /**
+     * Reprice or change the availability of many listings at once: set-based UPDATEs over
+     * chunk-size ids at a time, all in one transaction. Listings already as requested are
+     * not written. Change events are published for the rest, as for single updates.
+     */
+    @Transactional
+    public BulkUpdateResult bulkUpdate(BulkUpdateRequest request) {
+        BigDecimal factor = priceFactor(request.getPricePercent());
+        Boolean available = request.getAvailable();
+        if (factor == null && available == null) {
+            throw new IllegalArgumentException("Nothing to update: set pricePercent or available");
+        }
+        List<Long> ids = bulkUpdateTargets(request);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkUpdateResult.Outcome> outcomes = new ArrayList<>(ids.size());
+        int updated = 0;
+        int unchanged = 0;
+        for (int from = 0; from < ids.size(); from += bulkUpdateChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + bulkUpdateChunkSize));
+            Map<Long, Property> before = new HashMap<>();
+            Map<Long, BigDecimal> previousPrices = new HashMap<>();
+            for (Property property : propertyRepository.findAllById(chunk)) {
+                before.put(property.getId(), PropertyChangeEvent.snapshot(property));
+                previousPrices.put(property.getId(), property.getPrice());
+            }
+            List<Long> changing = chunk.stream()
+                    .filter(id -> before.containsKey(id)
+                            && (factor != null || !available.equals(before.get(id).getAvailable())))
+                    .toList();
+
+            Map<Long, Property> after = new HashMap<>();
+            if (!changing.isEmpty()) {
+                if (factor != null) {
+                    propertyRepository.scalePrices(changing, factor, now);
+                }
+                if (available != null) {
+                    propertyRepository.setAvailable(changing, available, now);
+                }
+                propertyRepository.findAllById(changing).forEach(property -> after.put(property.getId(), property));
+            }
+
+            for (Long id : chunk) {
+                BulkUpdateResult.Outcome.OutcomeBuilder outcome = BulkUpdateResult.Outcome.builder().id(id);
+                Property property = after.get(id);
+                if (!before.containsKey(id)) {
+                    outcomes.add(outcome.status(BulkUpdateResult.Status.NOT_FOUND).build());
+                    continue;
+                }
+                if (property == null) {
+                    unchanged++;
+                    outcomes.add(outcome.status(BulkUpdateResult.Status.UNCHANGED)
+                            .previousPrice(previousPrices.get(id))
+                            .price(previousPrices.get(id))
+                            .available(before.get(id).getAvailable())
+                            .build());
+                    continue;
+                }
+                updated++;
+                outcomes.add(outcome.status(BulkUpdateResult.Status.UPDATED)
+                        .previousPrice(previousPrices.get(id))
+                        .price(property.getPrice())
+                        .available(property.getAvailable())
+                        .build());
+                eventPublisher.publishEvent(PropertyChangeEvent.updated(property, before.get(id)));
+            }
+        }
+        return BulkUpdateResult.builder()
+                .requested(ids.size())
+                .updated(updated)
+                .unchanged(unchanged)
+                .notFound(ids.size() - updated - unchanged)
+                .outcomes(outcomes)
+                .build();
+    }
+
+    // Multiplier for a signed percentage, or null when prices stay as they are
+    private static BigDecimal priceFactor(BigDecimal pricePercent) {
+        if (pricePercent == null || pricePercent.signum() == 0) {
+            return null;
+        }
+        if (pricePercent.compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new IllegalArgumentException("pricePercent must be greater than -100");
+        }
+        return BigDecimal.ONE.add(pricePercent.movePointLeft(2));
+    }
+
+    // Distinct listing ids to update, ascending
+    private List<Long> bulkUpdateTargets(BulkUpdateRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getBuilderGroupId() != null)) {
+            throw new IllegalArgumentException("Give either ids or builderGroupId");
+        }
+        List<Long> ids;
+        if (byIds) {
+            ids = new ArrayList<>(request.getIds().stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        } else {
+            Long builderGroupId = request.getBuilderGroupId();
+            if (!builderGroupRepository.existsById(builderGroupId)) {
+                throw new ResourceNotFoundException("BuilderGroup", "id", builderGroupId);
+            }
+            ids = propertyRepository.findIdsByBuilderGroupId(builderGroupId, PageRequest.of(0, bulkUpdateMaxListings + 1));
+        }
+        if (ids.size() > bulkUpdateMaxListings) {
+            throw new IllegalArgumentException("A bulk update can change at most " + bulkUpdateMaxListings + " listings");
+        }
+        return ids;
+    }
+    
+    // False when there was no listing with the id
+    @Transactional
+    public boolean deleteProperty(Long id) {
+        Property previous = propertyRepository.findById(id).map(PropertyChangeEvent::snapshot).orElse(null);
+        if (previous == null) {
+            // Nothing was deleted: no tombstone for the change feed, no invalidation for the caches
+            return false;
+        }
         propertyRepository.deleteById(id);
+        eventPublisher.publishEvent(PropertyChangeEvent.deleted(id, previous));
+        return true;
+    }
+    
+    /**
+     * Deletes an owner's listings one by one, so that each publishes its tombstone before the
+     * owner's cascade could remove them unseen by the change feed and the indexes.
+     */
+    @Transactional
+    public void deletePropertiesOfOwner(Long ownerId) {
+        propertyRepository.findIdsByOwnerId(ownerId).forEach(this::deleteProperty);
+    }
+
+    // Same for the listings of a builder group that is being deleted
+    @Transactional
+    public void deletePropertiesOfBuilderGroup(Long builderGroupId) {
+        propertyRepository.findIdsByBuilderGroupId(builderGroupId, Pageable.unpaged()).forEach(this::deleteProperty);
     }
     
     public List<Property> getPropertiesByCity(String city) {
-        return propertyRepository.findByCity(city);
+        return limitedList("properties.city", PropertySpecifications.inCity(city));
     }
     
     public List<Property> getPropertiesByType(PropertyType propertyType) {
-        return propertyRepository.findByPropertyType(propertyType);
+        return limitedList("properties.type", PropertySpecifications.ofPropertyType(propertyType));
     }
     
     public List<Property> getPropertiesByListingType(ListingType listingType) {
-        return propertyRepository.findByListingType(listingType);
+        return limitedList("properties.listingType", PropertySpecifications.ofListingType(listingType));
     }
     
     public List<Property> getPropertiesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return propertyRepository.findByPriceBetween(minPrice, maxPrice);
+        return limitedList("properties.priceRange", PropertySpecifications.priceBetween(minPrice, maxPrice));
+    }
+    
+    // Paged variants of the list endpoints: keyset pages of summary rows
+    public PageResponse<PropertySummary> getPropertiesByCityPaged(String city, String sortBy, String direction,
+                                                                  String cursor, int size) {
+        return summaryPage("properties.city.paged", PropertySpecifications.inCity(city), sortBy, direction, cursor, size);
+    }
+    
+    public PageResponse<PropertySummary> getPropertiesByTypePaged(PropertyType propertyType, String sortBy,
+                                                                  String direction, String cursor, int size) {
+        return summaryPage("properties.type.paged", PropertySpecifications.ofPropertyType(propertyType),
+                sortBy, direction, cursor, size);
+    }
+    
+    public PageResponse<PropertySummary> getPropertiesByListingTypePaged(ListingType listingType, String sortBy,
+                                                                         String direction, String cursor, int size) {
+        return summaryPage("properties.listingType.paged", PropertySpecifications.ofListingType(listingType),
+                sortBy, direction, cursor, size);
+    }
+    
+    public PageResponse<PropertySummary> getPropertiesByPriceRangePaged(BigDecimal minPrice, BigDecimal maxPrice,
+                                                                        String sortBy, String direction,
+                                                                        String cursor, int size) {
+        return summaryPage("properties.priceRange.paged", PropertySpecifications.priceBetween(minPrice, maxPrice),
+                sortBy, direction, cursor, size);
+    }
+    
+    public Map<String, Object> getResultLimitStats() {
+        return resultLimits.stats();
     }
     
     // Advanced Search
     public PageResponse<PropertyResponse> searchProperties(PropertySearchRequest request, Long userId) {
+        // Radius results carry per-request distances and are not cached
+        if (!searchResultCache.isEnabled() || (request.getNear() != null && !request.getNear().isBlank())) {
+            return runSearch(request, userId);
+        }
+        
+        String key = SearchResultCache.key(request);
+        PageResponse<Long> cached = searchResultCache.get(key);
+        if (cached != null) {
+            return hydrateCachedPage(cached, userId);
+        }
+        
+        long generation = searchResultCache.generation();
+        PageResponse<PropertyResponse> response = runSearch(request, userId);
+        List<Long> ids = response.getContent().stream().map(PropertyResponse::getId).collect(Collectors.toList());
+        searchResultCache.put(key, request, SearchResultCache.idsOf(response, ids), generation);
+        return response;
+    }
+    
+    private PageResponse<PropertyResponse> hydrateCachedPage(PageResponse<Long> cached, Long userId) {
+        return PageResponse.<PropertyResponse>builder()
+                .content(toPropertyResponses(findAllInOrder(cached.getContent()), userId))
+                .pageNumber(cached.getPageNumber())
+                .pageSize(cached.getPageSize())
+                .totalElements(cached.getTotalElements())
+                .totalPages(cached.getTotalPages())
+                .first(cached.isFirst())
+                .last(cached.isLast())
+                .hasNext(cached.isHasNext())
+                .hasPrevious(cached.isHasPrevious())
+                .nextCursor(cached.getNextCursor())
+                .exactTotal(cached.isExactTotal())
+                .facets(cached.getFacets())
+                .build();
+    }
+    
+    private PageResponse<PropertyResponse> runSearch(PropertySearchRequest request, Long userId) {
         String sortBy = request.getSortBy() != null ? request.getSortBy() : "createdAt";
         String sortDirection = request.getSortDirection() != null ? request.getSortDirection() : "DESC";
         int page = request.getPage() != null ? request.getPage() : 0;
-        int size = request.getSize() != null ? request.getSize() : 10;
+        int size = resultLimits.pageSize("properties.search", request.getSize() != null ? request.getSize() : 10);
+        
+        boolean hasKeyword = request.getKeyword() != null && !request.getKeyword().isEmpty();
+        boolean hasCursor = request.getCursor() != null && !request.getCursor().isBlank();
+        
+        if (request.getNear() != null && !request.getNear().isBlank()) {
+            if (hasCursor) {
+                throw new IllegalArgumentException("Cursor pagination is not supported for radius search");
+            }
+            return searchNearby(request, page, size, userId);
+        }
+        
+        // Structured filters are answered from memory; only the page rows are read from the database
+        if (!hasKeyword && listingColumnStore.isReady() && (hasCursor || listingColumnStore.supportsSort(sortBy))) {
+            return searchColumnStore(request, hasCursor ? PropertyCursor.decode(request.getCursor()) : null,
+                    sortBy, sortDirection, page, size, userId);
+        }
         
-        Sort sort = sortDirection.equalsIgnoreCase("ASC") 
-                ? Sort.by(sortBy).ascending() 
-                : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // Cursor (keyset) mode: seek past the last row seen instead of OFFSET, and skip the COUNT
+        if (!hasKeyword && hasCursor) {
+            PageResponse<PropertyResponse> response = buildSeekPageResponse(searchSpecification(request),
+                    PropertyCursor.decode(request.getCursor()), size, userId);
+            if (Boolean.TRUE.equals(request.getIncludeFacets())) {
+                response.setFacets(computeFacets(request));
+            }
+            return response;
+        }
+        
+        Pageable pageable = PageRequest.of(page, size, pageSort(sortBy, sortDirection));
+        CountMode countMode = request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT;
         
-        Page<Property> propertyPage;
+        PageResponse<PropertyResponse> response;
         
         // If keyword is provided, use keyword search
+        if (hasKeyword && keywordSearchIndex.isReady() && keywordSearchIndex.supportsSort(sortBy)) {
+            List<Long> rankedIds = keywordSearchIndex.search(request.getKeyword(), sortBy,
+                    sortDirection.equalsIgnoreCase("ASC"));
+            response = buildPageResponse(loadPage(rankedIds, PageRequest.of(page, size)), userId);
+        } else {
+            Specification<Property> filter;
+            if (hasKeyword) {
+                // Relevance ranking needs the index; the SQL fallback orders by recency instead
+                filter = PropertySpecifications.isAvailable().and(PropertySpecifications.keywordMatches(request.getKeyword()));
+                if (KeywordSearchIndex.SORT_RELEVANCE.equals(sortBy)) {
+                    pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+                }
+            } else {
+                // Use advanced search with only the predicates that are actually set
+                filter = searchSpecification(request);
+            }
+            response = buildPageResponse(countMode, pageable,
+                    p -> propertyRepository.findAll(filter, p),
+                    p -> propertyRepository.findSlice(filter, p),
+                    "search:" + SearchResultCache.filterKey(request), () -> propertyRepository.count(filter), userId);
+        }
+        if (Boolean.TRUE.equals(request.getIncludeFacets())) {
+            response.setFacets(computeFacets(request));
+        }
+        return response;
+    }
+    
+    private PageResponse<PropertyResponse> searchColumnStore(PropertySearchRequest request, PropertyCursor cursor,
+                                                             String sortBy, String sortDirection, int page, int size,
+                                                             Long userId) {
+        SearchFacetCollector facets = Boolean.TRUE.equals(request.getIncludeFacets()) ? new SearchFacetCollector() : null;
+        PageResponse<PropertyResponse> response;
+        if (cursor != null) {
+            ListingColumnStore.Result result = listingColumnStore.search(request, cursor, size, facets);
+            response = buildSeekPageResponse(findAllInOrder(result.getIds()), result.isHasNext(), cursor, size, userId);
+        } else {
+            Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+            ListingColumnStore.Result result = listingColumnStore.search(request, sortBy, direction, page * size, size, facets);
+            Pageable pageable = PageRequest.of(page, size, pageSort(sortBy, sortDirection));
+            response = buildPageResponse(new PageImpl<>(findAllInOrder(result.getIds()), pageable, result.getTotal()), userId);
+        }
+        if (facets != null) {
+            response.setFacets(facets.toFacets());
+        }
+        return response;
+    }
+    
+    /**
+     * Same search as searchProperties, answered with listing cards. Page rows are read as card
+     * projections instead of entities, and no owner or favorite lookups are made.
+     */
+    public PageResponse<PropertySummary> searchPropertyCards(PropertySearchRequest request) {
+        String sortBy = request.getSortBy() != null ? request.getSortBy() : "createdAt";
+        String sortDirection = request.getSortDirection() != null ? request.getSortDirection() : "DESC";
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = resultLimits.pageSize("properties.search.cards", request.getSize() != null ? request.getSize() : 10);
+        
+        boolean hasKeyword = request.getKeyword() != null && !request.getKeyword().isEmpty();
+        boolean hasCursor = request.getCursor() != null && !request.getCursor().isBlank();
+        boolean includeFacets = Boolean.TRUE.equals(request.getIncludeFacets());
+        
+        if (request.getNear() != null && !request.getNear().isBlank()) {
+            if (hasCursor) {
+                throw new IllegalArgumentException("Cursor pagination is not supported for radius search");
+            }
+            List<GeoGridIndex.Hit> hits = nearbyHits(request);
+            List<Long> orderedIds = hits.stream().map(GeoGridIndex.Hit::getId).collect(Collectors.toList());
+            PageResponse<PropertySummary> response = buildCardPage(loadCardPage(orderedIds, PageRequest.of(page, size)),
+                    orderedIds.size(), true);
+            Map<Long, Double> distances = distancesOf(hits);
+            response.getContent().forEach(card -> card.setDistanceKm(distances.get(card.getId())));
+            if (includeFacets) {
+                response.setFacets(facetsOf(orderedIds));
+            }
+            return response;
+        }
+        
+        PageResponse<PropertySummary> response;
+        if (!hasKeyword && listingColumnStore.isReady() && (hasCursor || listingColumnStore.supportsSort(sortBy))) {
+            SearchFacetCollector facets = includeFacets ? new SearchFacetCollector() : null;
+            if (hasCursor) {
+                PropertyCursor cursor = PropertyCursor.decode(request.getCursor());
+                ListingColumnStore.Result result = listingColumnStore.search(request, cursor, size, facets);
+                response = buildCardSeekPage(findSummariesInOrder(result.getIds()), result.isHasNext(),
+                        cursor.getSortField(), cursor.getDirection(), size, false);
+            } else {
+                ListingColumnStore.Result result = listingColumnStore.search(request, sortBy, direction, page * size, size, facets);
+                Pageable pageable = PageRequest.of(page, size, pageSort(sortBy, sortDirection));
+                response = buildCardPage(new PageImpl<>(findSummariesInOrder(result.getIds()), pageable, result.getTotal()),
+                        result.getTotal(), true);
+            }
+            if (facets != null) {
+                response.setFacets(facets.toFacets());
+            }
+            return response;
+        }
+        
+        if (!hasKeyword && hasCursor) {
+            PropertyCursor cursor = PropertyCursor.decode(request.getCursor());
+            response = seekCards(searchSpecification(request), cursor, cursor.getSortField(), cursor.getDirection(), size);
+        } else if (hasKeyword && keywordSearchIndex.isReady() && keywordSearchIndex.supportsSort(sortBy)) {
+            List<Long> rankedIds = keywordSearchIndex.search(request.getKeyword(), sortBy, direction == Sort.Direction.ASC);
+            response = buildCardPage(loadCardPage(rankedIds, PageRequest.of(page, size)), rankedIds.size(), true);
+        } else {
+            Specification<Property> filter;
+            Pageable pageable = PageRequest.of(page, size, pageSort(sortBy, sortDirection));
+            if (hasKeyword) {
+                filter = PropertySpecifications.isAvailable().and(PropertySpecifications.keywordMatches(request.getKeyword()));
+                if (KeywordSearchIndex.SORT_RELEVANCE.equals(sortBy)) {
+                    pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+                }
+            } else {
+                filter = searchSpecification(request);
+            }
+            response = buildCardPage(request.getCountMode(), filter, pageable, "search:" + SearchResultCache.filterKey(request));
+        }
+        if (includeFacets) {
+            response.setFacets(computeFacets(request));
+        }
+        return response;
+    }
+    
+    /**
+     * Radius search ordered by distance. The geo grid prunes the candidates; the structured
+     * filters and the keyword (if any) then narrow them down. Until the grid has loaded, a
+     * bounding-box query on the latitude/longitude index stands in for it.
+     */
+    private PageResponse<PropertyResponse> searchNearby(PropertySearchRequest request, int page, int size, Long userId) {
+        List<GeoGridIndex.Hit> hits = nearbyHits(request);
+        List<Long> orderedIds = hits.stream().map(GeoGridIndex.Hit::getId).collect(Collectors.toList());
+        PageResponse<PropertyResponse> response = buildPageResponse(loadPage(orderedIds, PageRequest.of(page, size)), userId);
+        
+        Map<Long, Double> distances = distancesOf(hits);
+        response.getContent().forEach(r -> r.setDistanceKm(distances.get(r.getId())));
+        
+        if (Boolean.TRUE.equals(request.getIncludeFacets())) {
+            response.setFacets(facetsOf(orderedIds));
+        }
+        return response;
+    }
+    
+    // Listings within the radius that pass the filters and the keyword, nearest first
+    private List<GeoGridIndex.Hit> nearbyHits(PropertySearchRequest request) {
+        GeoPoint center = GeoPoint.parse(request.getNear());
+        double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : defaultRadiusKm;
+        if (!(radiusKm > 0 && radiusKm <= maxRadiusKm)) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + maxRadiusKm);
+        }
+        
+        List<GeoGridIndex.Hit> hits;
+        if (geoGridIndex.isReady()) {
+            hits = geoGridIndex.within(center, radiusKm);
+            List<Long> candidateIds = hits.stream().map(GeoGridIndex.Hit::getId).collect(Collectors.toList());
+            Set<Long> matching = new HashSet<>(listingColumnStore.isReady()
+                    ? listingColumnStore.retainMatching(request, candidateIds)
+                    : propertyRepository.findIds(searchSpecification(request).and(PropertySpecifications.idIn(candidateIds))));
+            hits.removeIf(hit -> !matching.contains(hit.getId()));
+        } else {
+            hits = nearbyFromDatabase(center, radiusKm, searchSpecification(request));
+        }
+        
+        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
+            List<Long> candidateIds = hits.stream().map(GeoGridIndex.Hit::getId).collect(Collectors.toList());
+            Set<Long> keywordIds = new HashSet<>(keywordSearchIndex.isReady()
+                    ? keywordSearchIndex.search(request.getKeyword())
+                    : propertyRepository.findIds(PropertySpecifications.keywordMatches(request.getKeyword())
+                            .and(PropertySpecifications.idIn(candidateIds))));
+            hits.removeIf(hit -> !keywordIds.contains(hit.getId()));
+        }
+        return hits;
+    }
+    
+    // Distances rounded to meters, by listing id
+    private static Map<Long, Double> distancesOf(List<GeoGridIndex.Hit> hits) {
+        Map<Long, Double> distances = new HashMap<>();
+        hits.forEach(hit -> distances.put(hit.getId(), Math.round(hit.getDistanceKm() * 1000) / 1000.0));
+        return distances;
+    }
+    
+    private SearchFacets facetsOf(List<Long> ids) {
+        SearchFacetCollector collector = new SearchFacetCollector();
+        if (!ids.isEmpty()) {
+            for (Object[] row : propertyRepository.searchFacets(PropertySpecifications.idIn(ids))) {
+                collector.add((PropertyType) row[0], (ListingType) row[1], (Integer) row[2], (Integer) row[3],
+                        ((Number) row[4]).intValue(), (Long) row[5]);
+            }
+        }
+        return collector.toFacets();
+    }
+    
+    private List<GeoGridIndex.Hit> nearbyFromDatabase(GeoPoint center, double radiusKm, Specification<Property> filter) {
+        double latSpan = GeoPoint.latitudeDegrees(radiusKm);
+        double minLat = Math.max(-90, center.getLatitude() - latSpan);
+        double maxLat = Math.min(90, center.getLatitude() + latSpan);
+        double lngSpan = GeoPoint.longitudeDegrees(radiusKm, Math.max(Math.abs(minLat), Math.abs(maxLat)));
+        
+        Specification<Property> box;
+        if (lngSpan >= 180) {
+            box = PropertySpecifications.withinBox(minLat, maxLat, -180, 180);
+        } else {
+            double minLng = center.getLongitude() - lngSpan;
+            double maxLng = center.getLongitude() + lngSpan;
+            box = PropertySpecifications.withinBox(minLat, maxLat,
+                    minLng < -180 ? minLng + 360 : minLng, maxLng > 180 ? maxLng - 360 : maxLng);
+        }
+        
+        List<GeoGridIndex.Hit> hits = new ArrayList<>();
+        for (Object[] row : propertyRepository.findCoordinates(filter.and(box))) {
+            double distance = center.distanceKm((Double) row[1], (Double) row[2]);
+            if (distance <= radiusKm) {
+                hits.add(new GeoGridIndex.Hit((Long) row[0], distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(GeoGridIndex.Hit::getDistanceKm).thenComparing(GeoGridIndex.Hit::getId));
+        return hits;
+    }
+    
+    // Facet counts come from one grouped query over the same filters instead of one query per facet
+    public SearchFacets computeFacets(PropertySearchRequest request) {
+        SearchFacetCollector collector = new SearchFacetCollector();
+        Specification<Property> filter;
         if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
-            propertyPage = propertyRepository.searchByKeyword(request.getKeyword(), pageable);
+            // Keyword matches ignore the structured filters; facet them straight from the index
+            if (keywordSearchIndex.isReady()) {
+                keywordSearchIndex.collectFacets(request.getKeyword(), collector);
+                return collector.toFacets();
+            }
+            // Until it is built, facet the same SQL match the results fall back to
+            filter = PropertySpecifications.isAvailable().and(PropertySpecifications.keywordMatches(request.getKeyword()));
         } else {
-            // Use advanced search
-            propertyPage = propertyRepository.searchProperties(
-                    request.getCity(),
-                    request.getState(),
-                    request.getPropertyType(),
-                    request.getListingType(),
-                    request.getMinPrice(),
-                    request.getMaxPrice(),
-                    request.getMinBedrooms(),
-                    request.getMaxBedrooms(),
-                    request.getMinBathrooms(),
-                    request.getMaxBathrooms(),
-                    request.getMinSquareFeet(),
-                    request.getMaxSquareFeet(),
-                    pageable
-            );
-        }
-        
-        return buildPageResponse(propertyPage, userId);
+            filter = searchSpecification(request);
+        }
+        
+        List<Object[]> rows = propertyRepository.searchFacets(filter);
+        for (Object[] row : rows) {
+            collector.add((PropertyType) row[0], (ListingType) row[1], (Integer) row[2], (Integer) row[3],
+                    ((Number) row[4]).intValue(), (Long) row[5]);
+        }
+        return collector.toFacets();
+    }
+    
+    // Structured search filter, with city and state matched exactly when they name a known location
+    private Specification<Property> searchSpecification(PropertySearchRequest request) {
+        return PropertySpecifications.matches(request,
+                locationDirectory.exactCity(request.getCity()).orElse(null),
+                locationDirectory.exactState(request.getState()).orElse(null));
+    }
+    
+    // Load one page of an id list that is already in display order
+    private Page<Property> loadPage(List<Long> orderedIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), orderedIds.size());
+        return new PageImpl<>(findAllInOrder(orderedIds.subList(from, to)), pageable, orderedIds.size());
+    }
+    
+    // Ids removed since they were looked up are skipped
+    private List<Property> findAllInOrder(List<Long> ids) {
+        Map<Long, Property> byId = propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, p -> p));
+        return ids.stream()
+                .map(byId::get)
+                .filter(p -> p != null)
+                .collect(Collectors.toList());
     }
     
     // Get properties by owner
     public List<Property> getPropertiesByOwner(Long ownerId) {
-        return propertyRepository.findByOwnerId(ownerId);
+        return limitedList("properties.owner", PropertySpecifications.ownedBy(ownerId));
     }
     
     public PageResponse<PropertyResponse> getPropertiesByOwnerPaged(Long ownerId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Property> propertyPage = propertyRepository.findByOwnerId(ownerId, pageable);
-        return buildPageResponse(propertyPage, null);
+        return getPropertiesByOwnerPaged(ownerId, page, size, CountMode.EXACT);
+    }
+    
+    public PageResponse<PropertyResponse> getPropertiesByOwnerPaged(Long ownerId, int page, int size, CountMode countMode) {
+        Pageable pageable = PageRequest.of(page, resultLimits.pageSize("properties.owner.paged", size),
+                Sort.by("createdAt").descending());
+        return buildPageResponse(countMode, pageable,
+                p -> propertyRepository.findByOwnerId(ownerId, p),
+                p -> propertyRepository.findSliceByOwnerId(ownerId, p),
+                "owner:" + ownerId, () -> propertyRepository.countByOwnerId(ownerId), null);
+    }
+    
+    // Get properties by builder group
+    public PageResponse<PropertyResponse> getPropertiesByBuilderGroupPaged(Long builderGroupId, boolean availableOnly,
+                                                                           int page, int size, CountMode countMode) {
+        Pageable pageable = PageRequest.of(page, resultLimits.pageSize("properties.builderGroup.paged", size),
+                Sort.by("createdAt").descending());
+        if (availableOnly) {
+            return buildPageResponse(countMode, pageable,
+                    p -> propertyRepository.findByBuilderGroupIdAndAvailableTrue(builderGroupId, p),
+                    p -> propertyRepository.findSliceByBuilderGroupIdAndAvailableTrue(builderGroupId, p),
+                    "builderGroup:" + builderGroupId + ":available",
+                    () -> propertyRepository.countByBuilderGroupIdAndAvailableTrue(builderGroupId), null);
+        }
+        return buildPageResponse(countMode, pageable,
+                p -> propertyRepository.findByBuilderGroupId(builderGroupId, p),
+                p -> propertyRepository.findSliceByBuilderGroupId(builderGroupId, p),
+                "builderGroup:" + builderGroupId + ":all",
+                () -> propertyRepository.countByBuilderGroupId(builderGroupId), null);
     }
     
     // Get recent listings
@@ -172,36 +825,124 @@ public class PropertyService {
     
     // Get all cities
     public List<String> getAllCities() {
-        return propertyRepository.findAllCities();
+        return suggestionIndex.isReady() ? suggestionIndex.values(SuggestionIndex.Field.CITY) : propertyRepository.findAllCities();
     }
     
     // Get all states
     public List<String> getAllStates() {
-        return propertyRepository.findAllStates();
+        return suggestionIndex.isReady() ? suggestionIndex.values(SuggestionIndex.Field.STATE) : propertyRepository.findAllStates();
+    }
+    
+    // Typeahead over city, state, zip and builder group names of available listings
+    public List<Suggestion> suggest(String prefix, String type, int limit) {
+        SuggestionIndex.Field field = type != null && !type.isBlank() ? SuggestionIndex.Field.fromLabel(type) : null;
+        return suggestionIndex.suggest(prefix, field, limit);
     }
     
-    // Statistics
+    /**
+     * Available listings of the same listing type most like the given one, most similar first.
+     * Until the similar listings index is built, the listings in the same city are ranked
+     * exactly on the same feature vectors instead.
+     */
+    public List<PropertySummary> getSimilarProperties(Long id, int k) {
+        if (k < 1 || k > maxSimilar) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxSimilar);
+        }
+        Property property = propertyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Property", "id", id));
+        List<Long> orderedIds;
+        if (similarListingIndex.isReady()) {
+            orderedIds = similarListingIndex.similar(property, k).stream()
+                    .map(SimilarListingIndex.Match::id)
+                    .collect(Collectors.toList());
+        } else {
+            orderedIds = similarFromDatabase(property, k);
+        }
+        return withCardImages(findSummariesInOrder(orderedIds));
+    }
+    
+    private List<Long> similarFromDatabase(Property property, int k) {
+        if (property.getListingType() == null) {
+            return new ArrayList<>();
+        }
+        PropertySearchRequest filters = PropertySearchRequest.builder().listingType(property.getListingType()).build();
+        List<Property> candidates = propertyRepository.findBy(
+                PropertySpecifications.matches(filters, property.getCity(), property.getState()),
+                query -> query.sortBy(Sort.by("id")).limit(similarFallbackCandidates).all());
+        float[] target = SimilarListingIndex.features(property);
+        return candidates.stream()
+                .filter(candidate -> !candidate.getId().equals(property.getId()))
+                .sorted(Comparator.comparingDouble((Property candidate) ->
+                        HnswGraph.squaredDistance(target, SimilarListingIndex.features(candidate)))
+                        .thenComparing(Property::getId))
+                .limit(k)
+                .map(Property::getId)
+                .collect(Collectors.toList());
+    }
+    
+    public Map<String, Object> getSimilarIndexStats() {
+        return similarListingIndex.stats();
+    }
+    
+    // Statistics, served from the market stats registry once it is built
     public Long getAvailableCount() {
-        return propertyRepository.countAvailable();
+        return marketStatsRegistry.isReady() ? marketStatsRegistry.count() : propertyRepository.countAvailable();
     }
     
     public BigDecimal getAveragePriceByCity(String city) {
+        if (marketStatsRegistry.isReady()) {
+            return marketStatsRegistry.stats(city, null, null).getAveragePrice();
+        }
         return propertyRepository.getAveragePriceByCity(city);
     }
+
+    public MarketStats getMarketStats(String city, PropertyType propertyType, ListingType listingType) {
+        if (marketStatsRegistry.isReady()) {
+            return marketStatsRegistry.stats(city, propertyType, listingType);
+        }
+        return MarketStatsRegistry.stats(propertyRepository.getMarketStatsRows(), city, propertyType, listingType);
+    }
+
+    public List<MarketStats> getGroupedMarketStats(List<String> groupBy, String city, PropertyType propertyType,
+                                                   ListingType listingType) {
+        Set<MarketStatsRegistry.Dimension> dimensions = groupBy.stream()
+                .map(MarketStatsRegistry.Dimension::fromLabel)
+                .collect(Collectors.toSet());
+        if (dimensions.isEmpty()) {
+            throw new IllegalArgumentException("groupBy must name at least one of city, propertyType, listingType");
+        }
+        if (marketStatsRegistry.isReady()) {
+            return marketStatsRegistry.grouped(dimensions, city, propertyType, listingType);
+        }
+        return MarketStatsRegistry.grouped(propertyRepository.getMarketStatsRows(), dimensions, city, propertyType, listingType);
+    }
+    
+    public PricePercentiles getPricePercentiles(String state, String city, PropertyType propertyType,
+                                                ListingType listingType, List<Double> percentiles) {
+        if (priceQuantileIndex.isReady()) {
+            return priceQuantileIndex.percentiles(state, city, propertyType, listingType, percentiles);
+        }
+        PropertySearchRequest filters = PropertySearchRequest.builder()
+                .propertyType(propertyType)
+                .listingType(listingType)
+                .build();
+        String exactCity = city == null || city.isBlank() ? null : locationDirectory.exactCity(city).orElse(city.trim());
+        String exactState = state == null || state.isBlank() ? null : locationDirectory.exactState(state).orElse(state.trim());
+        try (Stream<Object[]> rows = propertyRepository.streamPrices(
+                PropertySpecifications.matches(filters, exactCity, exactState), percentileFetchSize)) {
+            return PriceQuantileIndex.percentiles(rows, state, city, propertyType, listingType, percentiles);
+        }
+    }
+
+    public Map<String, Object> getSearchCacheStats() {
+        return searchResultCache.stats();
+    }
     
     // Convert to DTO
     public PropertyResponse toPropertyResponse(Property property, Long userId) {
         PropertyResponse.OwnerSummary ownerSummary = null;
         if (property.getOwner() != null) {
-            User owner = property.getOwner();
-            ownerSummary = PropertyResponse.OwnerSummary.builder()
-                    .id(owner.getId())
-                    .fullName(owner.getFullName())
-                    .email(owner.getEmail())
-                    .phone(owner.getPhone())
-                    .company(owner.getCompany())
-                    .profileImageUrl(owner.getProfileImageUrl())
-                    .build();
+            ownerSummary = toOwnerSummary(property.getOwner());
         }
         
         // Explicitly fetch images from database instead of relying on lazy loading
@@ -218,6 +959,79 @@ public class PropertyService {
         Long favoriteCount = favoriteRepository.countByPropertyId(property.getId());
         Boolean isFavorited = userId != null && favoriteRepository.existsByUserIdAndPropertyId(userId, property.getId());
         
+        return buildPropertyResponse(property, ownerSummary, imageUrls, favoriteCount, isFavorited);
+    }
+    
+    /**
+     * Convert a whole page of properties to DTOs with a fixed number of grouped queries
+     * (images, favorite counts, the caller's favorites and owners) instead of one round
+     * of lookups per row.
+     */
+    public List<PropertyResponse> toPropertyResponses(List<Property> properties, Long userId) {
+        if (properties.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Long> propertyIds = properties.stream()
+                .map(Property::getId)
+                .collect(Collectors.toList());
+        
+        Map<Long, List<String>> imageUrlsByProperty = new HashMap<>();
+        for (Object[] row : propertyImageRepository.findImageUrlsByPropertyIds(propertyIds)) {
+            imageUrlsByProperty.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        
+        Map<Long, Long> favoriteCounts = new HashMap<>();
+        for (Object[] row : favoriteRepository.countByPropertyIds(propertyIds)) {
+            favoriteCounts.put((Long) row[0], (Long) row[1]);
+        }
+        
+        Set<Long> favoritedIds = userId != null
+                ? new HashSet<>(favoriteRepository.findFavoritedPropertyIds(userId, propertyIds))
+                : Set.of();
+        
+        // Reading the id of a lazy owner proxy does not initialize it
+        Set<Long> ownerIds = properties.stream()
+                .filter(p -> p.getOwner() != null)
+                .map(p -> p.getOwner().getId())
+                .collect(Collectors.toSet());
+        Map<Long, PropertyResponse.OwnerSummary> owners = new HashMap<>();
+        if (!ownerIds.isEmpty()) {
+            for (Object[] row : userRepository.findOwnerSummariesByIds(ownerIds)) {
+                owners.put((Long) row[0], PropertyResponse.OwnerSummary.builder()
+                        .id((Long) row[0])
+                        .fullName(row[1] + " " + row[2])
+                        .email((String) row[3])
+                        .phone((String) row[4])
+                        .company((String) row[5])
+                        .profileImageUrl((String) row[6])
+                        .build());
+            }
+        }
+        
+        return properties.stream()
+                .map(p -> buildPropertyResponse(
+                        p,
+                        p.getOwner() != null ? owners.get(p.getOwner().getId()) : null,
+                        imageUrlsByProperty.getOrDefault(p.getId(), new ArrayList<>()),
+                        favoriteCounts.getOrDefault(p.getId(), 0L),
+                        favoritedIds.contains(p.getId())))
+                .collect(Collectors.toList());
+    }
+    
+    private PropertyResponse.OwnerSummary toOwnerSummary(User owner) {
+        return PropertyResponse.OwnerSummary.builder()
+                .id(owner.getId())
+                .fullName(owner.getFullName())
+                .email(owner.getEmail())
+                .phone(owner.getPhone())
+                .company(owner.getCompany())
+                .profileImageUrl(owner.getProfileImageUrl())
+                .build();
+    }
+    
+    private PropertyResponse buildPropertyResponse(Property property, PropertyResponse.OwnerSummary ownerSummary,
+                                                   List<String> imageUrls, Long favoriteCount, Boolean isFavorited) {
         return PropertyResponse.builder()
                 .id(property.getId())
                 .title(property.getTitle())
@@ -233,6 +1047,8 @@ public class PropertyService {
                 .bathrooms(property.getBathrooms())
                 .squareFeet(property.getSquareFeet())
                 .yearBuilt(property.getYearBuilt())
+                .latitude(property.getLatitude())
+                .longitude(property.getLongitude())
                 .available(property.getAvailable())
                 .createdAt(property.getCreatedAt())
                 .updatedAt(property.getUpdatedAt())
@@ -243,21 +1059,230 @@ public class PropertyService {
                 .build();
     }
     
-    private PageResponse<PropertyResponse> buildPageResponse(Page<Property> page, Long userId) {
-        List<PropertyResponse> content = page.getContent().stream()
-                .map(p -> toPropertyResponse(p, userId))
+    // Cursor-capable sorts get an id tie-breaker so offset pages and keyset pages agree on order
+    private Sort pageSort(String sortBy, String direction) {
+        Sort.Direction dir = direction.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(dir, sortBy);
+        return PropertyCursor.supports(sortBy) ? sort.and(Sort.by(dir, "id")) : sort;
+    }
+    
+    private List<Property> limitedList(String endpoint, Specification<Property> filter) {
+        return resultLimits.limit(endpoint, propertyRepository.findSlice(filter, resultLimits.firstResults(Sort.by("id"))));
+    }
+    
+    /**
+     * Keyset page of listing cards sorted on a cursor-capable field with an id tie-breaker;
+     * a cursor carries its own sort, so sortBy and direction only apply to the first page.
+     */
+    private PageResponse<PropertySummary> summaryPage(String endpoint, Specification<Property> filter, String sortBy,
+                                                      String direction, String cursor, int size) {
+        int pageSize = resultLimits.pageSize(endpoint, size);
+        PropertyCursor position = cursor != null && !cursor.isBlank() ? PropertyCursor.decode(cursor) : null;
+        String sortField = position != null ? position.getSortField() : sortBy;
+        if (!PropertyCursor.supports(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field for paged listings: " + sortField);
+        }
+        Sort.Direction dir = position != null ? position.getDirection()
+                : direction.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return seekCards(filter, position, sortField, dir, pageSize);
+    }
+    
+    // Cards after the position (or from the start), fetching one extra row to learn whether another page exists
+    private PageResponse<PropertySummary> seekCards(Specification<Property> filter, PropertyCursor position,
+                                                    String sortField, Sort.Direction dir, int size) {
+        Specification<Property> query = position != null ? filter.and(PropertySpecifications.after(position)) : filter;
+        List<PropertySummary> rows = propertyRepository.findSummaries(query,
+                Sort.by(dir, sortField).and(Sort.by(dir, "id")), 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        return buildCardSeekPage(hasNext ? rows.subList(0, size) : rows, hasNext, sortField, dir, size, position == null);
+    }
+    
+    private PageResponse<PropertySummary> buildCardSeekPage(List<PropertySummary> pageRows, boolean hasNext,
+                                                            String sortField, Sort.Direction dir, int size,
+                                                            boolean first) {
+        String nextCursor = hasNext && !pageRows.isEmpty()
+                ? PropertyCursor.after(pageRows.get(pageRows.size() - 1), sortField, dir).encode()
+                : null;
+        
+        return PageResponse.<PropertySummary>builder()
+                .content(withCardImages(pageRows))
+                .pageNumber(-1)
+                .pageSize(size)
+                .totalElements(-1)
+                .totalPages(-1)
+                .first(first)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(!first)
+                .nextCursor(nextCursor)
+                .exactTotal(false)
+                .build();
+    }
+    
+    // Offset page of cards counted as the count mode asks, like the entity variant below
+    private PageResponse<PropertySummary> buildCardPage(CountMode countMode, Specification<Property> filter,
+                                                        Pageable pageable, String countKey) {
+        List<PropertySummary> rows = propertyRepository.findSummaries(filter, pageable.getSort(),
+                (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        Slice<PropertySummary> slice = new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows,
+                pageable, hasNext);
+        
+        if (countMode == null || countMode == CountMode.EXACT) {
+            return buildCardPage(slice, propertyRepository.count(filter), true);
+        }
+        if (countMode == CountMode.NONE) {
+            return buildCardPage(slice, -1, false);
+        }
+        long seen = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return buildCardPage(slice, Math.max(approximateCountCache.get(countKey, () -> propertyRepository.count(filter)), seen),
+                false);
+    }
+    
+    private PageResponse<PropertySummary> buildCardPage(Slice<PropertySummary> page, long totalElements,
+                                                        boolean exactTotal) {
+        int totalPages = totalElements < 0 ? -1
+                : page.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / page.getSize());
+        
+        String nextCursor = null;
+        Sort.Order order = page.getPageable().isPaged() ? page.getPageable().getSort().stream().findFirst().orElse(null) : null;
+        if (page.hasNext() && !page.getContent().isEmpty() && order != null && PropertyCursor.supports(order.getProperty())) {
+            nextCursor = PropertyCursor.after(page.getContent().get(page.getContent().size() - 1),
+                    order.getProperty(), order.getDirection()).encode();
+        }
+        
+        return PageResponse.<PropertySummary>builder()
+                .content(withCardImages(page.getContent()))
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first(page.isFirst())
+                .last(page.isLast())
+                .hasNext(page.hasNext())
+                .hasPrevious(page.hasPrevious())
+                .nextCursor(nextCursor)
+                .exactTotal(exactTotal)
+                .build();
+    }
+    
+    // One page of cards from an id list that is already in display order
+    private Slice<PropertySummary> loadCardPage(List<Long> orderedIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), orderedIds.size());
+        return new SliceImpl<>(findSummariesInOrder(orderedIds.subList(from, to)), pageable, to < orderedIds.size());
+    }
+    
+    // Ids removed since they were looked up are skipped
+    private List<PropertySummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PropertySummary> byId = propertyRepository.findSummaries(PropertySpecifications.idIn(ids),
+                        Sort.unsorted(), 0, ids.size()).stream()
+                .collect(Collectors.toMap(PropertySummary::getId, card -> card));
+        return ids.stream()
+                .map(byId::get)
+                .filter(card -> card != null)
                 .collect(Collectors.toList());
+    }
+    
+    // Swap in each card's primary image (else its first) with one query for the page
+    private List<PropertySummary> withCardImages(List<PropertySummary> cards) {
+        if (cards.isEmpty()) {
+            return cards;
+        }
+        Map<Long, String> imageUrls = new HashMap<>();
+        for (Object[] row : propertyImageRepository.findCardImageUrlsByPropertyIds(
+                cards.stream().map(PropertySummary::getId).collect(Collectors.toList()))) {
+            imageUrls.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+        cards.forEach(card -> card.setImageUrl(imageUrls.getOrDefault(card.getId(), card.getImageUrl())));
+        return cards;
+    }
+    
+    private PageResponse<PropertyResponse> buildSeekPageResponse(Specification<Property> filter, PropertyCursor cursor,
+                                                                 int size, Long userId) {
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Property> rows = propertyRepository.findBy(filter.and(PropertySpecifications.after(cursor)),
+                query -> query.sortBy(cursor.sort()).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        return buildSeekPageResponse(hasNext ? rows.subList(0, size) : rows, hasNext, cursor, size, userId);
+    }
+    
+    private PageResponse<PropertyResponse> buildSeekPageResponse(List<Property> pageRows, boolean hasNext,
+                                                                 PropertyCursor cursor, int size, Long userId) {
+        String nextCursor = hasNext && !pageRows.isEmpty()
+                ? PropertyCursor.after(pageRows.get(pageRows.size() - 1), cursor.getSortField(), cursor.getDirection()).encode()
+                : null;
+        
+        return PageResponse.<PropertyResponse>builder()
+                .content(toPropertyResponses(pageRows, userId))
+                .pageNumber(-1)
+                .pageSize(size)
+                .totalElements(-1)
+                .totalPages(-1)
+                .first(false)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(true)
+                .nextCursor(nextCursor)
+                .exactTotal(false)
+                .build();
+    }
+    
+    /**
+     * Page response in the requested count mode: EXACT runs the page query with its COUNT,
+     * the other modes run the slice query and report either no total or the cached one.
+     */
+    private PageResponse<PropertyResponse> buildPageResponse(CountMode countMode, Pageable pageable,
+                                                             Function<Pageable, Page<Property>> pageQuery,
+                                                             Function<Pageable, Slice<Property>> sliceQuery,
+                                                             String countKey, Supplier<Long> counter, Long userId) {
+        if (countMode == null || countMode == CountMode.EXACT) {
+            return buildPageResponse(pageQuery.apply(pageable), userId);
+        }
+        
+        Slice<Property> slice = sliceQuery.apply(pageable);
+        if (countMode == CountMode.NONE) {
+            return buildPageResponse(slice, -1, false, userId);
+        }
+        // A stale count must still cover the rows this slice has proven to exist
+        long seen = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return buildPageResponse(slice, Math.max(approximateCountCache.get(countKey, counter), seen), false, userId);
+    }
+    
+    private PageResponse<PropertyResponse> buildPageResponse(Page<Property> page, Long userId) {
+        return buildPageResponse(page, page.getTotalElements(), true, userId);
+    }
+    
+    // A totalElements of -1 means the total was not counted
+    private PageResponse<PropertyResponse> buildPageResponse(Slice<Property> page, long totalElements, boolean exactTotal,
+                                                             Long userId) {
+        List<PropertyResponse> content = toPropertyResponses(page.getContent(), userId);
+        int totalPages = totalElements < 0 ? -1
+                : page.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / page.getSize());
+        
+        // Let offset clients switch to cursor mode from any page sorted on a cursor-capable field
+        String nextCursor = null;
+        Sort.Order order = page.getPageable().isPaged() ? page.getPageable().getSort().stream().findFirst().orElse(null) : null;
+        if (page.hasNext() && !page.getContent().isEmpty() && order != null && PropertyCursor.supports(order.getProperty())) {
+            nextCursor = PropertyCursor.after(page.getContent().get(page.getContent().size() - 1),
+                    order.getProperty(), order.getDirection()).encode();
+        }
         
         return PageResponse.<PropertyResponse>builder()
                 .content(content)
                 .pageNumber(page.getNumber())
                 .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
                 .first(page.isFirst())
                 .last(page.isLast())
                 .hasNext(page.hasNext())
                 .hasPrevious(page.hasPrevious())
+                .nextCursor(nextCursor)
+                .exactTotal(exactTotal)
                 .build();
     }
 
@@ -0,0 +1,204 @@
+package com.demo.real_estate_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.demo.real_estate_backend.repository.PropertySpecifications;
+import com.demo.real_estate_backend.search.LocationDirectory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Listings recommended for a location and budget. Candidates are the available listings in
+ * the city (else the state) priced closest to the budget, read with two bounded seeks on the
+ * price index either side of it, so the work per call does not grow with the catalog. They
+ * are ranked by a weighted score of budget fit, price per square foot against the other
+ * candidates, and freshness.
+ *
+ * When the .NET recommendation service is enabled it ranks the same candidates instead, its
+ * rankings are reused per location and budget bucket, and the native ranking is used
+ * whenever it cannot answer.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RecommendationService {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private LocationDirectory locationDirectory;
+
+    @Autowired(required = false)
+    private DotNetRecommendationClient dotNetRecommendationClient;
+
+    @Value("${recommendation.max-results:50}")
+    private int maxResults;
+
+    // Listings read on each side of the budget
+    @Value("${recommendation.candidates-per-side:100}")
+    private int candidatesPerSide;
+
+    // Candidates are priced within this fraction of the budget
+    @Value("${recommendation.max-budget-deviation:0.5}")
+    private double maxBudgetDeviation;
+
+    @Value("${recommendation.weight.budget-fit:0.6}")
+    private double budgetFitWeight;
+
+    @Value("${recommendation.weight.value:0.25}")
+    private double valueWeight;
+
+    @Value("${recommendation.weight.freshness:0.15}")
+    private double freshnessWeight;
+
+    // Going over budget costs this many times more than coming in under it
+    @Value("${recommendation.over-budget-penalty:2}")
+    private double overBudgetPenalty;
+
+    @Value("${recommendation.freshness-half-life-days:30}")
+    private double freshnessHalfLifeDays;
+
+    public List<Property> recommend(String location, double budget, int limit) {
+        if (location == null || location.isBlank()) {
+            throw new IllegalArgumentException("location is required");
+        }
+        if (!(budget > 0)) {
+            throw new IllegalArgumentException("budget must be greater than 0");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+
+        if (dotNetRecommendationClient != null) {
+            List<Long> cached = dotNetRecommendationClient.cached(location, budget);
+            if (cached != null) {
+                return availableInOrder(cached, limit);
+            }
+        }
+        List<Property> candidates = candidates(location, budget);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        if (dotNetRecommendationClient != null) {
+            List<Long> ranked = dotNetRecommendationClient.rank(candidates, location, budget);
+            if (!ranked.isEmpty()) {
+                // Only candidates count, whatever else the service returns
+                Map<Long, Property> byId = candidates.stream().collect(Collectors.toMap(Property::getId, property -> property));
+                return ranked.stream().map(byId::get).filter(property -> property != null).limit(limit)
+                        .collect(Collectors.toList());
+            }
+        }
+        return rank(candidates, budget, LocalDateTime.now()).stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dotNetEnabled", dotNetRecommendationClient != null);
+        if (dotNetRecommendationClient != null) {
+            stats.put("dotNet", dotNetRecommendationClient.stats());
+        }
+        return stats;
+    }
+
+    // A cached ranking may have gone stale: listings since withdrawn are dropped
+    private List<Property> availableInOrder(List<Long> ids, int limit) {
+        Map<Long, Property> byId = propertyRepository.findAllById(ids).stream()
+                .filter(property -> Boolean.TRUE.equals(property.getAvailable()))
+                .collect(Collectors.toMap(Property::getId, property -> property));
+        return ids.stream().map(byId::get).filter(property -> property != null).limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Available listings in the city, else the state, priced nearest the budget
+    private List<Property> candidates(String location, double budget) {
+        // A name the directory has not seen yet is tried as a city spelled as given
+        Optional<String> state = locationDirectory.exactState(location);
+        String city = locationDirectory.exactCity(location).orElse(state.isPresent() ? null : location.trim());
+        Specification<Property> inLocation = PropertySpecifications.matches(PropertySearchRequest.builder().build(),
+                city, city != null ? null : state.get());
+
+        BigDecimal target = BigDecimal.valueOf(budget);
+        BigDecimal min = BigDecimal.valueOf(budget * (1 - maxBudgetDeviation));
+        BigDecimal max = BigDecimal.valueOf(budget * (1 + maxBudgetDeviation));
+        Map<Long, Property> candidates = new LinkedHashMap<>();
+        propertyRepository.findBy(inLocation.and(PropertySpecifications.priceBetween(min, target)),
+                        query -> query.sortBy(Sort.by(Sort.Direction.DESC, "price", "id")).limit(candidatesPerSide).all())
+                .forEach(property -> candidates.put(property.getId(), property));
+        propertyRepository.findBy(inLocation.and(PropertySpecifications.priceBetween(target, max)),
+                        query -> query.sortBy(Sort.by(Sort.Direction.ASC, "price", "id")).limit(candidatesPerSide).all())
+                .forEach(property -> candidates.putIfAbsent(property.getId(), property));
+        return new ArrayList<>(candidates.values());
+    }
+
+    // Candidates best first; ties go to the older listing id
+    List<Property> rank(List<Property> candidates, double budget, LocalDateTime now) {
+        double medianPricePerSquareFoot = median(candidates.stream()
+                .map(RecommendationService::pricePerSquareFoot)
+                .filter(value -> value != null)
+                .sorted()
+                .collect(Collectors.toList()));
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        for (Property property : candidates) {
+            scores.put(property.getId(), score(property, budget, medianPricePerSquareFoot, now));
+        }
+        List<Property> ranked = new ArrayList<>(candidates);
+        ranked.sort(Comparator.comparingDouble((Property property) -> scores.get(property.getId())).reversed()
+                .thenComparing(Property::getId));
+        return ranked;
+    }
+
+    // Weighted sum of components that each range over [0, 1]
+    private double score(Property property, double budget, double medianPricePerSquareFoot, LocalDateTime now) {
+        double price = property.getPrice().doubleValue();
+        double deviation = (price - budget) / budget;
+        double budgetFit = Math.max(0, 1 - (deviation > 0 ? deviation * overBudgetPenalty : -deviation));
+
+        // 0.5 at the candidates' median price per square foot, 1 at nothing and 0 at twice the median
+        Double pricePerSquareFoot = pricePerSquareFoot(property);
+        double value = pricePerSquareFoot == null || Double.isNaN(medianPricePerSquareFoot)
+                ? 0.5
+                : Math.min(1, Math.max(0, 0.5 + (medianPricePerSquareFoot - pricePerSquareFoot) / (2 * medianPricePerSquareFoot)));
+
+        double ageDays = property.getCreatedAt() != null
+                ? Math.max(0, Duration.between(property.getCreatedAt(), now).toHours() / 24.0)
+                : Double.POSITIVE_INFINITY;
+        double freshness = Math.pow(0.5, ageDays / freshnessHalfLifeDays);
+
+        return budgetFitWeight * budgetFit + valueWeight * value + freshnessWeight * freshness;
+    }
+
+    private static Double pricePerSquareFoot(Property property) {
+        BigDecimal squareFeet = property.getSquareFeet();
+        if (squareFeet == null || squareFeet.signum() <= 0) {
+            return null;
+        }
+        return property.getPrice().doubleValue() / squareFeet.doubleValue();
+    }
+
+    private static double median(List<Double> sorted) {
+        if (sorted.isEmpty()) {
+            return Double.NaN;
+        }
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.real_estate_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-side caps on how many rows a single request may read: list endpoints return at
+ * most max-results rows and paged endpoints at most max-page-size per page. Requests that
+ * hit a cap are logged and counted per endpoint.
+ */
+@Component
+public class ResultLimits {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultLimits.class);
+
+    private final int maxResults;
+    private final int maxPageSize;
+
+    private final Map<String, AtomicLong> truncatedLists = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> clampedPages = new ConcurrentHashMap<>();
+
+    public ResultLimits(@Value("${api.limits.max-results:500}") int maxResults,
+                        @Value("${api.limits.max-page-size:100}") int maxPageSize) {
+        this.maxResults = maxResults;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /** Pageable for the first max-results rows; Slice queries fetch one more to detect truncation. */
+    public Pageable firstResults(Sort sort) {
+        return PageRequest.of(0, maxResults, sort);
+    }
+
+    /** Content of a list query bounded by firstResults, noting when rows were cut off. */
+    public <T> List<T> limit(String endpoint, Slice<T> slice) {
+        if (slice.hasNext()) {
+            truncatedLists.computeIfAbsent(endpoint, e -> new AtomicLong()).incrementAndGet();
+            logger.warn("{} hit the result limit of {} rows; use the paged variant", endpoint, maxResults);
+        }
+        return slice.getContent();
+    }
+
+    /** Requested page size clamped to [1, max-page-size]. */
+    public int pageSize(String endpoint, int requested) {
+        if (requested > maxPageSize) {
+            clampedPages.computeIfAbsent(endpoint, e -> new AtomicLong()).incrementAndGet();
+            logger.debug("{} asked for {} rows per page; clamped to {}", endpoint, requested, maxPageSize);
+            return maxPageSize;
+        }
+        return Math.max(requested, 1);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxResults", maxResults);
+        stats.put("maxPageSize", maxPageSize);
+        stats.put("truncatedLists", snapshot(truncatedLists));
+        stats.put("clampedPages", snapshot(clampedPages));
+        return stats;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((endpoint, count) -> snapshot.put(endpoint, count.get()));
+        return snapshot;
+    }
+}
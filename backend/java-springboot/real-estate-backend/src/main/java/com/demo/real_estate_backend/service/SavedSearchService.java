@@ -0,0 +1,251 @@
+package com.demo.real_estate_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.SavedSearchAlertResponse;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.exception.ResourceNotFoundException;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.SavedSearch;
+import com.demo.real_estate_backend.model.SavedSearchAlert;
+import com.demo.real_estate_backend.model.SearchHistory;
+import com.demo.real_estate_backend.model.User;
+import com.demo.real_estate_backend.repository.SavedSearchAlertRepository;
+import com.demo.real_estate_backend.repository.SavedSearchRepository;
+import com.demo.real_estate_backend.repository.SearchHistoryRepository;
+import com.demo.real_estate_backend.repository.UserRepository;
+import com.demo.real_estate_backend.search.SavedSearchPercolator;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Saved searches and their alerts. New and updated listings are percolated against every
+ * saved search after commit; each first match queues one alert row.
+ */
+@Service
+@Transactional
+public class SavedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchAlertRepository savedSearchAlertRepository;
+
+    @Autowired
+    private SearchHistoryRepository searchHistoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @Value("${saved-search.max-per-user:20}")
+    private int maxPerUser;
+
+    public SavedSearch saveSearch(Long userId, String name, PropertySearchRequest request) {
+        if (request.getKeyword() != null && !request.getKeyword().isBlank()
+                || request.getNear() != null && !request.getNear().isBlank()
+                || request.getZipCode() != null && !request.getZipCode().isBlank()
+                || request.getMinYearBuilt() != null || request.getMaxYearBuilt() != null) {
+            throw new IllegalArgumentException("Saved searches support location, type, price, bedroom, bathroom and square footage filters only");
+        }
+        SavedSearch search = new SavedSearch();
+        search.setName(name);
+        search.setSearchCity(request.getCity());
+        search.setSearchState(request.getState());
+        search.setSearchPropertyType(request.getPropertyType());
+        search.setSearchListingType(request.getListingType());
+        search.setMinPrice(request.getMinPrice());
+        search.setMaxPrice(request.getMaxPrice());
+        search.setMinBedrooms(request.getMinBedrooms());
+        search.setMaxBedrooms(request.getMaxBedrooms());
+        search.setMinBathrooms(request.getMinBathrooms());
+        search.setMaxBathrooms(request.getMaxBathrooms());
+        search.setMinSquareFeet(request.getMinSquareFeet());
+        search.setMaxSquareFeet(request.getMaxSquareFeet());
+        return save(userId, search);
+    }
+
+    // Saves the criteria of a past search
+    public SavedSearch saveFromHistory(Long historyId, String name) {
+        SearchHistory history = searchHistoryRepository.findById(historyId)
+                .orElseThrow(() -> new ResourceNotFoundException("SearchHistory", "id", historyId));
+        SavedSearch search = new SavedSearch();
+        search.setName(name != null && !name.isBlank() ? name : describe(history));
+        search.setSearchCity(history.getSearchCity());
+        search.setSearchState(history.getSearchState());
+        search.setSearchPropertyType(history.getSearchPropertyType());
+        search.setSearchListingType(history.getSearchListingType());
+        search.setMinPrice(history.getMinPrice());
+        search.setMaxPrice(history.getMaxPrice());
+        search.setMinBedrooms(history.getMinBedrooms());
+        search.setMaxBedrooms(history.getMaxBedrooms());
+        search.setMinBathrooms(history.getMinBathrooms());
+        search.setMaxBathrooms(history.getMaxBathrooms());
+        search.setMinSquareFeet(history.getMinSquareFeet());
+        search.setMaxSquareFeet(history.getMaxSquareFeet());
+        return save(history.getUser().getId(), search);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearch> getUserSavedSearches(Long userId) {
+        return savedSearchRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    public void deleteSavedSearch(Long savedSearchId) {
+        if (!savedSearchRepository.existsById(savedSearchId)) {
+            throw new ResourceNotFoundException("SavedSearch", "id", savedSearchId);
+        }
+        savedSearchAlertRepository.deleteBySavedSearchId(savedSearchId);
+        savedSearchRepository.deleteById(savedSearchId);
+        afterCommit(() -> savedSearchPercolator.remove(savedSearchId));
+    }
+
+    // A user's saved searches and their alerts, removed before the user is
+    public void deleteUserSavedSearches(Long userId) {
+        List<Long> ids = savedSearchRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(SavedSearch::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(savedSearchAlertRepository::deleteBySavedSearchId);
+        savedSearchRepository.deleteAllByIdInBatch(ids);
+        afterCommit(() -> ids.forEach(savedSearchPercolator::remove));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchAlertResponse> getUserAlerts(Long userId, boolean unreadOnly) {
+        return savedSearchAlertRepository.findByUserId(userId, unreadOnly).stream()
+                .map(alert -> SavedSearchAlertResponse.builder()
+                        .id(alert.getId())
+                        .savedSearchId(alert.getSavedSearch().getId())
+                        .savedSearchName(alert.getSavedSearch().getName())
+                        .propertyId(alert.getPropertyId())
+                        .createdAt(alert.getCreatedAt())
+                        .readAt(alert.getReadAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public int markAlertsRead(Long userId) {
+        return savedSearchAlertRepository.markReadByUserId(userId, LocalDateTime.now());
+    }
+
+    public Map<String, Object> getPercolatorStats() {
+        return savedSearchPercolator.stats();
+    }
+
+    /**
+     * Queue alerts for the saved searches an available listing newly matches. Runs after the
+     * listing's transaction has committed, in a transaction of its own.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        Property property = event.getProperty();
+        if (event.isDeleted() || property == null || !Boolean.TRUE.equals(property.getAvailable())) {
+            return;
+        }
+        // Until the percolator has loaded every saved search, the database answers instead
+        List<Long> matches = savedSearchPercolator.isReady()
+                ? savedSearchPercolator.match(property)
+                : savedSearchRepository.findIdsMatching(normalize(property.getCity()), normalize(property.getState()),
+                        property.getPropertyType(), property.getListingType(), property.getPrice(),
+                        property.getBedrooms(), property.getBathrooms(), property.getSquareFeet());
+        if (matches.isEmpty()) {
+            return;
+        }
+        Set<Long> alerted = new HashSet<>(savedSearchAlertRepository.findSavedSearchIdsByPropertyId(property.getId()));
+        int queued = 0;
+        for (Long savedSearchId : matches) {
+            if (alerted.add(savedSearchId)) {
+                SavedSearchAlert alert = new SavedSearchAlert();
+                alert.setSavedSearch(savedSearchRepository.getReferenceById(savedSearchId));
+                alert.setPropertyId(property.getId());
+                savedSearchAlertRepository.save(alert);
+                queued++;
+            }
+        }
+        logger.debug("Listing {} matched {} saved searches, {} alerts queued", property.getId(), matches.size(), queued);
+    }
+
+    private SavedSearch save(Long userId, SavedSearch search) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        if (search.getName() == null || search.getName().isBlank()) {
+            throw new IllegalArgumentException("Saved search name is required");
+        }
+        checkRange("price", search.getMinPrice(), search.getMaxPrice());
+        checkRange("bedrooms", search.getMinBedrooms(), search.getMaxBedrooms());
+        checkRange("bathrooms", search.getMinBathrooms(), search.getMaxBathrooms());
+        checkRange("squareFeet", search.getMinSquareFeet(), search.getMaxSquareFeet());
+        if (savedSearchRepository.countByUserId(userId) >= maxPerUser) {
+            throw new IllegalArgumentException("A user can keep at most " + maxPerUser + " saved searches");
+        }
+
+        search.setUser(user);
+        SavedSearch saved = savedSearchRepository.save(search);
+        afterCommit(() -> savedSearchPercolator.put(saved));
+        return saved;
+    }
+
+    private static <T extends Comparable<T>> void checkRange(String field, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Minimum " + field + " must not exceed the maximum");
+        }
+    }
+
+    private static String describe(SearchHistory history) {
+        StringBuilder name = new StringBuilder();
+        if (history.getSearchPropertyType() != null) {
+            name.append(history.getSearchPropertyType()).append(' ');
+        }
+        name.append(history.getSearchListingType() != null ? history.getSearchListingType().toString() : "listings");
+        if (history.getSearchCity() != null) {
+            name.append(" in ").append(history.getSearchCity());
+        }
+        return name.toString();
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The percolator follows the database only once the change is committed
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
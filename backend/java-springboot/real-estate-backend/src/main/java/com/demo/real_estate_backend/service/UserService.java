@@ -28,15 +28,25 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ResultLimits resultLimits;
+    
+    @Autowired
+    private SavedSearchService savedSearchService;
+    
+    @Autowired
+    private PropertyService propertyService;
+    
+    // Unpaged list endpoints return at most ResultLimits.maxResults users in id order
     public List<User> getAllUsers() {
-        return userRepository.findAll();
+        return resultLimits.limit("users", userRepository.findSliceBy(resultLimits.firstResults(Sort.by("id"))));
     }
     
     public PageResponse<UserResponse> getAllUsersPaged(int page, int size, String sortBy, String direction) {
         Sort sort = direction.equalsIgnoreCase("ASC") 
                 ? Sort.by(sortBy).ascending() 
                 : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageRequest.of(page, resultLimits.pageSize("users.paged", size), sort);
         Page<User> userPage = userRepository.findAll(pageable);
         
         return buildPageResponse(userPage);
@@ -87,6 +97,9 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User not found with id: " + id);
         }
+        // Saved searches are not mapped from User, so the cascade does not reach them
+        savedSearchService.deleteUserSavedSearches(id);
+        propertyService.deletePropertiesOfOwner(id);
         userRepository.deleteById(id);
     }
     
@@ -105,11 +118,13 @@ public class UserService {
     }
     
     public List<User> getUsersByType(UserType userType) {
-        return userRepository.findByUserType(userType);
+        return resultLimits.limit("users.type",
+                userRepository.findSliceByUserType(userType, resultLimits.firstResults(Sort.by("id"))));
     }
     
     public List<User> getActiveUsers() {
-        return userRepository.findByActiveTrue();
+        return resultLimits.limit("users.active",
+                userRepository.findSliceByActiveTrue(resultLimits.firstResults(Sort.by("id"))));
     }
     
     public List<User> getActiveUsersByType(UserType userType) {
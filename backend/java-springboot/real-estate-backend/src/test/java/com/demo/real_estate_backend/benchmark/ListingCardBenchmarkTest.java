@@ -0,0 +1,166 @@
+package com.demo.real_estate_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.real_estate_backend.dto.CountMode;
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertyResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.service.PropertyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of one result page served as full entities versus listing cards: text bytes read
+ * from the properties table, bytes allocated, JSON bytes sent and time per page. Not part of
+ * the regular build:
+ *
+ *   mvn test -Dtest=ListingCardBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=100000]
+ *
+ * "entity, read-write" is the search path before listing cards: entities loaded and tracked
+ * for dirty checking inside a read-write transaction.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:card_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ListingCardBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingCardBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int CITIES = 50;
+    private static final int[] PAGE_SIZES = {20, 100};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    // Text columns each read path selects; numbers, enums and dates are fixed-width either way
+    private static final List<String> ENTITY_TEXT_COLUMNS = List.of("title", "description", "address", "city",
+            "state", "zip_code", "image_url");
+    private static final List<String> CARD_TEXT_COLUMNS = List.of("title", "city", "state", "image_url");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        long start = System.currentTimeMillis();
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Listing descriptions run close to the 2000 character column limit
+        String description = "Bright, renovated home close to parks and transit. ".repeat(38);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[] {
+                    "Listing " + i, description, new BigDecimal(50_000 + random.nextInt(1_950_000)), i + " Bench Street",
+                    String.format("City-%02d", random.nextInt(CITIES)), "IL", "60000",
+                    PropertyType.values()[random.nextInt(PropertyType.values().length)].name(),
+                    ListingType.values()[random.nextInt(ListingType.values().length)].name(),
+                    random.nextInt(7), 1 + random.nextInt(4), new BigDecimal(500 + random.nextInt(4500)),
+                    1950 + random.nextInt(75), "https://img.test/" + i + ".jpg", true, now, now});
+            if (batch.size() == 10_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+        logger.info("Seeded {} listings in {} ms", ROWS, System.currentTimeMillis() - start);
+    }
+
+    @Test
+    void compareEntityAndCardPages() throws Exception {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        StringBuilder report = new StringBuilder(String.format("%n%-22s %6s %14s %14s %12s %10s%n",
+                "path", "rows", "text B read", "alloc B/page", "JSON B", "ms/page"));
+        for (int size : PAGE_SIZES) {
+            PropertySearchRequest request = PropertySearchRequest.builder()
+                    .city("City-07").sortBy("price").sortDirection("ASC").size(size).countMode(CountMode.NONE).build();
+
+            Supplier<PageResponse<PropertyResponse>> entities = () -> propertyService.searchProperties(request, null);
+            Supplier<PageResponse<PropertySummary>> cards = () -> propertyService.searchPropertyCards(request);
+
+            List<Long> ids = readOnly.execute(status -> entities.get()).getContent().stream()
+                    .map(PropertyResponse::getId).collect(Collectors.toList());
+            List<Long> cardIds = cards.get().getContent().stream()
+                    .map(PropertySummary::getId).collect(Collectors.toList());
+            assertThat(cardIds).containsExactlyElementsOf(ids);
+
+            report.append(row("entity, read-write", size, textBytes(ids, ENTITY_TEXT_COLUMNS),
+                    () -> readWrite.execute(status -> entities.get())));
+            report.append(row("entity, read-only", size, textBytes(ids, ENTITY_TEXT_COLUMNS),
+                    () -> readOnly.execute(status -> entities.get())));
+            report.append(row("card", size, textBytes(ids, CARD_TEXT_COLUMNS), cards));
+        }
+        logger.info("Listing card benchmark over {} listings:{}", ROWS, report);
+    }
+
+    private String row(String path, int size, long textBytes, Supplier<?> page) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            page.get();
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            page.get();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ITERATIONS;
+        long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_ITERATIONS;
+        int jsonBytes = objectMapper.writeValueAsBytes(page.get()).length;
+        return String.format("%-22s %6d %14d %14d %12d %10.2f%n", path, size, textBytes, allocated, jsonBytes, millis);
+    }
+
+    private long textBytes(List<Long> ids, List<String> columns) {
+        String sum = columns.stream()
+                .map(column -> "COALESCE(OCTET_LENGTH(" + column + "), 0)")
+                .collect(Collectors.joining(" + "));
+        String in = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        Long bytes = jdbcTemplate.queryForObject("SELECT SUM(" + sum + ") FROM properties WHERE id IN (" + in + ")", Long.class);
+        return bytes != null ? bytes : 0;
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO properties (title, description, price, address, city, state, zip_code, "
+                + "property_type, listing_type, bedrooms, bathrooms, square_feet, year_built, image_url, available, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,91 @@
+package com.demo.real_estate_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.demo.real_estate_backend.dto.ImportReport;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.service.PropertyExportService.Format;
+import com.demo.real_estate_backend.service.PropertyImportService;
+
+/**
+ * Rows per second of a feed import into an empty catalog, then of the feed with every price
+ * changed, then of that feed re-sent as it is. Not part of the regular build:
+ *
+ *   mvn test -Dtest=PropertyImportBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=100000]
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PropertyImportBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyImportBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    @Test
+    void importFeed() throws Exception {
+        // Warm up on a separate key range, then measure inserts, updates and an unchanged re-send
+        propertyImportService.importListings(new ByteArrayInputStream(feed(20_000, "warmup-", 1)), Format.NDJSON);
+
+        ImportReport inserts = run(feed(ROWS, "feed-", 42));
+        byte[] repriced = feed(ROWS, "feed-", 43);
+        ImportReport updates = run(repriced);
+        ImportReport unchanged = run(repriced);
+
+        assertThat(inserts.getCreated()).isEqualTo(ROWS);
+        assertThat(updates.getUpdated()).isGreaterThan(ROWS * 9L / 10);
+        assertThat(unchanged.getUnchanged()).isEqualTo(ROWS);
+        StringBuilder report = new StringBuilder(String.format("%n%-10s %8s %10s %10s%n", "pass", "rows", "ms", "rows/s"));
+        for (Object[] pass : new Object[][] {{"insert", inserts}, {"update", updates}, {"unchanged", unchanged}}) {
+            ImportReport result = (ImportReport) pass[1];
+            report.append(String.format("%-10s %8d %10d %10.0f%n", pass[0], result.getRows(), result.getElapsedMillis(),
+                    result.getRows() * 1000.0 / result.getElapsedMillis()));
+        }
+        logger.info(report.toString());
+    }
+
+    private ImportReport run(byte[] feed) throws Exception {
+        return propertyImportService.importListings(new ByteArrayInputStream(feed), Format.NDJSON);
+    }
+
+    // The same listings for a key prefix whatever the seed; the seed only moves the prices
+    private static byte[] feed(int rows, String keyPrefix, long priceSeed) {
+        Random random = new Random(42);
+        Random prices = new Random(priceSeed);
+        StringBuilder feed = new StringBuilder(rows * 400);
+        for (int i = 0; i < rows; i++) {
+            feed.append("{\"externalKey\":\"").append(keyPrefix).append(i)
+                    .append("\",\"title\":\"Listing ").append(i)
+                    .append("\",\"description\":\"Bright, renovated home close to parks and transit.\"")
+                    .append(",\"price\":").append(50_000 + prices.nextInt(1_950_000))
+                    .append(",\"address\":\"").append(i).append(" Bench Street\"")
+                    .append(",\"city\":\"City-").append(random.nextInt(50))
+                    .append("\",\"state\":\"IL\",\"zipCode\":\"60000\"")
+                    .append(",\"propertyType\":\"").append(PropertyType.values()[random.nextInt(PropertyType.values().length)])
+                    .append("\",\"listingType\":\"").append(ListingType.values()[random.nextInt(ListingType.values().length)])
+                    .append("\",\"bedrooms\":").append(random.nextInt(7))
+                    .append(",\"bathrooms\":").append(1 + random.nextInt(4))
+                    .append(",\"squareFeet\":").append(500 + random.nextInt(4500))
+                    .append(",\"yearBuilt\":").append(1950 + random.nextInt(75))
+                    .append("}\n");
+        }
+        return feed.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
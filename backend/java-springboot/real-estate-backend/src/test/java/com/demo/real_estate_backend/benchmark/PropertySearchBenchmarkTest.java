@@ -0,0 +1,146 @@
+package com.demo.real_estate_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.demo.real_estate_backend.repository.PropertySpecifications;
+import com.demo.real_estate_backend.search.LocationDirectory;
+
+/**
+ * Compares the catch-all "(:x IS NULL OR ...)" JPQL search with the Specification search
+ * across common query shapes on a seeded catalog. Not part of the regular build:
+ *
+ *   mvn test -Dtest=PropertySearchBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=1000000]
+ *
+ * Runs against an in-memory H2 database by default; pass -Dspring.datasource.url=... (and the
+ * matching driver, dialect and credentials) to measure on MySQL, where per-shape plans matter most.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PropertySearchBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertySearchBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int CITIES = 500;
+    private static final String[] STATES = {"IL", "CA", "NY", "TX", "WA", "FL", "MA", "CO"};
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private LocationDirectory locationDirectory;
+
+    @BeforeAll
+    void seed() {
+        long start = System.currentTimeMillis();
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            String price = String.valueOf(50_000 + random.nextInt(1_950_000));
+            batch.add(new Object[] {
+                    "Listing " + i, "Seeded benchmark listing " + i, new BigDecimal(price), i + " Bench Street",
+                    String.format("City-%04d", random.nextInt(CITIES)), STATES[random.nextInt(STATES.length)], "60000",
+                    PropertyType.values()[random.nextInt(PropertyType.values().length)].name(),
+                    ListingType.values()[random.nextInt(ListingType.values().length)].name(),
+                    random.nextInt(7), 1 + random.nextInt(4), new BigDecimal(500 + random.nextInt(4500)),
+                    1950 + random.nextInt(75), random.nextInt(10) != 0, now, now});
+            if (batch.size() == 10_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+        locationDirectory.load();
+        logger.info("Seeded {} listings in {} ms", ROWS, System.currentTimeMillis() - start);
+    }
+
+    @Test
+    void compareQueryShapes() {
+        Map<String, PropertySearchRequest> shapes = new LinkedHashMap<>();
+        shapes.put("city", PropertySearchRequest.builder().city("City-0042").build());
+        shapes.put("city+type", PropertySearchRequest.builder().city("City-0042").propertyType(PropertyType.HOUSE).build());
+        shapes.put("state+listingType+price", PropertySearchRequest.builder().state("CA").listingType(ListingType.FOR_SALE)
+                .minPrice(new BigDecimal("300000")).maxPrice(new BigDecimal("450000")).build());
+        shapes.put("price band", PropertySearchRequest.builder()
+                .minPrice(new BigDecimal("1000000")).maxPrice(new BigDecimal("1010000")).build());
+        shapes.put("beds+baths", PropertySearchRequest.builder().minBedrooms(3).maxBedrooms(4).minBathrooms(2).build());
+        shapes.put("no filters", PropertySearchRequest.builder().build());
+
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        StringBuilder report = new StringBuilder(String.format("%n%-26s %14s %14s%n", "shape", "jpql ms/op", "spec ms/op"));
+        for (Map.Entry<String, PropertySearchRequest> shape : shapes.entrySet()) {
+            PropertySearchRequest request = shape.getValue();
+
+            Supplier<Page<Property>> legacy = () -> propertyRepository.searchProperties(
+                    request.getCity(), request.getState(), request.getPropertyType(), request.getListingType(),
+                    request.getMinPrice(), request.getMaxPrice(), request.getMinBedrooms(), request.getMaxBedrooms(),
+                    request.getMinBathrooms(), request.getMaxBathrooms(), request.getMinSquareFeet(),
+                    request.getMaxSquareFeet(), pageable);
+            Supplier<Page<Property>> specification = () -> propertyRepository.findAll(PropertySpecifications.matches(request,
+                    locationDirectory.exactCity(request.getCity()).orElse(null),
+                    locationDirectory.exactState(request.getState()).orElse(null)), pageable);
+
+            // Exact city and state names are the only semantic difference, and the seed has no substring overlaps
+            assertThat(specification.get().getTotalElements()).isEqualTo(legacy.get().getTotalElements());
+
+            report.append(String.format("%-26s %14.2f %14.2f%n", shape.getKey(), measure(legacy), measure(specification)));
+        }
+        logger.info("Search benchmark over {} listings:{}", ROWS, report);
+    }
+
+    private double measure(Supplier<Page<Property>> query) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ITERATIONS;
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO properties (title, description, price, address, city, state, zip_code, "
+                + "property_type, listing_type, bedrooms, bathrooms, square_feet, year_built, available, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,134 @@
+package com.demo.real_estate_backend.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.search.SimilarListingIndex;
+
+/**
+ * JMH latency distribution of one "similar homes" lookup against a synthetic catalog held in
+ * the similar listings index. Not part of the regular build:
+ *
+ *   mvn test -Dtest=SimilarListingBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=1000000]
+ *
+ * Reports p50, p99 and p99.9 of SimilarListingIndex.similar for k=10; the database lookup of
+ * the ten listing cards is not included.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SimilarListingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarListingBenchmarkTest.class);
+
+    private static final int CITIES = 500;
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+
+        @Param("1000000")
+        public int rows;
+
+        @Param("10")
+        public int k;
+
+        SimilarListingIndex index;
+        Property[] queries;
+
+        @Setup(Level.Trial)
+        public void build() {
+            long start = System.currentTimeMillis();
+            Random random = new Random(42);
+            double[][] cities = new double[CITIES][];
+            for (int c = 0; c < CITIES; c++) {
+                cities[c] = new double[] {25 + random.nextDouble() * 23, -122 + random.nextDouble() * 52};
+            }
+            index = new SimilarListingIndex(true, 64, 0.25, 0);
+            // Query with an evenly spread sample of the indexed listings
+            queries = new Property[Math.min(rows, 4096)];
+            int stride = rows / queries.length;
+            for (int i = 0; i < rows; i++) {
+                Property property = listing(i, random, cities);
+                index.onPropertyChange(PropertyChangeEvent.created(property));
+                if (i % stride == 0 && i / stride < queries.length) {
+                    queries[i / stride] = property;
+                }
+            }
+            logger.info("Indexed {} listings in {} ms", rows, System.currentTimeMillis() - start);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<SimilarListingIndex.Match> similar(Catalog catalog) {
+        Property query = catalog.queries[ThreadLocalRandom.current().nextInt(catalog.queries.length)];
+        return catalog.index.similar(query, catalog.k);
+    }
+
+    @Test
+    void reportQueryLatency() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(SimilarListingBenchmarkTest.class.getName() + ".similar")
+                .param("rows", String.valueOf(Integer.getInteger("benchmark.rows", 1_000_000)))
+                .forks(Integer.getInteger("benchmark.forks", 1))
+                .jvmArgsAppend("-Xmx4g")
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        for (RunResult result : results) {
+            Statistics statistics = result.getPrimaryResult().getStatistics();
+            logger.info("similar(k={}) over {} listings: p50 {} us, p99 {} us, p99.9 {} us ({} samples)",
+                    result.getParams().getParam("k"), result.getParams().getParam("rows"),
+                    String.format("%.1f", statistics.getPercentile(50)), String.format("%.1f", statistics.getPercentile(99)),
+                    String.format("%.1f", statistics.getPercentile(99.9)), statistics.getN());
+        }
+    }
+
+    private static Property listing(long id, Random random, double[][] cities) {
+        double[] city = cities[random.nextInt(CITIES)];
+        PropertyType propertyType = PropertyType.values()[random.nextInt(PropertyType.values().length)];
+        Property property = new Property();
+        property.setId(id);
+        property.setListingType(random.nextInt(4) == 0 ? ListingType.FOR_RENT : ListingType.FOR_SALE);
+        property.setPropertyType(propertyType);
+        property.setPrice(BigDecimal.valueOf(Math.round(Math.exp(12.6 + random.nextGaussian() * 0.6))));
+        property.setSquareFeet(BigDecimal.valueOf(Math.round(Math.exp(7.3 + random.nextGaussian() * 0.4))));
+        property.setBedrooms(1 + random.nextInt(6));
+        property.setBathrooms(1 + random.nextInt(4));
+        property.setYearBuilt(1920 + random.nextInt(105));
+        property.setLatitude(city[0] + random.nextGaussian() * 0.1);
+        property.setLongitude(city[1] + random.nextGaussian() * 0.1);
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,167 @@
+package com.demo.real_estate_backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.demo.real_estate_backend.dto.ApiResponse;
+import com.demo.real_estate_backend.dto.PropertyImageRequest;
+import com.demo.real_estate_backend.dto.PropertyResponse;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.User;
+import com.demo.real_estate_backend.model.UserType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.demo.real_estate_backend.repository.UserRepository;
+import com.demo.real_estate_backend.service.FavoriteService;
+import com.demo.real_estate_backend.service.PropertyImageService;
+import com.demo.real_estate_backend.service.PropertyService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listing reads carry an ETag built from the listing's timestamps; a matching If-None-Match
+ * or a recent enough If-Modified-Since gets a 304 without the listing being loaded.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement_count_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class PropertyControllerConditionalGetTest {
+
+    @Autowired
+    private PropertyController propertyController;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyImageService propertyImageService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Property property;
+
+    private User buyer;
+
+    @BeforeEach
+    void seed() {
+        buyer = new User();
+        buyer.setFirstName("Etag");
+        buyer.setLastName("Buyer");
+        buyer.setEmail("buyer@etag.test");
+        buyer.setPassword("password123");
+        buyer.setPhone("(555) 000-0304");
+        buyer.setUserType(UserType.BUYER);
+        buyer = userRepository.save(buyer);
+
+        property = new Property();
+        property.setTitle("Conditional home");
+        property.setDescription("Cached by its clients");
+        property.setPrice(new BigDecimal("450000"));
+        property.setAddress("304 Not Modified Lane");
+        property.setCity("Etagville");
+        property.setState("WA");
+        property.setZipCode("98000");
+        property.setPropertyType(PropertyType.HOUSE);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(3);
+        property.setBathrooms(2);
+        property.setSquareFeet(new BigDecimal("1800"));
+        property.setAvailable(true);
+        property = propertyRepository.save(property);
+        entityManager.flush();
+    }
+
+    @Test
+    void answersAMatchingEtagWith304WithoutLoadingTheListing() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ResponseEntity<ApiResponse<PropertyResponse>> body =
+                propertyController.getPropertyDetails(property.getId(), buyer.getId(), request(first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(body.getBody().getData().getId()).isEqualTo(property.getId());
+        assertThat(etag).startsWith("\"" + property.getId() + "-");
+        assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        ServletWebRequest conditional = request(revalidated);
+        ((MockHttpServletRequest) conditional.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        assertThat(propertyController.getPropertyDetails(property.getId(), buyer.getId(), conditional)).isNull();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void imagesAndFavoritesChangeTheEtag() {
+        String initial = propertyService.getListingVersion(property.getId()).orElseThrow().etag();
+
+        propertyImageService.addImage(property.getId(),
+                PropertyImageRequest.builder().imageUrl("https://img.test/etag/0").build());
+        String withImage = propertyService.getListingVersion(property.getId()).orElseThrow().etag();
+        favoriteService.addFavorite(buyer.getId(), property.getId());
+        String withFavorite = propertyService.getListingVersion(property.getId()).orElseThrow().etag();
+
+        assertThat(withImage).isNotEqualTo(initial);
+        assertThat(withFavorite).isNotEqualTo(withImage);
+
+        // Saving the listing itself must not reset the timestamps its entity does not write
+        Property reloaded = propertyRepository.findById(property.getId()).orElseThrow();
+        reloaded.setTitle("Conditional home, renovated");
+        propertyRepository.saveAndFlush(reloaded);
+        assertThat(propertyRepository.findVersionRow(property.getId()).get(0)[1]).isNotNull();
+        assertThat(propertyRepository.findVersionRow(property.getId()).get(0)[2]).isNotNull();
+    }
+
+    @Test
+    void honorsIfModifiedSinceAndLeavesUnknownIdsTo404() {
+        long lastModified = propertyService.getListingVersion(property.getId()).orElseThrow().lastModified();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest conditional = request(response);
+        ((MockHttpServletRequest) conditional.getRequest()).addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified + 1000);
+
+        assertThat(propertyController.getPropertyById(property.getId(), conditional)).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+
+        ServletWebRequest unknown = request(new MockHttpServletResponse());
+        ((MockHttpServletRequest) unknown.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        assertThat(propertyController.getPropertyById(Long.MAX_VALUE, unknown).getStatusCode().value()).isEqualTo(404);
+    }
+
+    private static ServletWebRequest request(MockHttpServletResponse response) {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/properties"), response);
+    }
+}
@@ -0,0 +1,67 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.Property;
+
+class GeoGridIndexTest {
+
+    private static final GeoPoint CHICAGO_LOOP = new GeoPoint(41.8837, -87.6233);
+
+    private GeoGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex();
+        index.onPropertyChange(PropertyChangeEvent.created(listing(1L, 41.8858, -87.6229)));  // Loop
+        index.onPropertyChange(PropertyChangeEvent.created(listing(2L, 42.0552, -87.6946)));  // Evanston
+        index.onPropertyChange(PropertyChangeEvent.created(listing(3L, 41.7662, -88.1410)));  // Naperville
+        index.onPropertyChange(PropertyChangeEvent.created(listing(4L, 39.7990, -89.6440)));  // Springfield
+        index.onPropertyChange(PropertyChangeEvent.created(listing(5L, null, null)));
+    }
+
+    @Test
+    void returnsListingsInsideTheRadiusNearestFirst() {
+        assertThat(index.within(CHICAGO_LOOP, 50)).extracting(GeoGridIndex.Hit::getId).containsExactly(1L, 2L, 3L);
+        assertThat(index.within(CHICAGO_LOOP, 1)).extracting(GeoGridIndex.Hit::getId).containsExactly(1L);
+        assertThat(index.within(CHICAGO_LOOP, 20).get(1).getDistanceKm()).isBetween(19.0, 20.0);
+    }
+
+    @Test
+    void findsNeighboursAcrossTheAntimeridian() {
+        index.onPropertyChange(PropertyChangeEvent.created(listing(6L, -16.80, 179.95)));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(7L, -16.80, -179.95)));
+
+        assertThat(index.within(new GeoPoint(-16.80, 179.99), 15)).extracting(GeoGridIndex.Hit::getId)
+                .containsExactly(6L, 7L);
+    }
+
+    @Test
+    void followsMovesAndDeletes() {
+        index.onPropertyChange(PropertyChangeEvent.updated(listing(4L, 41.8800, -87.6300)));
+        index.onPropertyChange(PropertyChangeEvent.deleted(2L));
+
+        assertThat(index.within(CHICAGO_LOOP, 50)).extracting(GeoGridIndex.Hit::getId).containsExactly(1L, 4L, 3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsMalformedCenters() {
+        assertThatThrownBy(() -> GeoPoint.parse("41.88")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoPoint.parse("91,10")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Property listing(Long id, Double latitude, Double longitude) {
+        Property property = new Property();
+        property.setId(id);
+        property.setLatitude(latitude);
+        property.setLongitude(longitude);
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,71 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.Property;
+
+class KeywordSearchIndexTest {
+
+    private KeywordSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new KeywordSearchIndex(true);
+        index.onPropertyChange(PropertyChangeEvent.created(
+                listing(1L, "Beautiful Family Home", "Spacious backyard and quiet streets", "Springfield", "123 Maple Street", "550000")));
+        index.onPropertyChange(PropertyChangeEvent.created(
+                listing(2L, "Downtown Apartment", "Walking distance to homes and shops", "Chicago", "456 Oak Avenue", "2500")));
+        index.onPropertyChange(PropertyChangeEvent.created(
+                listing(3L, "Charming Townhouse", "Private garden near parks", "Naperville", "789 Pine Road", "425000")));
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        assertThat(index.search("homes")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void requiresEveryTermAndMatchesWordPrefixes() {
+        assertThat(index.search("spring maple")).containsExactly(1L);
+        assertThat(index.search("spring garden")).isEmpty();
+    }
+
+    @Test
+    void sortsMatchesByListingField() {
+        index.onPropertyChange(PropertyChangeEvent.created(
+                listing(4L, "Garden Flat", "Garden views", "Chicago", "1 Lake Road", "1800")));
+        assertThat(index.search("garden", "price", true)).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        Property unavailable = listing(1L, "Beautiful Family Home", "Sold", "Springfield", "123 Maple Street", "550000");
+        unavailable.setAvailable(false);
+        index.onPropertyChange(PropertyChangeEvent.updated(unavailable));
+        assertThat(index.search("family")).isEmpty();
+
+        index.onPropertyChange(PropertyChangeEvent.deleted(3L));
+        assertThat(index.search("townhouse")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private Property listing(Long id, String title, String description, String city, String address, String price) {
+        Property property = new Property();
+        property.setId(id);
+        property.setTitle(title);
+        property.setDescription(description);
+        property.setCity(city);
+        property.setAddress(address);
+        property.setPrice(new BigDecimal(price));
+        property.setCreatedAt(LocalDateTime.now().minusDays(id));
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+class ListingColumnStoreTest {
+
+    private ListingColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ListingColumnStore(true);
+        store.onPropertyChange(PropertyChangeEvent.created(listing(1L, "Springfield", PropertyType.HOUSE, "550000.00", 4, 1998)));
+        store.onPropertyChange(PropertyChangeEvent.created(listing(2L, "Chicago", PropertyType.APARTMENT, "2500.00", 1, 2015)));
+        store.onPropertyChange(PropertyChangeEvent.created(listing(3L, "Naperville", PropertyType.TOWNHOUSE, "425000.00", 3, null)));
+        store.onPropertyChange(PropertyChangeEvent.created(listing(4L, "chicago", PropertyType.CONDO, "425000.00", null, 2005)));
+        store.onPropertyChange(PropertyChangeEvent.created(listing(5L, "West Chicago", PropertyType.HOUSE, "310000.50", 3, 1975)));
+    }
+
+    @Test
+    void matchesCitiesExactlyOrBySubstring() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setCity("CHICAGO");
+        assertThat(ids(request, "price", Sort.Direction.ASC)).containsExactly(2L, 4L);
+
+        request.setCity("cago");
+        assertThat(ids(request, "price", Sort.Direction.ASC)).containsExactly(2L, 5L, 4L);
+    }
+
+    @Test
+    void appliesRangeFiltersAndDropsNulls() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setMinPrice(new BigDecimal("310000.01"));
+        request.setMaxBedrooms(3);
+        assertThat(ids(request, "price", Sort.Direction.ASC)).containsExactly(5L, 3L);
+
+        request = new PropertySearchRequest();
+        request.setMinYearBuilt(2000);
+        assertThat(ids(request, "createdAt", Sort.Direction.ASC)).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void sortsNullsFirstAscendingWithIdTieBreak() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        assertThat(ids(request, "bedrooms", Sort.Direction.ASC)).containsExactly(4L, 2L, 3L, 5L, 1L);
+        assertThat(ids(request, "bedrooms", Sort.Direction.DESC)).containsExactly(1L, 5L, 3L, 2L, 4L);
+    }
+
+    @Test
+    void pagesByOffsetAndCursorInTheSameOrder() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        ListingColumnStore.Result first = store.search(request, "price", Sort.Direction.DESC, 0, 2, null);
+        assertThat(first.getIds()).containsExactly(1L, 4L);
+        assertThat(first.getTotal()).isEqualTo(5);
+        assertThat(first.isHasNext()).isTrue();
+
+        Property last = listing(4L, "chicago", PropertyType.CONDO, "425000.00", null, 2005);
+        PropertyCursor cursor = PropertyCursor.after(last, "price", Sort.Direction.DESC);
+        ListingColumnStore.Result next = store.search(request, cursor, 2, null);
+        assertThat(next.getIds()).containsExactly(3L, 5L)
+                .isEqualTo(store.search(request, "price", Sort.Direction.DESC, 2, 2, null).getIds());
+        assertThat(next.isHasNext()).isTrue();
+    }
+
+    @Test
+    void collectsFacetsForTheWholeMatchSet() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setPropertyType(PropertyType.HOUSE);
+        SearchFacetCollector facets = new SearchFacetCollector();
+        store.search(request, "createdAt", Sort.Direction.DESC, 0, 1, facets);
+
+        assertThat(facets.toFacets().getPropertyType()).containsEntry("HOUSE", 2L);
+        assertThat(facets.toFacets().getPriceBands()).containsEntry("250000-500000", 1L).containsEntry("500000-1000000", 1L);
+    }
+
+    @Test
+    void followsUpdatesAndDeletesReusingRows() {
+        Property sold = listing(1L, "Springfield", PropertyType.HOUSE, "550000.00", 4, 1998);
+        sold.setAvailable(false);
+        store.onPropertyChange(PropertyChangeEvent.updated(sold));
+        store.onPropertyChange(PropertyChangeEvent.deleted(2L));
+        store.onPropertyChange(PropertyChangeEvent.created(listing(6L, "Springfield", PropertyType.LAND, "90000.00", 0, null)));
+
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setCity("springfield");
+        assertThat(ids(request, "price", Sort.Direction.ASC)).containsExactly(6L);
+        assertThat(store.size()).isEqualTo(4);
+    }
+
+    private List<Long> ids(PropertySearchRequest request, String sortBy, Sort.Direction direction) {
+        return new ArrayList<>(store.search(request, sortBy, direction, 0, 10, null).getIds());
+    }
+
+    private Property listing(Long id, String city, PropertyType type, String price, Integer bedrooms, Integer yearBuilt) {
+        Property property = new Property();
+        property.setId(id);
+        property.setTitle("Listing " + id);
+        property.setCity(city);
+        property.setState("IL");
+        property.setPropertyType(type);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setPrice(new BigDecimal(price));
+        property.setBedrooms(bedrooms);
+        property.setBathrooms(2);
+        property.setYearBuilt(yearBuilt);
+        property.setAvailable(true);
+        property.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(id));
+        return property;
+    }
+}
@@ -0,0 +1,102 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.dto.MarketStats;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+class MarketStatsRegistryTest {
+
+    private MarketStatsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MarketStatsRegistry(true, 0);
+        registry.onPropertyChange(PropertyChangeEvent.created(listing(1L, "Austin", PropertyType.HOUSE, ListingType.FOR_SALE, "300000", "1500")));
+        registry.onPropertyChange(PropertyChangeEvent.created(listing(2L, "austin", PropertyType.HOUSE, ListingType.FOR_SALE, "500000", "2000")));
+        registry.onPropertyChange(PropertyChangeEvent.created(listing(3L, "Austin", PropertyType.APARTMENT, ListingType.FOR_RENT, "2000", null)));
+        registry.onPropertyChange(PropertyChangeEvent.created(listing(4L, "Dallas", PropertyType.HOUSE, ListingType.FOR_SALE, "250000", "1000")));
+    }
+
+    @Test
+    void rollsUpEveryCombinationOfDimensions() {
+        assertThat(registry.count()).isEqualTo(4);
+
+        MarketStats austin = registry.stats("AUSTIN", null, null);
+        assertThat(austin.getCity()).isEqualTo("Austin");
+        assertThat(austin.getListingCount()).isEqualTo(3);
+        assertThat(austin.getAveragePrice()).isEqualByComparingTo("267333.33");
+        assertThat(austin.getMinPrice()).isEqualByComparingTo("2000");
+        assertThat(austin.getMaxPrice()).isEqualByComparingTo("500000");
+        assertThat(austin.getPricedAreaCount()).isEqualTo(2);
+
+        MarketStats houses = registry.stats(null, PropertyType.HOUSE, ListingType.FOR_SALE);
+        assertThat(houses.getListingCount()).isEqualTo(3);
+        assertThat(houses.getMinPricePerSquareFoot()).isEqualByComparingTo("200");
+        assertThat(houses.getMaxPricePerSquareFoot()).isEqualByComparingTo("250");
+        assertThat(houses.getAveragePricePerSquareFoot()).isEqualByComparingTo("233.33");
+    }
+
+    @Test
+    void keepsMinAndMaxExactAcrossUpdatesAndDeletes() {
+        registry.onPropertyChange(PropertyChangeEvent.deleted(2L));
+        registry.onPropertyChange(PropertyChangeEvent.updated(listing(4L, "Austin", PropertyType.HOUSE, ListingType.FOR_SALE, "350000", "1000")));
+
+        MarketStats austinHouses = registry.stats("Austin", PropertyType.HOUSE, null);
+        assertThat(austinHouses.getListingCount()).isEqualTo(2);
+        assertThat(austinHouses.getMaxPrice()).isEqualByComparingTo("350000");
+        assertThat(registry.stats("Dallas", null, null).getListingCount()).isZero();
+        assertThat(registry.stats("Dallas", null, null).getAveragePrice()).isNull();
+    }
+
+    @Test
+    void groupsByTheRequestedDimensions() {
+        List<MarketStats> byCity = registry.grouped(Set.of(MarketStatsRegistry.Dimension.CITY), null, PropertyType.HOUSE, null);
+        assertThat(byCity).extracting(MarketStats::getCity).containsExactly("Austin", "Dallas");
+        assertThat(byCity).extracting(MarketStats::getListingCount).containsExactly(2L, 1L);
+
+        assertThat(registry.grouped(Set.of(MarketStatsRegistry.Dimension.CITY, MarketStatsRegistry.Dimension.LISTING_TYPE),
+                "austin", null, null)).hasSize(2);
+    }
+
+    @Test
+    void answersFromGroupedDatabaseRowsBeforeItIsBuilt() {
+        List<Object[]> rows = List.of(
+                new Object[]{"Austin", PropertyType.HOUSE, ListingType.FOR_SALE, 2L, new BigDecimal("800000"),
+                        new BigDecimal("300000"), new BigDecimal("500000"), 2L, new BigDecimal("450"),
+                        new BigDecimal("200"), new BigDecimal("250")},
+                new Object[]{"Dallas", PropertyType.HOUSE, ListingType.FOR_SALE, 1L, new BigDecimal("250000"),
+                        new BigDecimal("250000"), new BigDecimal("250000"), 1L, new BigDecimal("250"),
+                        new BigDecimal("250"), new BigDecimal("250")});
+
+        MarketStats houses = MarketStatsRegistry.stats(rows, null, PropertyType.HOUSE, null);
+        assertThat(houses.getListingCount()).isEqualTo(3);
+        assertThat(houses.getMinPrice()).isEqualByComparingTo("250000");
+        assertThat(houses.getMaxPrice()).isEqualByComparingTo("500000");
+        assertThat(MarketStatsRegistry.grouped(rows, Set.of(MarketStatsRegistry.Dimension.CITY), null, null, null))
+                .extracting(MarketStats::getCity).containsExactly("Austin", "Dallas");
+    }
+
+    private Property listing(Long id, String city, PropertyType propertyType, ListingType listingType,
+                             String price, String squareFeet) {
+        Property property = new Property();
+        property.setId(id);
+        property.setCity(city);
+        property.setPropertyType(propertyType);
+        property.setListingType(listingType);
+        property.setPrice(new BigDecimal(price));
+        property.setSquareFeet(squareFeet != null ? new BigDecimal(squareFeet) : null);
+        property.setAvailable(true);
+        return property;
+    }
+}
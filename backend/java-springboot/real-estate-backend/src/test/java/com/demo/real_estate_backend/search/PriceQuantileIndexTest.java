@@ -0,0 +1,136 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.dto.PricePercentiles;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+class PriceQuantileIndexTest {
+
+    private PriceQuantileIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PriceQuantileIndex(TDigest.DEFAULT_COMPRESSION);
+        // Austin: 100 houses priced 1..100 thousand plus one mansion; Dallas: 100 houses at 200..299 thousand
+        for (int i = 1; i <= 100; i++) {
+            index.onPropertyChange(PropertyChangeEvent.created(listing(i, "Austin", "TX", i * 1000, 100)));
+            index.onPropertyChange(PropertyChangeEvent.created(listing(1000 + i, "Dallas", "TX", 199_000 + i * 1000, 1000)));
+        }
+        index.onPropertyChange(PropertyChangeEvent.created(listing(999, "Austin", "TX", 50_000_000, 10_000)));
+    }
+
+    @Test
+    void medianIgnoresOutliers() {
+        PricePercentiles austin = index.percentiles(null, "austin", PropertyType.HOUSE, null, List.of(50.0, 90.0));
+
+        assertThat(austin.getListingCount()).isEqualTo(101);
+        assertThat(austin.getPrice().get("p50").doubleValue()).isCloseTo(51_000, within(1_500.0));
+        assertThat(austin.getPrice().get("p90").doubleValue()).isCloseTo(91_000, within(1_500.0));
+        assertThat(austin.getPricePerSquareFoot().get("p50").doubleValue()).isCloseTo(510, within(15.0));
+    }
+
+    @Test
+    void rollsUpToStateAndWholeMarketByMerging() {
+        PricePercentiles texas = index.percentiles("TX", null, null, null, List.of(25.0, 75.0));
+        PricePercentiles market = index.percentiles(null, null, null, null, List.of(25.0, 75.0));
+
+        assertThat(texas.getListingCount()).isEqualTo(201);
+        assertThat(texas.getPrice().get("p25").doubleValue()).isCloseTo(51_000, within(2_500.0));
+        assertThat(texas.getPrice().get("p75").doubleValue()).isCloseTo(249_000, within(2_500.0));
+        assertThat(market.getPrice()).isEqualTo(texas.getPrice());
+    }
+
+    @Test
+    void forgetsRemovedListings() {
+        for (int i = 1; i <= 50; i++) {
+            index.onPropertyChange(PropertyChangeEvent.deleted((long) i));
+        }
+        index.onPropertyChange(PropertyChangeEvent.deleted(999L));
+
+        PricePercentiles austin = index.percentiles(null, "Austin", null, null, List.of(0.0, 100.0));
+        assertThat(austin.getListingCount()).isEqualTo(50);
+        assertThat(austin.getPrice().get("p0")).isEqualByComparingTo("51000");
+        assertThat(austin.getPrice().get("p100")).isEqualByComparingTo("100000");
+        assertThat(index.percentiles(null, "Houston", null, null, List.of(50.0)).getPrice().get("p50")).isNull();
+    }
+
+    @Test
+    void rollUpsForgetRemovedListings() {
+        for (int i = 1; i <= 100; i++) {
+            index.onPropertyChange(PropertyChangeEvent.deleted(1000L + i));
+        }
+        assertThat(index.hasStaleDigests()).isTrue();
+
+        PricePercentiles texas = index.percentiles("tx", null, null, null, List.of(0.0, 50.0));
+        PricePercentiles market = index.percentiles(null, null, null, null, List.of(0.0, 50.0));
+        assertThat(index.hasStaleDigests()).isFalse();
+        assertThat(texas.getListingCount()).isEqualTo(101);
+        assertThat(texas.getPrice().get("p0")).isEqualByComparingTo("1000");
+        assertThat(market.getListingCount()).isEqualTo(101);
+    }
+
+    @Test
+    void editsThatKeepPriceAndGroupLeaveTheDigestsFresh() {
+        Property renamed = listing(1, "Austin", "TX", 1000, 100);
+        renamed.setTitle("Renamed");
+        index.onPropertyChange(PropertyChangeEvent.updated(renamed, listing(1, "Austin", "TX", 1000, 100)));
+        assertThat(index.hasStaleDigests()).isFalse();
+
+        index.onPropertyChange(PropertyChangeEvent.updated(listing(1, "Austin", "TX", 2000, 100), renamed));
+        assertThat(index.hasStaleDigests()).isTrue();
+        assertThat(index.percentiles(null, "Austin", null, null, List.of(0.0)).getPrice().get("p0"))
+                .isEqualByComparingTo("2000");
+    }
+
+    @Test
+    void digestStaysAccurateOnSkewedData() {
+        TDigest digest = new TDigest();
+        Random random = new Random(42);
+        double[] values = new double[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(12 + random.nextGaussian());
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Rank error: the share of values below the estimate should be close to q
+        for (double q : new double[]{0.01, 0.1, 0.5, 0.9, 0.99}) {
+            int rank = Arrays.binarySearch(values, digest.quantile(q));
+            double share = (double) (rank >= 0 ? rank : -rank - 1) / values.length;
+            assertThat(share).isCloseTo(q, within(0.005));
+        }
+    }
+
+    @Test
+    void rejectsOutOfRangePercentiles() {
+        assertThatThrownBy(() -> index.percentiles(null, null, null, null, List.of(150.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Property listing(long id, String city, String state, long price, long squareFeet) {
+        Property property = new Property();
+        property.setId(id);
+        property.setCity(city);
+        property.setState(state);
+        property.setPropertyType(PropertyType.HOUSE);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setPrice(BigDecimal.valueOf(price));
+        property.setSquareFeet(BigDecimal.valueOf(squareFeet));
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,142 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.SavedSearch;
+
+class SavedSearchPercolatorTest {
+
+    private static final String[] CITIES = {"Springfield", "Shelbyville", "Ogdenville", "Capital City"};
+
+    @Test
+    void matchesTheSameSearchesAsCheckingEveryOne() {
+        Random random = new Random(7);
+        SavedSearchPercolator percolator = new SavedSearchPercolator();
+        List<SavedSearch> searches = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            SavedSearch search = randomSearch(random, id);
+            searches.add(search);
+            percolator.put(search);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            Property listing = randomListing(random);
+            List<Long> expected = searches.stream()
+                    .filter(search -> SavedSearchPercolator.Criteria.of(search).matches(listing))
+                    .map(SavedSearch::getId)
+                    .toList();
+
+            assertThat(percolator.match(listing)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void followsReplacedAndRemovedSearches() {
+        SavedSearchPercolator percolator = new SavedSearchPercolator();
+        SavedSearch search = search(1L, "Springfield", null, null, new BigDecimal("300000"), new BigDecimal("400000"));
+        percolator.put(search);
+        Property listing = listing("springfield ", PropertyType.HOUSE, ListingType.FOR_SALE, "350000", 3, "1500");
+
+        assertThat(percolator.match(listing)).containsExactly(1L);
+
+        search.setMaxPrice(new BigDecimal("320000"));
+        percolator.put(search);
+        assertThat(percolator.match(listing)).isEmpty();
+
+        search.setMaxPrice(null);
+        percolator.put(search);
+        assertThat(percolator.match(listing)).containsExactly(1L);
+
+        percolator.remove(1L);
+        assertThat(percolator.match(listing)).isEmpty();
+        assertThat(percolator.stats()).containsEntry("savedSearches", 0).containsEntry("buckets", 0);
+    }
+
+    @Test
+    void boundsOnMissingValuesDoNotMatch() {
+        SavedSearchPercolator percolator = new SavedSearchPercolator();
+        SavedSearch anyCondo = search(1L, null, PropertyType.CONDO, null, null, null);
+        SavedSearch roomyCondo = search(2L, null, PropertyType.CONDO, null, null, null);
+        roomyCondo.setMinSquareFeet(new BigDecimal("1000"));
+        percolator.put(anyCondo);
+        percolator.put(roomyCondo);
+
+        Property unmeasured = listing("Ogdenville", PropertyType.CONDO, ListingType.FOR_RENT, "2500", null, null);
+
+        assertThat(percolator.match(unmeasured)).containsExactly(1L);
+    }
+
+    private static SavedSearch randomSearch(Random random, long id) {
+        SavedSearch search = search(id,
+                random.nextInt(3) == 0 ? null : CITIES[random.nextInt(CITIES.length)],
+                random.nextBoolean() ? null : PropertyType.values()[random.nextInt(PropertyType.values().length)],
+                random.nextBoolean() ? null : ListingType.values()[random.nextInt(ListingType.values().length)],
+                null, null);
+        if (random.nextInt(4) != 0) {
+            int low = 100_000 + random.nextInt(900_000);
+            search.setMinPrice(random.nextInt(5) == 0 ? null : new BigDecimal(low));
+            search.setMaxPrice(random.nextInt(5) == 0 ? null : new BigDecimal(low + random.nextInt(300_000)));
+        }
+        if (random.nextBoolean()) {
+            int beds = random.nextInt(5);
+            search.setMinBedrooms(beds);
+            search.setMaxBedrooms(random.nextBoolean() ? null : beds + random.nextInt(3));
+        }
+        if (random.nextInt(3) == 0) {
+            search.setMinSquareFeet(new BigDecimal(500 + random.nextInt(2000)));
+        }
+        if (random.nextInt(5) == 0) {
+            search.setSearchState(random.nextBoolean() ? "IL" : "OR");
+        }
+        return search;
+    }
+
+    private static Property randomListing(Random random) {
+        Property listing = listing(CITIES[random.nextInt(CITIES.length)],
+                PropertyType.values()[random.nextInt(PropertyType.values().length)],
+                ListingType.values()[random.nextInt(ListingType.values().length)],
+                String.valueOf(100_000 + random.nextInt(1_200_000)),
+                random.nextInt(8) == 0 ? null : random.nextInt(7),
+                random.nextInt(8) == 0 ? null : String.valueOf(400 + random.nextInt(3000)));
+        listing.setState(random.nextBoolean() ? "IL" : "OR");
+        return listing;
+    }
+
+    private static SavedSearch search(Long id, String city, PropertyType propertyType, ListingType listingType,
+                                      BigDecimal minPrice, BigDecimal maxPrice) {
+        SavedSearch search = new SavedSearch();
+        search.setId(id);
+        search.setName("Search " + id);
+        search.setSearchCity(city);
+        search.setSearchPropertyType(propertyType);
+        search.setSearchListingType(listingType);
+        search.setMinPrice(minPrice);
+        search.setMaxPrice(maxPrice);
+        return search;
+    }
+
+    private static Property listing(String city, PropertyType propertyType, ListingType listingType, String price,
+                                    Integer bedrooms, String squareFeet) {
+        Property listing = new Property();
+        listing.setId(1L);
+        listing.setCity(city);
+        listing.setState("IL");
+        listing.setPropertyType(propertyType);
+        listing.setListingType(listingType);
+        listing.setPrice(new BigDecimal(price));
+        listing.setBedrooms(bedrooms);
+        listing.setSquareFeet(squareFeet != null ? new BigDecimal(squareFeet) : null);
+        listing.setAvailable(true);
+        return listing;
+    }
+}
@@ -0,0 +1,131 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(true, 2, 60);
+    }
+
+    @Test
+    void keysIgnoreCaseDefaultsAndDecimalScale() {
+        PropertySearchRequest a = new PropertySearchRequest();
+        a.setCity("Chicago");
+        a.setMinPrice(new BigDecimal("100000.00"));
+
+        PropertySearchRequest b = new PropertySearchRequest();
+        b.setCity("CHICAGO");
+        b.setMinPrice(new BigDecimal("100000"));
+        b.setSortBy(null);
+        b.setSortDirection("desc");
+        b.setPage(null);
+
+        assertThat(SearchResultCache.key(a)).isEqualTo(SearchResultCache.key(b));
+        b.setSize(20);
+        assertThat(SearchResultCache.key(a)).isNotEqualTo(SearchResultCache.key(b));
+    }
+
+    @Test
+    void keysTrimLocationFiltersLikeTheInvalidationCheck() {
+        PropertySearchRequest padded = request(" Chicago ", ListingType.FOR_RENT);
+        PropertySearchRequest plain = request("chicago", ListingType.FOR_RENT);
+        assertThat(SearchResultCache.key(padded)).isEqualTo(SearchResultCache.key(plain));
+
+        store(padded);
+        cache.onPropertyChange(PropertyChangeEvent.created(listing(8L, "Chicago", ListingType.FOR_RENT)));
+        assertThat(cache.get(SearchResultCache.key(plain))).isNull();
+    }
+
+    @Test
+    void invalidatesOnlyEntriesTheChangeCouldMatch() {
+        PropertySearchRequest chicagoRentals = request("chicago", ListingType.FOR_RENT);
+        PropertySearchRequest springfieldSales = request("Springfield", ListingType.FOR_SALE);
+        store(chicagoRentals);
+        store(springfieldSales);
+
+        cache.onPropertyChange(PropertyChangeEvent.created(listing(7L, "West Chicago", ListingType.FOR_RENT)));
+
+        assertThat(cache.get(SearchResultCache.key(chicagoRentals))).isNull();
+        assertThat(cache.get(SearchResultCache.key(springfieldSales))).isNotNull();
+    }
+
+    @Test
+    void updatesInvalidateTheCityTheListingMovedAwayFrom() {
+        PropertySearchRequest springfieldSales = request("Springfield", ListingType.FOR_SALE);
+        store(springfieldSales);
+
+        Property before = listing(3L, "Springfield", ListingType.FOR_SALE);
+        Property after = listing(3L, "Naperville", ListingType.FOR_SALE);
+        cache.onPropertyChange(PropertyChangeEvent.updated(after, PropertyChangeEvent.snapshot(before)));
+
+        assertThat(cache.get(SearchResultCache.key(springfieldSales))).isNull();
+    }
+
+    @Test
+    void discardsResultsComputedAcrossAWrite() {
+        PropertySearchRequest request = request("Chicago", ListingType.FOR_SALE);
+        long generation = cache.generation();
+        cache.onPropertyChange(PropertyChangeEvent.created(listing(9L, "Evanston", ListingType.FOR_SALE)));
+        cache.put(SearchResultCache.key(request), request, page(List.of(1L)), generation);
+
+        assertThat(cache.get(SearchResultCache.key(request))).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndCountsHits() {
+        PropertySearchRequest first = request("Chicago", null);
+        PropertySearchRequest second = request("Evanston", null);
+        PropertySearchRequest third = request("Naperville", null);
+        store(first);
+        store(second);
+        cache.get(SearchResultCache.key(first));
+        store(third);
+
+        assertThat(cache.get(SearchResultCache.key(second))).isNull();
+        assertThat(cache.get(SearchResultCache.key(first))).isNotNull();
+        assertThat(cache.stats()).containsEntry("hits", 2L).containsEntry("misses", 1L).containsEntry("evictions", 1L);
+    }
+
+    private void store(PropertySearchRequest request) {
+        cache.put(SearchResultCache.key(request), request, page(List.of(1L, 2L)), cache.generation());
+    }
+
+    private PageResponse<Long> page(List<Long> ids) {
+        return PageResponse.<Long>builder().content(ids).pageSize(10).totalElements(ids.size()).totalPages(1).build();
+    }
+
+    private PropertySearchRequest request(String city, ListingType listingType) {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setCity(city);
+        request.setListingType(listingType);
+        return request;
+    }
+
+    private Property listing(Long id, String city, ListingType listingType) {
+        Property property = new Property();
+        property.setId(id);
+        property.setCity(city);
+        property.setState("IL");
+        property.setPropertyType(PropertyType.HOUSE);
+        property.setListingType(listingType);
+        property.setAvailable(true);
+        return property;
+    }
+}
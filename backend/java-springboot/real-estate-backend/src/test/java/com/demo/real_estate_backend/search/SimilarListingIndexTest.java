@@ -0,0 +1,98 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+
+class SimilarListingIndexTest {
+
+    @Test
+    void graphRecallMatchesBruteForceAndSkipsDeletedNodes() {
+        Random random = new Random(7);
+        int size = 5000;
+        float[][] vectors = new float[size][];
+        HnswGraph graph = new HnswGraph(SimilarListingIndex.DIMENSIONS, 16, 100, 1);
+        for (int i = 0; i < size; i++) {
+            vectors[i] = new float[SimilarListingIndex.DIMENSIONS];
+            for (int d = 0; d < vectors[i].length; d++) {
+                vectors[i][d] = (float) random.nextGaussian();
+            }
+            graph.add(i, vectors[i]);
+        }
+        for (int i = 0; i < size; i += 10) {
+            graph.delete(i);
+        }
+
+        int k = 10;
+        int found = 0;
+        for (int q = 0; q < 100; q++) {
+            float[] query = vectors[random.nextInt(size)];
+            List<Long> exact = IntStream.range(0, size)
+                    .filter(i -> i % 10 != 0)
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(i -> HnswGraph.squaredDistance(query, vectors[i])))
+                    .limit(k)
+                    .map(Integer::longValue)
+                    .collect(Collectors.toList());
+            List<Long> approximate = graph.search(query, k, 64).stream()
+                    .map(HnswGraph.Neighbor::label)
+                    .collect(Collectors.toList());
+            assertThat(approximate).hasSize(k).noneMatch(label -> label % 10 == 0);
+            found += (int) approximate.stream().filter(exact::contains).count();
+        }
+        assertThat(found / (100.0 * k)).isGreaterThan(0.95);
+    }
+
+    @Test
+    void ranksListingsOfTheSameListingTypeByFeatureDistance() {
+        SimilarListingIndex index = new SimilarListingIndex(true, 64, 0.25, 0);
+        Property target = listing(1L, ListingType.FOR_SALE, PropertyType.HOUSE, "400000", 3, 30.27, -97.74);
+        index.onPropertyChange(PropertyChangeEvent.created(target));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(2L, ListingType.FOR_SALE, PropertyType.HOUSE, "420000", 3, 30.28, -97.75)));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(3L, ListingType.FOR_SALE, PropertyType.HOUSE, "900000", 5, 30.27, -97.74)));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(4L, ListingType.FOR_SALE, PropertyType.CONDO, "400000", 3, 32.78, -96.80)));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(5L, ListingType.FOR_RENT, PropertyType.HOUSE, "400000", 3, 30.27, -97.74)));
+
+        assertThat(index.similar(target, 5)).extracting(SimilarListingIndex.Match::id).containsExactly(2L, 3L, 4L);
+
+        // An update moves the listing; a listing that is no longer available drops out
+        index.onPropertyChange(PropertyChangeEvent.updated(listing(3L, ListingType.FOR_SALE, PropertyType.HOUSE, "400000", 3, 30.27, -97.74)));
+        Property withdrawn = listing(2L, ListingType.FOR_SALE, PropertyType.HOUSE, "420000", 3, 30.28, -97.75);
+        withdrawn.setAvailable(false);
+        index.onPropertyChange(PropertyChangeEvent.updated(withdrawn));
+
+        assertThat(index.similar(target, 5)).extracting(SimilarListingIndex.Match::id).containsExactly(3L, 4L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private static Property listing(Long id, ListingType listingType, PropertyType propertyType, String price,
+                                    int bedrooms, double latitude, double longitude) {
+        Property property = new Property();
+        property.setId(id);
+        property.setListingType(listingType);
+        property.setPropertyType(propertyType);
+        property.setPrice(new BigDecimal(price));
+        property.setBedrooms(bedrooms);
+        property.setBathrooms(2);
+        property.setSquareFeet(new BigDecimal(1800));
+        property.setYearBuilt(2005);
+        property.setLatitude(latitude);
+        property.setLongitude(longitude);
+        property.setCity("Austin");
+        property.setState("TX");
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.real_estate_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.demo.real_estate_backend.dto.Suggestion;
+import com.demo.real_estate_backend.event.BuilderGroupChangeEvent;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.BuilderGroup;
+import com.demo.real_estate_backend.model.Property;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+        index.onPropertyChange(PropertyChangeEvent.created(listing(1L, "Springfield", "IL", "62701")));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(2L, "Schaumburg", "IL", "60173")));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(3L, "Schaumburg", "IL", "60173")));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(4L, "Chicago", "IL", "60601")));
+        index.onPropertyChange(PropertyChangeEvent.created(listing(5L, "Springdale", "AR", "72762")));
+    }
+
+    @Test
+    void ranksPrefixMatchesByListingCount() {
+        assertThat(index.suggest("S", null, 10)).extracting(Suggestion::getValue)
+                .containsExactly("Schaumburg", "Springdale", "Springfield");
+        assertThat(index.suggest("spring", SuggestionIndex.Field.CITY, 1)).extracting(Suggestion::getValue)
+                .containsExactly("Springdale");
+    }
+
+    @Test
+    void coversStatesAndZipCodes() {
+        assertThat(index.suggest("i", SuggestionIndex.Field.STATE, 10)).singleElement()
+                .satisfies(s -> assertThat(s.getListingCount()).isEqualTo(4));
+        assertThat(index.suggest("601", null, 10)).extracting(Suggestion::getValue).containsExactly("60173");
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.onPropertyChange(PropertyChangeEvent.updated(listing(1L, "Chicago", "IL", "60601")));
+        index.onPropertyChange(PropertyChangeEvent.deleted(5L));
+
+        assertThat(index.suggest("spring", null, 10)).isEmpty();
+        assertThat(index.suggest("ch", SuggestionIndex.Field.CITY, 10)).singleElement()
+                .satisfies(s -> assertThat(s.getListingCount()).isEqualTo(2));
+        assertThat(index.values(SuggestionIndex.Field.CITY)).containsExactly("Chicago", "Schaumburg");
+    }
+
+    @Test
+    void movesListingsToTheCommittedNameOfTheirBuilderGroup() {
+        // Two groups with the same name are told apart by id
+        index.onBuilderGroupChange(new BuilderGroupChangeEvent(10L, "Summit Homes"));
+        index.onBuilderGroupChange(new BuilderGroupChangeEvent(11L, "Summit Homes"));
+        index.onPropertyChange(PropertyChangeEvent.created(inBuilderGroup(listing(6L, "Chicago", "IL", "60601"), 10L)));
+        index.onPropertyChange(PropertyChangeEvent.created(inBuilderGroup(listing(7L, "Chicago", "IL", "60601"), 11L)));
+
+        index.onBuilderGroupChange(new BuilderGroupChangeEvent(10L, "Peak Homes"));
+
+        assertThat(index.suggest("summit", SuggestionIndex.Field.BUILDER_GROUP, 10)).singleElement()
+                .satisfies(s -> assertThat(s.getListingCount()).isEqualTo(1));
+        assertThat(index.suggest("peak", SuggestionIndex.Field.BUILDER_GROUP, 10)).singleElement()
+                .satisfies(s -> assertThat(s.getListingCount()).isEqualTo(1));
+    }
+
+    private static Property inBuilderGroup(Property property, Long builderGroupId) {
+        BuilderGroup builderGroup = new BuilderGroup();
+        builderGroup.setId(builderGroupId);
+        property.setBuilderGroup(builderGroup);
+        return property;
+    }
+
+    private Property listing(Long id, String city, String state, String zipCode) {
+        Property property = new Property();
+        property.setId(id);
+        property.setCity(city);
+        property.setState(state);
+        property.setZipCode(zipCode);
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,53 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 1000, now::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndLetsOneTrialThroughLater() {
+        breaker.tryAcquire();
+        breaker.onFailure();
+        breaker.tryAcquire();
+        breaker.onSuccess();
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(1000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        // A failed trial re-opens at once, a successful one closes
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+        now.addAndGet(1000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void releasedTrialDoesNotCountEitherWay() {
+        for (int i = 0; i < 3; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+        now.addAndGet(1000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.release();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,261 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The .NET plugin against a local stub server: gzip both ways over pooled keep-alive
+ * connections, cached rankings, and falling back to the native ranking on timeouts, an open
+ * circuit or a full bulkhead.
+ */
+// A fresh context per test resets the breaker, bulkhead and cache; its own database keeps the
+// create-drop on each close away from the contexts other test classes share
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dotnet_client_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "recommendation.dotnet.enabled=true",
+        "recommendation.dotnet.gzip-requests=true",
+        "recommendation.dotnet.read-timeout-ms=1000",
+        "recommendation.dotnet.breaker.failure-threshold=2",
+        "recommendation.dotnet.breaker.open-seconds=60",
+        "recommendation.dotnet.bulkhead.max-concurrent=1",
+        "recommendation.dotnet.bulkhead.wait-ms=0"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DotNetRecommendationClientTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final HttpServer stub;
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private static volatile long delayMillis;
+    private static volatile CountDownLatch hold;
+    private static volatile boolean gzipRequestSeen;
+
+    static {
+        try {
+            stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        stub.setExecutor(Executors.newCachedThreadPool());
+        // Ranks the candidates by descending price, the opposite of the native budget fit here
+        stub.createContext("/api/recommend", exchange -> {
+            requests.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            InputStream in = exchange.getRequestBody();
+            if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                gzipRequestSeen = true;
+                in = new GZIPInputStream(in);
+            }
+            JsonNode body = JSON.readTree(in);
+            pause();
+            List<JsonNode> properties = new ArrayList<>();
+            body.get("properties").forEach(properties::add);
+            properties.sort((a, b) -> b.get("price").decimalValue().compareTo(a.get("price").decimalValue()));
+            List<Map<String, Object>> ranked = new ArrayList<>();
+            properties.forEach(property -> ranked.add(Map.of("id", property.get("id").asLong())));
+
+            byte[] response = JSON.writeValueAsBytes(ranked);
+            boolean gzip = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")).contains("gzip");
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                    out.write(response);
+                }
+            } else {
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        stub.start();
+    }
+
+    @DynamicPropertySource
+    static void stubUrl(DynamicPropertyRegistry registry) {
+        registry.add("recommendation.dotnet.url",
+                () -> "http://localhost:" + stub.getAddress().getPort() + "/api/recommend");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private DotNetRecommendationClient client;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void reset() {
+        requests.set(0);
+        clientPorts.clear();
+        delayMillis = 0;
+        hold = null;
+        gzipRequestSeen = false;
+    }
+
+    @Test
+    void usesTheServiceRankingOverPooledGzipConnectionsAndCachesIt() {
+        List<Long> ids = seed("Stubville");
+        try {
+            List<Long> ranked = ids(recommendationService.recommend("Stubville", 300000, 10));
+            assertThat(ranked).containsExactly(ids.get(2), ids.get(0), ids.get(1));
+            assertThat(gzipRequestSeen).isTrue();
+
+            // Same location, a budget in the same 5% bucket: answered from the cache
+            assertThat(ids(recommendationService.recommend("stubville", 301000, 10))).isEqualTo(ranked);
+            assertThat(requests.get()).isEqualTo(1);
+
+            // Another bucket goes to the service again, over the same kept-alive connection
+            recommendationService.recommend("Stubville", 350000, 10);
+            assertThat(requests.get()).isEqualTo(2);
+            assertThat(clientPorts).hasSize(1);
+        } finally {
+            cleanUp();
+        }
+    }
+
+    @Test
+    void fallsBackOnTimeoutsAndStopsCallingOnceTheCircuitOpens() {
+        List<Long> ids = seed("Slowville");
+        try {
+            delayMillis = 3000;
+            for (int budget : new int[] {300000, 400000}) {
+                long start = System.nanoTime();
+                List<Long> ranked = ids(recommendationService.recommend("Slowville", budget, 10));
+                assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2500);
+                assertThat(ranked).isNotEmpty();
+            }
+            assertThat(ids(recommendationService.recommend("Slowville", 300000, 10)))
+                    .containsExactly(ids.get(0), ids.get(1), ids.get(2));
+            assertThat(requests.get()).isEqualTo(2);
+            assertThat(client.stats()).containsEntry("circuit", "OPEN").containsEntry("shortCircuited", 1L);
+        } finally {
+            cleanUp();
+        }
+    }
+
+    @Test
+    void bulkheadTurnsAwayCallsWhileTheServiceIsBusy() throws Exception {
+        List<Long> ids = seed("Busyville");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            hold = new CountDownLatch(1);
+            Future<List<Property>> first = executor.submit(() -> recommendationService.recommend("Busyville", 300000, 10));
+            while (requests.get() == 0) {
+                Thread.sleep(5);
+            }
+
+            // The only permit is taken: answered natively at once, without calling the stub
+            assertThat(ids(recommendationService.recommend("Busyville", 400000, 10))).isNotEmpty();
+            assertThat(requests.get()).isEqualTo(1);
+            assertThat(client.stats()).containsEntry("rejectedByBulkhead", 1L);
+
+            hold.countDown();
+            assertThat(ids(first.get(5, TimeUnit.SECONDS))).containsExactly(ids.get(2), ids.get(0), ids.get(1));
+        } finally {
+            hold.countDown();
+            executor.shutdownNow();
+            cleanUp();
+        }
+    }
+
+    private static void pause() {
+        try {
+            CountDownLatch latch = hold;
+            if (latch != null) {
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Committed so the executor thread in the bulkhead test can read them
+    private List<Long> seed(String city) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String price : new String[] {"300000", "290000", "320000"}) {
+                Property property = new Property();
+                property.setTitle(city + " " + price);
+                property.setDescription("Stub candidate");
+                property.setPrice(new BigDecimal(price));
+                property.setAddress(price + " Stub Lane");
+                property.setCity(city);
+                property.setState("WA");
+                property.setZipCode("98000");
+                property.setPropertyType(PropertyType.HOUSE);
+                property.setListingType(ListingType.FOR_SALE);
+                property.setBedrooms(3);
+                property.setBathrooms(2);
+                property.setSquareFeet(new BigDecimal(1500));
+                property.setAvailable(true);
+                seeded.add(propertyRepository.save(property).getId());
+            }
+        });
+        return Collections.unmodifiableList(seeded);
+    }
+
+    private void cleanUp() {
+        propertyRepository.deleteAllById(seeded);
+    }
+
+    private static List<Long> ids(List<Property> properties) {
+        return properties.stream().map(Property::getId).toList();
+    }
+}
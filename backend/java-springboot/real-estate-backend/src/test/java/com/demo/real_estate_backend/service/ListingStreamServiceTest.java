@@ -0,0 +1,156 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.service.ListingStreamService.Filter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Events are sent from the fan-out pool, so the emitters here record what they were sent
+ * and the assertions wait for it.
+ */
+class ListingStreamServiceTest {
+
+    private final ListingStreamService service = new ListingStreamService(
+            new ObjectMapper().registerModule(new JavaTimeModule()), 2, 4, 100, 30, 0, 60000);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void pushesListingsEnteringAndLeavingTheFilter() throws InterruptedException {
+        RecordingEmitter austin = new RecordingEmitter();
+        RecordingEmitter dallas = new RecordingEmitter();
+        service.subscribe(new Filter("Austin", PropertyType.HOUSE, null, null, new BigDecimal("400000")), austin);
+        service.subscribe(new Filter("dallas", null, null, null, null), dallas);
+
+        Property listing = listing(1L, "300000");
+        service.onPropertyChange(PropertyChangeEvent.created(listing));
+        Property repriced = listing(1L, "450000");
+        service.onPropertyChange(PropertyChangeEvent.updated(repriced, listing));
+
+        austin.await(2);
+        assertThat(austin.events).hasSize(2);
+        assertThat(austin.events.get(0)).contains("event:listing").contains("\"id\":1").contains("300000");
+        assertThat(austin.events.get(1)).contains("event:removed").contains("{\"id\":1}");
+        assertThat(dallas.events).isEmpty();
+        assertThat(service.stats()).containsEntry("subscribers", 2).containsEntry("pushed", 2L);
+    }
+
+    @Test
+    void closesASubscriberThatFallsBehind() throws InterruptedException {
+        BlockedEmitter slow = new BlockedEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        service.subscribe(new Filter(null, null, null, null, null), slow);
+        service.subscribe(new Filter(null, null, null, null, null), fast);
+
+        // The fast one keeps up with every event; the slow one holds four and is closed on the sixth
+        for (long id = 1; id <= 10; id++) {
+            service.onPropertyChange(PropertyChangeEvent.created(listing(id, "300000")));
+            fast.await((int) id);
+        }
+
+        assertThat(fast.events).hasSize(10);
+        assertThat(service.stats()).containsEntry("subscribers", 1).containsEntry("evicted", 1L);
+        slow.release.countDown();
+    }
+
+    @Test
+    void evictsAStalledSendWithoutHoldingUpTheOthers() throws InterruptedException {
+        ListingStreamService single = new ListingStreamService(
+                new ObjectMapper().registerModule(new JavaTimeModule()), 1, 4, 100, 30, 0, 200);
+        BlockedEmitter stalled = new BlockedEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        try {
+            single.subscribe(new Filter(null, null, null, null, null), stalled);
+            single.onPropertyChange(PropertyChangeEvent.created(listing(1L, "300000")));
+            // The stalled send holds the only fan-out thread until the deadline passes
+            single.subscribe(new Filter(null, null, null, null, null), fast);
+            single.onPropertyChange(PropertyChangeEvent.created(listing(2L, "300000")));
+            fast.await(1);
+
+            assertThat(fast.events).hasSize(1);
+            assertThat(single.stats()).containsEntry("subscribers", 1)
+                    .containsEntry("stalledSends", 1L).containsEntry("evicted", 1L);
+        } finally {
+            stalled.release.countDown();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void refusesSubscribersPastTheLimit() {
+        ListingStreamService small = new ListingStreamService(new ObjectMapper(), 1, 4, 1, 30, 0, 60000);
+        try {
+            assertThat(small.subscribe(new Filter(null, null, null, null, null))).isPresent();
+            assertThat(small.subscribe(new Filter(null, null, null, null, null))).isEmpty();
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    private static Property listing(Long id, String price) {
+        Property property = new Property();
+        property.setId(id);
+        property.setTitle("Streamed home");
+        property.setPrice(new BigDecimal(price));
+        property.setCity("Austin");
+        property.setState("TX");
+        property.setPropertyType(PropertyType.HOUSE);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setAvailable(true);
+        return property;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    // Never returns from its first send, like a client that stopped reading
+    private static class BlockedEmitter extends SseEmitter {
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
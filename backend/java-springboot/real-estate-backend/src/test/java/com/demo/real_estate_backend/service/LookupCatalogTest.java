@@ -0,0 +1,160 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.demo.real_estate_backend.dto.BuilderGroupRequest;
+import com.demo.real_estate_backend.dto.BuilderGroupResponse;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.model.BuilderGroup;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.service.LookupCatalog.Lookup;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Lookups are rebuilt only after a committed write that can change them, so the writes here
+ * commit and are removed again afterwards; the database is this class's own.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lookup_catalog_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "lookup.cache.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class LookupCatalogTest {
+
+    @Autowired
+    private LookupCatalog lookupCatalog;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private BuilderGroupService builderGroupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Property property;
+
+    private BuilderGroupResponse builderGroup;
+
+    @AfterEach
+    void cleanUp() {
+        if (property != null) {
+            propertyService.deleteProperty(property.getId());
+        }
+        if (builderGroup != null) {
+            builderGroupService.deleteBuilderGroup(builderGroup.getId());
+        }
+    }
+
+    @Test
+    void servesTheCachedBodyAndA304WithoutQueries() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ResponseEntity<byte[]> response = lookupCatalog.respond(Lookup.CITIES, request(first));
+        String etag = response.getHeaders().getETag();
+        assertThat(etag).isEqualTo("\"" + lookupCatalog.etag() + "\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=60");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(lookupCatalog.respond(Lookup.CITIES, request(new MockHttpServletResponse())).getBody())
+                .isEqualTo(response.getBody());
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        ServletWebRequest conditional = request(revalidated);
+        ((MockHttpServletRequest) conditional.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        assertThat(lookupCatalog.respond(Lookup.CITIES, conditional)).isNull();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void bumpsTheVersionOnWritesThatChangeALookup() {
+        String initial = lookupCatalog.etag();
+        property = propertyService.createProperty(listing("Lookupville"));
+        String created = lookupCatalog.etag();
+        assertThat(created).isNotEqualTo(initial);
+        assertThat(body(Lookup.CITIES)).contains("\"Lookupville\"");
+
+        // A new price moves none of the lookups
+        Property repriced = listing("Lookupville");
+        repriced.setPrice(new BigDecimal("275000"));
+        propertyService.updateProperty(property.getId(), repriced);
+        assertThat(lookupCatalog.etag()).isEqualTo(created);
+
+        Property unlisted = listing("Lookupville");
+        unlisted.setAvailable(false);
+        propertyService.updateProperty(property.getId(), unlisted);
+        assertThat(lookupCatalog.etag()).isNotEqualTo(created);
+        assertThat(body(Lookup.CITIES)).doesNotContain("\"Lookupville\"");
+
+        String beforeGroup = lookupCatalog.etag();
+        builderGroup = builderGroupService.createBuilderGroup(BuilderGroupRequest.builder().name("Lookup Homes").build());
+        assertThat(lookupCatalog.etag()).isNotEqualTo(beforeGroup);
+        assertThat(body(Lookup.BUILDER_GROUPS)).contains("\"Lookup Homes\"");
+    }
+
+    @Test
+    void bumpsTheVersionWhenAListingMovesToAnotherBuilderGroup() {
+        Property previous = listing("Lookupville");
+        previous.setBuilderGroup(builderGroup(1L));
+        Property moved = listing("Lookupville");
+        moved.setBuilderGroup(builderGroup(2L));
+        String before = lookupCatalog.etag();
+
+        lookupCatalog.onPropertyChange(PropertyChangeEvent.updated(moved, previous));
+
+        assertThat(lookupCatalog.etag()).isNotEqualTo(before);
+    }
+
+    private String body(Lookup lookup) {
+        return new String(lookupCatalog.respond(lookup, request(new MockHttpServletResponse())).getBody(),
+                StandardCharsets.UTF_8);
+    }
+
+    private static ServletWebRequest request(MockHttpServletResponse response) {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/properties/cities"), response);
+    }
+
+    private static BuilderGroup builderGroup(Long id) {
+        BuilderGroup group = new BuilderGroup();
+        group.setId(id);
+        return group;
+    }
+
+    private static Property listing(String city) {
+        Property property = new Property();
+        property.setTitle("Lookup home");
+        property.setDescription("Listed in a new city");
+        property.setPrice(new BigDecimal("250000"));
+        property.setAddress("1 Catalog Court");
+        property.setCity(city);
+        property.setState("NV");
+        property.setZipCode("89000");
+        property.setPropertyType(PropertyType.CONDO);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(2);
+        property.setBathrooms(1);
+        property.setSquareFeet(new BigDecimal("950"));
+        property.setAvailable(true);
+        return property;
+    }
+}
@@ -0,0 +1,171 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.real_estate_backend.dto.ChangeFeed;
+import com.demo.real_estate_backend.event.PropertyChangeEvent.ChangeType;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.User;
+import com.demo.real_estate_backend.model.UserType;
+import com.demo.real_estate_backend.repository.UserRepository;
+
+/**
+ * The change log is written in the committing transaction, so these writes commit. Each test
+ * reads the feed from the token current when it starts.
+ */
+@SpringBootTest
+class PropertyChangeLogTest {
+
+    @Autowired
+    private PropertyChangeLog propertyChangeLog;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void logsCreatesUpdatesAndTombstonesInCommitOrder() {
+        long start = head();
+        Property property = propertyService.createProperty(listing("250000"));
+        propertyService.updateProperty(property.getId(), listing("275000"));
+        // Nothing the feed reports changed, so nothing is logged
+        propertyService.updateProperty(property.getId(), listing("275000.00"));
+        assertThat(propertyService.deleteProperty(property.getId())).isTrue();
+
+        ChangeFeed feed = propertyChangeLog.getChanges(start, 10);
+
+        assertThat(feed.getChanges()).extracting(ChangeFeed.Change::getType)
+                .containsExactly(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED);
+        assertThat(feed.getChanges()).extracting(ChangeFeed.Change::getToken)
+                .containsExactly(start + 1, start + 2, start + 3);
+        assertThat(feed.getChanges()).allMatch(change -> change.getPropertyId().equals(property.getId()));
+        assertThat(feed.getChanges().get(1).getFields()).containsOnlyKeys("price");
+        assertThat(String.valueOf(feed.getChanges().get(1).getFields().get("price"))).isEqualTo("275000");
+        assertThat(feed.getChanges().get(2).getFields()).isNull();
+        assertThat(feed.getNextToken()).isEqualTo(start + 3);
+        assertThat(feed.isHasMore()).isFalse();
+        assertThat(propertyChangeLog.getChanges(feed.getNextToken(), 10).getChanges()).isEmpty();
+    }
+
+    @Test
+    void leavesNoEntryForARolledBackWrite() {
+        long start = head();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            propertyService.createProperty(listing("250000"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(head()).isEqualTo(start);
+    }
+
+    @Test
+    void logsTombstonesForTheListingsOfADeletedOwner() {
+        User owner = new User();
+        owner.setFirstName("Feed");
+        owner.setLastName("Owner");
+        owner.setEmail("owner@feed.test");
+        owner.setPassword("password123");
+        owner.setPhone("(555) 000-0000");
+        owner.setUserType(UserType.OWNER);
+        owner = userRepository.save(owner);
+        Property listing = listing("250000");
+        listing.setOwner(owner);
+        Long propertyId = propertyService.createProperty(listing).getId();
+        long start = head();
+
+        userService.deleteUser(owner.getId());
+
+        ChangeFeed feed = propertyChangeLog.getChanges(start, 10);
+        assertThat(feed.getChanges()).singleElement().satisfies(change -> {
+            assertThat(change.getType()).isEqualTo(ChangeType.DELETED);
+            assertThat(change.getPropertyId()).isEqualTo(propertyId);
+        });
+    }
+
+    @Test
+    void logsNoTombstoneForAnUnknownListing() {
+        long start = head();
+
+        assertThat(propertyService.deleteProperty(Long.MAX_VALUE)).isFalse();
+
+        assertThat(head()).isEqualTo(start);
+    }
+
+    @Test
+    void pagesThroughTheFeedAndRejectsPrunedTokens() {
+        long start = head();
+        Property first = propertyService.createProperty(listing("250000"));
+        Property second = propertyService.createProperty(listing("260000"));
+        Property third = propertyService.createProperty(listing("270000"));
+
+        ChangeFeed page = propertyChangeLog.getChanges(start, 2);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getChanges()).extracting(ChangeFeed.Change::getPropertyId)
+                .containsExactly(first.getId(), second.getId());
+        ChangeFeed rest = propertyChangeLog.getChanges(page.getNextToken(), 2);
+        assertThat(rest.isHasMore()).isFalse();
+        assertThat(rest.getChanges()).extracting(ChangeFeed.Change::getPropertyId).containsExactly(third.getId());
+        assertThatThrownBy(() -> propertyChangeLog.getChanges(rest.getNextToken() + 1, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        jdbcTemplate.update("UPDATE property_changes SET changed_at = ? WHERE id <= ?",
+                Timestamp.valueOf(LocalDateTime.of(2000, 1, 1, 0, 0)), start + 1);
+        assertThat(propertyChangeLog.prune()).isPositive();
+        assertThatThrownBy(() -> propertyChangeLog.getChanges(start, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("download the catalog again");
+        assertThat(propertyChangeLog.getChanges(start + 1, 2).getChanges()).hasSize(2);
+
+        propertyService.deleteProperty(first.getId());
+        propertyService.deleteProperty(second.getId());
+        propertyService.deleteProperty(third.getId());
+    }
+
+    private long head() {
+        return propertyChangeLog.getChanges(null, 1).getNextToken();
+    }
+
+    private static Property listing(String price) {
+        Property property = new Property();
+        property.setTitle("Synced home");
+        property.setDescription("Followed through the change feed");
+        property.setPrice(new BigDecimal(price));
+        property.setAddress("9 Delta Drive");
+        property.setCity("Feedtown");
+        property.setState("OH");
+        property.setZipCode("43000");
+        property.setPropertyType(PropertyType.TOWNHOUSE);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(3);
+        property.setBathrooms(2);
+        property.setSquareFeet(new BigDecimal("1600"));
+        property.setAvailable(true);
+        return property;
+    }
+}
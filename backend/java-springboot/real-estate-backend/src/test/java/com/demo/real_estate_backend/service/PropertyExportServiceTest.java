@@ -0,0 +1,128 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.controller.PropertyController;
+import com.demo.real_estate_backend.exception.ServiceUnavailableException;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class PropertyExportServiceTest {
+
+    // Far enough ahead that the demo listings are never part of an incremental pull
+    private static final LocalDateTime SEEDED_AT = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    private PropertyExportService propertyExportService;
+
+    @Autowired
+    private PropertyController propertyController;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 3; i++) {
+            Property property = new Property();
+            property.setTitle(i == 0 ? "Loft, \"river view\"" : "Export " + i);
+            property.setDescription("Feed listing " + i);
+            property.setPrice(new BigDecimal("250000.50"));
+            property.setAddress(i + " Feed Street");
+            property.setCity("Exportville");
+            property.setState("IL");
+            property.setZipCode("60000");
+            property.setPropertyType(PropertyType.HOUSE);
+            property.setListingType(ListingType.FOR_SALE);
+            property.setBedrooms(2);
+            property.setBathrooms(1);
+            property.setSquareFeet(new BigDecimal("900"));
+            property.setAvailable(i != 2);
+            property.setUpdatedAt(SEEDED_AT.plusDays(i));
+            propertyRepository.save(property);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = propertyExportService.export(out, PropertyExportService.Format.NDJSON, SEEDED_AT);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("title").asText()).isEqualTo("Loft, \"river view\"");
+        assertThat(first.get("price").decimalValue()).isEqualByComparingTo("250000.50");
+        assertThat(first.get("propertyType").asText()).isEqualTo("HOUSE");
+        assertThat(objectMapper.readTree(lines.get(2)).get("available").asBoolean()).isFalse();
+    }
+
+    @Test
+    void onlyExportsListingsUpdatedSince() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = propertyExportService.export(out, PropertyExportService.Format.NDJSON, SEEDED_AT.plusDays(1));
+
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    void refusesExportsPastTheConcurrencyLimit() {
+        assertThat(propertyExportService.tryAcquireSlot()).isTrue();
+        assertThat(propertyExportService.tryAcquireSlot()).isTrue();
+        try {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertThatThrownBy(() -> propertyController.exportProperties("ndjson", null, response))
+                    .isInstanceOf(ServiceUnavailableException.class);
+            // Refused before any of the export's headers are set
+            assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        } finally {
+            propertyExportService.releaseSlot();
+            propertyExportService.releaseSlot();
+        }
+        assertThat(propertyExportService.tryAcquireSlot()).isTrue();
+        propertyExportService.releaseSlot();
+    }
+
+    @Test
+    void writesQuotedCsvWithHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        propertyExportService.export(out, PropertyExportService.Format.CSV, SEEDED_AT);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo(String.join(",", PropertyRepository.EXPORT_COLUMNS));
+        assertThat(lines.get(1)).contains(",\"Loft, \"\"river view\"\"\",").contains(",250000.50,");
+    }
+}
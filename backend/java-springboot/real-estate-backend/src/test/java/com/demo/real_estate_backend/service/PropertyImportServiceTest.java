@@ -0,0 +1,145 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.demo.real_estate_backend.dto.ImportReport;
+import com.demo.real_estate_backend.service.PropertyExportService.Format;
+
+/**
+ * Feed imports commit chunk by chunk, so the rows are removed again by their imp- keys.
+ * A batch size of 2 makes every test span several chunks.
+ */
+@SpringBootTest(properties = "import.batch-size=2")
+class PropertyImportServiceTest {
+
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    @Autowired
+    private PropertyExportService propertyExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM properties WHERE external_key LIKE 'imp-%'");
+    }
+
+    @Test
+    void insertsNewKeysAndUpdatesKnownOnes() throws Exception {
+        ImportReport first = importNdjson(row("imp-1", "300000"), row("imp-2", "310000"), row("imp-3", "320000"));
+        assertThat(first.getCreated()).isEqualTo(3);
+        assertThat(first.getUpdated()).isZero();
+        Timestamp createdAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM properties WHERE external_key = 'imp-2'", Timestamp.class);
+
+        // imp-4 appears twice: inserted, then updated by the later row; imp-3 is sent as it is
+        ImportReport second = importNdjson(row("imp-2", "305000"), row("imp-3", "320000"), row("imp-4", "400000"),
+                row("imp-4", "410000"));
+        assertThat(second.getRows()).isEqualTo(4);
+        assertThat(second.getCreated()).isEqualTo(1);
+        assertThat(second.getUpdated()).isEqualTo(2);
+        assertThat(second.getUnchanged()).isEqualTo(1);
+        assertThat(price("imp-2")).isEqualByComparingTo("305000");
+        assertThat(price("imp-4")).isEqualByComparingTo("410000");
+        assertThat(jdbcTemplate.queryForObject("SELECT created_at FROM properties WHERE external_key = 'imp-2'",
+                Timestamp.class)).isEqualTo(createdAt);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties WHERE external_key LIKE 'imp-%'",
+                Long.class)).isEqualTo(4);
+    }
+
+    @Test
+    void reportsFailedRowsAndImportsTheRest() throws Exception {
+        ImportReport report = importNdjson(
+                row("imp-1", "300000"),
+                "{not json",
+                row("", "300000"),
+                row("imp-2", "-5"),
+                row("imp-3", "300000").replace("\"Imported home\"", "\"" + "x".repeat(300) + "\""),
+                "",
+                row("imp-4", "300000"));
+
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(ImportReport.RowError::getLine).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("externalKey is required");
+        assertThat(report.getErrors().get(2).getMessage()).isEqualTo("Price must be greater than 0");
+        // Too long for the title column: refused by the database, found by retrying its chunk row by row
+        assertThat(report.getErrors().get(3).getExternalKey()).isEqualTo("imp-3");
+        assertThat(report.getErrors().get(3).getMessage()).startsWith("Rejected by the database");
+        assertThat(price("imp-4")).isEqualByComparingTo("300000");
+    }
+
+    @Test
+    void readsTheExportCsvBack() throws Exception {
+        importNdjson(row("imp-1", "300000"), row("imp-2", "310000"));
+        jdbcTemplate.update("UPDATE properties SET description = 'Line one,\nline \"two\"', updated_at = ?"
+                + " WHERE external_key LIKE 'imp-%'", Timestamp.valueOf(LocalDateTime.of(2100, 1, 1, 0, 0)));
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        propertyExportService.export(csv, Format.CSV, LocalDateTime.of(2100, 1, 1, 0, 0));
+        jdbcTemplate.update("UPDATE properties SET price = 1, description = 'changed' WHERE external_key LIKE 'imp-%'");
+
+        ImportReport report = propertyImportService.importListings(new ByteArrayInputStream(csv.toByteArray()), Format.CSV);
+
+        assertThat(report.getRows()).isEqualTo(2);
+        assertThat(report.getUpdated()).isEqualTo(2);
+        assertThat(report.getFailed()).isZero();
+        assertThat(price("imp-2")).isEqualByComparingTo("310000");
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM properties WHERE external_key = 'imp-1'",
+                String.class)).isEqualTo("Line one,\nline \"two\"");
+    }
+
+    @Test
+    void reportsAnUnterminatedQuoteAndImportsTheRowsBeforeIt() throws Exception {
+        importNdjson(row("imp-1", "300000"), row("imp-2", "310000"));
+        jdbcTemplate.update("UPDATE properties SET updated_at = ? WHERE external_key LIKE 'imp-%'",
+                Timestamp.valueOf(LocalDateTime.of(2100, 1, 1, 0, 0)));
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        propertyExportService.export(csv, Format.CSV, LocalDateTime.of(2100, 1, 1, 0, 0));
+        csv.write("imp-9,\"never closed".getBytes(StandardCharsets.UTF_8));
+        jdbcTemplate.update("UPDATE properties SET price = 1 WHERE external_key LIKE 'imp-%'");
+
+        ImportReport report = propertyImportService.importListings(new ByteArrayInputStream(csv.toByteArray()), Format.CSV);
+
+        assertThat(report.getRows()).isEqualTo(3);
+        assertThat(report.getUpdated()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(4L);
+            assertThat(error.getMessage()).startsWith("Unterminated quoted field");
+        });
+        assertThat(price("imp-2")).isEqualByComparingTo("310000");
+    }
+
+    private ImportReport importNdjson(String... lines) throws Exception {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return propertyImportService.importListings(new ByteArrayInputStream(body), Format.NDJSON);
+    }
+
+    private BigDecimal price(String externalKey) {
+        return jdbcTemplate.queryForObject("SELECT price FROM properties WHERE external_key = ?", BigDecimal.class,
+                externalKey);
+    }
+
+    private static String row(String externalKey, String price) {
+        return "{\"externalKey\":\"" + externalKey + "\",\"title\":\"Imported home\",\"description\":\"From the feed\","
+                + "\"price\":" + price + ",\"address\":\"1 Feed Road\",\"city\":\"Importville\",\"state\":\"OR\","
+                + "\"zipCode\":\"97000\",\"propertyType\":\"HOUSE\",\"listingType\":\"FOR_SALE\",\"bedrooms\":3,"
+                + "\"bathrooms\":2,\"squareFeet\":1500}";
+    }
+}
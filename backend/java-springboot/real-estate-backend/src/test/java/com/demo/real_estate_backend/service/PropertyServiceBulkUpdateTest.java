@@ -0,0 +1,135 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.BulkUpdateRequest;
+import com.demo.real_estate_backend.dto.BulkUpdateResult;
+import com.demo.real_estate_backend.dto.BulkUpdateResult.Status;
+import com.demo.real_estate_backend.event.PropertyChangeEvent;
+import com.demo.real_estate_backend.exception.ResourceNotFoundException;
+import com.demo.real_estate_backend.model.BuilderGroup;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.BuilderGroupRepository;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+/**
+ * Bulk updates run as chunked UPDATE statements; two ids per chunk here so every test spans
+ * several of them.
+ */
+@SpringBootTest(properties = "bulk-update.chunk-size=2")
+@Transactional
+@RecordApplicationEvents
+class PropertyServiceBulkUpdateTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private BuilderGroupRepository builderGroupRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void repricesEveryListingOfABuilderGroup() {
+        BuilderGroup group = new BuilderGroup();
+        group.setName("Bulk Towers");
+        group = builderGroupRepository.save(group);
+        Property first = save(group, "300000.00", true);
+        Property second = save(group, "250000.00", true);
+        Property third = save(group, "199999.99", false);
+        save(null, "300000.00", true);
+
+        BulkUpdateResult result = propertyService.bulkUpdate(BulkUpdateRequest.builder()
+                .builderGroupId(group.getId())
+                .pricePercent(new BigDecimal("-5"))
+                .build());
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(result.getOutcomes()).extracting(BulkUpdateResult.Outcome::getId)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(result.getOutcomes()).extracting(BulkUpdateResult.Outcome::getPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("285000.00"), new BigDecimal("237500.00"), new BigDecimal("189999.99"));
+        assertThat(propertyRepository.findById(third.getId()).orElseThrow().getPrice())
+                .isEqualByComparingTo("189999.99");
+        assertThat(events.stream(PropertyChangeEvent.class)
+                .filter(event -> event.getChangeType() == PropertyChangeEvent.ChangeType.UPDATED))
+                .hasSize(3)
+                .allMatch(event -> event.getPrevious() != null);
+    }
+
+    @Test
+    void marksListingsUnavailableAndReportsEachId() {
+        Property listed = save(null, "300000.00", true);
+        Property alreadyOff = save(null, "310000.00", false);
+        Property alsoListed = save(null, "320000.00", true);
+        long missing = alsoListed.getId() + 1000;
+
+        BulkUpdateResult result = propertyService.bulkUpdate(BulkUpdateRequest.builder()
+                .ids(List.of(missing, alsoListed.getId(), listed.getId(), alreadyOff.getId(), listed.getId()))
+                .available(false)
+                .build());
+
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getOutcomes()).extracting(BulkUpdateResult.Outcome::getStatus)
+                .containsExactly(Status.UPDATED, Status.UNCHANGED, Status.UPDATED, Status.NOT_FOUND);
+        assertThat(result.getNotFound()).isEqualTo(1);
+        assertThat(propertyRepository.findById(listed.getId()).orElseThrow().getAvailable()).isFalse();
+        assertThat(events.stream(PropertyChangeEvent.class)
+                .filter(event -> event.getChangeType() == PropertyChangeEvent.ChangeType.UPDATED)
+                .map(PropertyChangeEvent::getPropertyId))
+                .containsExactly(listed.getId(), alsoListed.getId());
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        assertThatThrownBy(() -> propertyService.bulkUpdate(BulkUpdateRequest.builder().ids(List.of(1L)).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> propertyService.bulkUpdate(BulkUpdateRequest.builder()
+                .ids(List.of(1L)).builderGroupId(1L).available(false).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> propertyService.bulkUpdate(BulkUpdateRequest.builder()
+                .ids(List.of(1L)).pricePercent(new BigDecimal("-100")).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> propertyService.bulkUpdate(BulkUpdateRequest.builder()
+                .builderGroupId(Long.MAX_VALUE).available(false).build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Property save(BuilderGroup group, String price, boolean available) {
+        Property property = new Property();
+        property.setTitle("Unit " + price);
+        property.setDescription("Portfolio listing");
+        property.setPrice(new BigDecimal(price));
+        property.setAddress(price + " Tower Road");
+        property.setCity("Bulkville");
+        property.setState("TX");
+        property.setZipCode("75000");
+        property.setPropertyType(PropertyType.APARTMENT);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(2);
+        property.setBathrooms(1);
+        property.setSquareFeet(new BigDecimal(900));
+        property.setAvailable(available);
+        property.setBuilderGroup(group);
+        return propertyRepository.save(property);
+    }
+}
@@ -0,0 +1,116 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertyResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Walking a result set with nextCursor must visit the same rows, in the same order, as
+ * offset paging — including ties and null sort values.
+ */
+@SpringBootTest
+@Transactional
+class PropertyServiceKeysetTest {
+
+    private static final String CITY = "Seekville";
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 23; i++) {
+            Property property = new Property();
+            property.setTitle("Listing " + i);
+            property.setDescription("Seeded listing " + i);
+            // Repeating prices and bedroom counts force id tie-breaks
+            property.setPrice(new BigDecimal(200000 + (i % 5) * 10000));
+            property.setAddress(i + " Seek Street");
+            property.setCity(CITY);
+            property.setState("IL");
+            property.setZipCode("60000");
+            property.setPropertyType(PropertyType.CONDO);
+            property.setListingType(ListingType.FOR_SALE);
+            property.setBedrooms(i % 4 == 0 ? null : i % 3);
+            property.setSquareFeet(i % 6 == 0 ? null : new BigDecimal(900 + i * 10));
+            property.setAvailable(true);
+            propertyRepository.save(property);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"price,ASC", "price,DESC", "bedrooms,ASC", "bedrooms,DESC", "squareFeet,ASC", "squareFeet,DESC", "createdAt,DESC"})
+    void cursorWalkMatchesOffsetOrder(String sortBy, String direction) {
+        List<Long> offsetOrder = ids(propertyService.searchProperties(request(sortBy, direction, 23, null), null));
+        assertThat(offsetOrder).hasSize(23);
+
+        List<Long> cursorOrder = new ArrayList<>();
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(request(sortBy, direction, 5, null), null);
+        cursorOrder.addAll(ids(page));
+        while (page.getNextCursor() != null) {
+            page = propertyService.searchProperties(request(sortBy, direction, 5, page.getNextCursor()), null);
+            cursorOrder.addAll(ids(page));
+        }
+
+        assertThat(cursorOrder).containsExactlyElementsOf(offsetOrder);
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"price,ASC", "bedrooms,DESC", "squareFeet,ASC"})
+    void cardCursorWalkMatchesEntityOffsetOrder(String sortBy, String direction) {
+        List<Long> offsetOrder = ids(propertyService.searchProperties(request(sortBy, direction, 23, null), null));
+
+        List<Long> cursorOrder = new ArrayList<>();
+        PageResponse<PropertySummary> page = propertyService.searchPropertyCards(request(sortBy, direction, 5, null));
+        page.getContent().forEach(card -> cursorOrder.add(card.getId()));
+        while (page.getNextCursor() != null) {
+            page = propertyService.searchPropertyCards(request(sortBy, direction, 5, page.getNextCursor()));
+            page.getContent().forEach(card -> cursorOrder.add(card.getId()));
+        }
+
+        assertThat(cursorOrder).containsExactlyElementsOf(offsetOrder);
+    }
+
+    private PropertySearchRequest request(String sortBy, String direction, int size, String cursor) {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setCity(CITY);
+        request.setSortBy(sortBy);
+        request.setSortDirection(direction);
+        request.setSize(size);
+        request.setCursor(cursor);
+        return request;
+    }
+
+    private List<Long> ids(PageResponse<PropertyResponse> page) {
+        return page.getContent().stream().map(PropertyResponse::getId).toList();
+    }
+}
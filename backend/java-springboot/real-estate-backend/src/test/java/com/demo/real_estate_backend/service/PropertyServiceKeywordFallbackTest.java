@@ -0,0 +1,74 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.PropertyResponse;
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.demo.real_estate_backend.search.KeywordSearchIndex;
+
+/**
+ * With the keyword index disabled it is never ready, as during startup or a rebuild: keyword
+ * searches and their facets are answered in SQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:keyword_fallback_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "search.keyword.enabled=false"
+})
+@Transactional
+class PropertyServiceKeywordFallbackTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private KeywordSearchIndex keywordSearchIndex;
+
+    @Test
+    void facetsKeywordSearchesFromTheDatabase() {
+        save("Lakefront cottage", PropertyType.HOUSE, 3);
+        save("Lakefront condo", PropertyType.CONDO, 2);
+        save("Downtown loft", PropertyType.CONDO, 1);
+        PropertySearchRequest request = PropertySearchRequest.builder()
+                .keyword("lakefront").includeFacets(true).page(0).size(10).build();
+
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(request, null);
+
+        assertThat(keywordSearchIndex.isReady()).isFalse();
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getFacets().getPropertyType()).containsEntry("HOUSE", 1L).containsEntry("CONDO", 1L);
+        assertThat(page.getFacets().getBedrooms()).containsEntry("3", 1L).containsEntry("2", 1L);
+    }
+
+    private void save(String title, PropertyType type, int bedrooms) {
+        Property property = new Property();
+        property.setTitle(title);
+        property.setDescription("Keyword fallback listing");
+        property.setPrice(new BigDecimal("200000"));
+        property.setAddress("1 Shore Road");
+        property.setCity("Fallback Falls");
+        property.setState("MN");
+        property.setZipCode("55000");
+        property.setPropertyType(type);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(bedrooms);
+        property.setBathrooms(1);
+        property.setSquareFeet(new BigDecimal("900"));
+        property.setAvailable(true);
+        propertyRepository.save(property);
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+@SpringBootTest(properties = {"api.limits.max-results=3", "api.limits.max-page-size=4"})
+@Transactional
+class PropertyServiceLimitsTest {
+
+    private static final String CITY = "Limitville";
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 6; i++) {
+            Property property = new Property();
+            property.setTitle("Limited " + i);
+            property.setDescription("Bounded listing " + i);
+            property.setPrice(new BigDecimal(200000 + i * 1000));
+            property.setAddress(i + " Cap Street");
+            property.setCity(CITY);
+            property.setState("IL");
+            property.setZipCode("60000");
+            property.setPropertyType(PropertyType.CONDO);
+            property.setListingType(ListingType.FOR_SALE);
+            property.setBedrooms(2);
+            property.setBathrooms(1);
+            property.setSquareFeet(new BigDecimal("900"));
+            property.setAvailable(true);
+            propertyRepository.save(property);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listEndpointsStopAtTheResultLimit() {
+        List<Property> properties = propertyService.getPropertiesByCity(CITY);
+
+        assertThat(properties).hasSize(3);
+        Map<String, Long> truncated = (Map<String, Long>) propertyService.getResultLimitStats().get("truncatedLists");
+        assertThat(truncated).containsEntry("properties.city", 1L);
+    }
+
+    @Test
+    void pagedVariantClampsThePageSizeAndContinuesByCursor() {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PageResponse<PropertySummary> page = propertyService.getPropertiesByCityPaged(CITY, "price", "ASC", cursor, 50);
+            assertThat(page.getContent().size()).isLessThanOrEqualTo(4);
+            page.getContent().forEach(summary -> titles.add(summary.getTitle()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(2);
+        assertThat(titles).containsExactly("Limited 0", "Limited 1", "Limited 2", "Limited 3", "Limited 4", "Limited 5");
+    }
+}
@@ -0,0 +1,234 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.CountMode;
+import com.demo.real_estate_backend.dto.PageResponse;
+import com.demo.real_estate_backend.dto.PropertyResponse;
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.model.Favorite;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyImage;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.User;
+import com.demo.real_estate_backend.model.UserType;
+import com.demo.real_estate_backend.repository.FavoriteRepository;
+import com.demo.real_estate_backend.repository.PropertyImageRepository;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+import com.demo.real_estate_backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards against N+1 regressions when building property pages: the number of SQL
+ * statements must not depend on how many rows the page holds.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement_count_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class PropertyServiceQueryCountTest {
+
+    private static final String CITY = "Querytown";
+
+    // page query + count query + images + favorite counts + favorited ids + owners
+    private static final long MAX_STATEMENTS_PER_PAGE = 6;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyImageRepository propertyImageRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User buyer;
+
+    @BeforeEach
+    void seed() {
+        User[] owners = new User[3];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = userRepository.save(newUser("owner" + i + "@querytown.test", UserType.AGENT));
+        }
+        buyer = userRepository.save(newUser("buyer@querytown.test", UserType.BUYER));
+
+        for (int i = 0; i < 30; i++) {
+            Property property = new Property();
+            property.setTitle("Listing " + i);
+            property.setDescription("Seeded listing " + i);
+            property.setPrice(new BigDecimal(100000 + i * 1000));
+            property.setAddress(i + " Main Street");
+            property.setCity(CITY);
+            property.setState("IL");
+            property.setZipCode("60000");
+            property.setPropertyType(PropertyType.HOUSE);
+            property.setListingType(ListingType.FOR_SALE);
+            property.setBedrooms(3);
+            property.setBathrooms(2);
+            property.setSquareFeet(new BigDecimal("1500"));
+            property.setAvailable(true);
+            property.setOwner(owners[i % owners.length]);
+            property = propertyRepository.save(property);
+
+            for (int j = 0; j < 2; j++) {
+                propertyImageRepository.save(PropertyImage.builder()
+                        .imageUrl("https://img.test/" + i + "/" + j)
+                        .displayOrder(j)
+                        .isPrimary(j == 0)
+                        .property(property)
+                        .build());
+            }
+            if (i % 2 == 0) {
+                favoriteRepository.save(Favorite.builder().user(buyer).property(property).build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void searchPageUsesFixedNumberOfStatements() {
+        long smallPage = statementsForSearchPage(5);
+        long largePage = statementsForSearchPage(25);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void searchPageIsFullyHydrated() {
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(searchRequest(30), buyer.getId());
+
+        assertThat(page.getContent()).hasSize(30);
+        assertThat(page.getContent()).allSatisfy(response -> {
+            assertThat(response.getOwner()).isNotNull();
+            assertThat(response.getImageUrls()).hasSize(2);
+        });
+        assertThat(page.getContent()).filteredOn(PropertyResponse::getIsFavorited).hasSize(15);
+        assertThat(page.getContent()).filteredOn(r -> r.getFavoriteCount() == 1L).hasSize(15);
+    }
+
+    @Test
+    void facetsCostOneGroupedStatement() {
+        long withoutFacets = statementsForSearchPage(10);
+
+        PropertySearchRequest request = searchRequest(10);
+        request.setIncludeFacets(true);
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(request, buyer.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(withoutFacets + 1);
+        assertThat(page.getFacets().getPropertyType()).containsEntry("HOUSE", 30L).containsEntry("CONDO", 0L);
+        assertThat(page.getFacets().getBedrooms()).containsEntry("3", 30L);
+        assertThat(page.getFacets().getPriceBands()).containsEntry("100000-250000", 30L);
+    }
+
+    @Test
+    void sliceModeSkipsTheCountQuery() {
+        long exact = statementsForSearchPage(10);
+
+        PropertySearchRequest request = searchRequest(10);
+        request.setCountMode(CountMode.NONE);
+        long slice = statementsForSearchPage(request);
+
+        assertThat(slice).isEqualTo(exact - 1);
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(request, buyer.getId());
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.isExactTotal()).isFalse();
+        assertThat(page.getTotalElements()).isEqualTo(-1);
+    }
+
+    @Test
+    void approximateModeCountsOnceAndThenServesTheCachedTotal() {
+        PropertySearchRequest request = searchRequest(10);
+        request.setCountMode(CountMode.APPROXIMATE);
+        long first = statementsForSearchPage(request);
+        long second = statementsForSearchPage(request);
+
+        assertThat(second).isEqualTo(first - 1);
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(request, buyer.getId());
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.isExactTotal()).isFalse();
+    }
+
+    @Test
+    void cardPageReadsProjectionsWithoutLoadingEntities() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageResponse<PropertySummary> page = propertyService.searchPropertyCards(searchRequest(25));
+
+        // card query + count query + card images
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(page.getContent()).hasSize(25);
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        assertThat(page.getContent()).allSatisfy(card ->
+                assertThat(card.getImageUrl()).startsWith("https://img.test/").endsWith("/0"));
+    }
+
+    private long statementsForSearchPage(int size) {
+        return statementsForSearchPage(searchRequest(size));
+    }
+
+    private long statementsForSearchPage(PropertySearchRequest request) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageResponse<PropertyResponse> page = propertyService.searchProperties(request, buyer.getId());
+        assertThat(page.getContent()).hasSize(request.getSize());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private PropertySearchRequest searchRequest(int size) {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setCity(CITY);
+        request.setSize(size);
+        return request;
+    }
+
+    private User newUser(String email, UserType userType) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setPhone("(555) 000-0000");
+        user.setUserType(userType);
+        return user;
+    }
+}
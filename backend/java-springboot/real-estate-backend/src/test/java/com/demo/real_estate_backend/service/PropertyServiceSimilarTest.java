@@ -0,0 +1,75 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.dto.PropertySummary;
+import com.demo.real_estate_backend.exception.ResourceNotFoundException;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+/**
+ * Similar homes before the index is built: same-city listings of the same listing type,
+ * ranked on the index's feature vectors.
+ */
+@SpringBootTest
+@Transactional
+class PropertyServiceSimilarTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Test
+    void ranksSameCityListingsOfTheSameListingType() {
+        Property target = save("Target", ListingType.FOR_SALE, "400000", 3, true);
+        Property close = save("Close", ListingType.FOR_SALE, "410000", 3, true);
+        Property bigger = save("Bigger", ListingType.FOR_SALE, "800000", 5, true);
+        save("Rental", ListingType.FOR_RENT, "400000", 3, true);
+        save("Sold", ListingType.FOR_SALE, "400000", 3, false);
+
+        assertThat(propertyService.getSimilarProperties(target.getId(), 10))
+                .extracting(PropertySummary::getId)
+                .containsExactly(close.getId(), bigger.getId());
+        assertThat(propertyService.getSimilarProperties(target.getId(), 1))
+                .extracting(PropertySummary::getId)
+                .containsExactly(close.getId());
+    }
+
+    @Test
+    void rejectsUnknownListingsAndOutOfRangeK() {
+        assertThatThrownBy(() -> propertyService.getSimilarProperties(-1L, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> propertyService.getSimilarProperties(-1L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Property save(String title, ListingType listingType, String price, int bedrooms, boolean available) {
+        Property property = new Property();
+        property.setTitle(title);
+        property.setDescription(title + " listing");
+        property.setPrice(new BigDecimal(price));
+        property.setAddress(title + " Street");
+        property.setCity("Simtown");
+        property.setState("OR");
+        property.setZipCode("97000");
+        property.setPropertyType(PropertyType.HOUSE);
+        property.setListingType(listingType);
+        property.setBedrooms(bedrooms);
+        property.setBathrooms(2);
+        property.setSquareFeet(new BigDecimal(1800));
+        property.setAvailable(available);
+        return propertyRepository.save(property);
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.repository.PropertyRepository;
+
+/**
+ * Native recommendations: candidates come from the location and budget window only, and are
+ * ranked by budget fit before value and freshness.
+ */
+@SpringBootTest(properties = "recommendation.candidates-per-side=3")
+@Transactional
+class RecommendationServiceTest {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Test
+    void ranksCandidatesNearestTheBudgetInTheCity() {
+        Property exact = save("Budgetville", "300000", "1500");
+        Property under = save("Budgetville", "270000", "1500");
+        Property over = save("Budgetville", "330000", "1500");
+        save("Budgetville", "100000", "1500");
+        save("Elsewhere", "300000", "1500");
+
+        assertThat(recommendationService.recommend("Budgetville", 300000, 10))
+                .extracting(Property::getId)
+                .containsExactly(exact.getId(), under.getId(), over.getId());
+    }
+
+    @Test
+    void readsOnlyTheNearestPricesOnEachSide() {
+        for (int i = 1; i <= 10; i++) {
+            save("Seekburg", String.valueOf(300000 - i * 1000), "1500");
+            save("Seekburg", String.valueOf(300000 + i * 1000), "1500");
+        }
+
+        List<Property> recommended = recommendationService.recommend("Seekburg", 300000, 50);
+        assertThat(recommended).hasSize(6);
+        assertThat(recommended).allMatch(property -> property.getPrice().subtract(new BigDecimal(300000)).abs()
+                .compareTo(new BigDecimal(3000)) <= 0);
+    }
+
+    @Test
+    void prefersBetterValueAtTheSamePrice() {
+        Property roomy = save("Valuetown", "300000", "2500");
+        Property cramped = save("Valuetown", "300000", "1000");
+
+        assertThat(recommendationService.rank(List.of(cramped, roomy), 300000, LocalDateTime.now()))
+                .containsExactly(roomy, cramped);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> recommendationService.recommend(" ", 300000, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recommendationService.recommend("Budgetville", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recommendationService.recommend("Budgetville", 300000, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Property save(String city, String price, String squareFeet) {
+        Property property = new Property();
+        property.setTitle(city + " " + price);
+        property.setDescription("Recommendation candidate");
+        property.setPrice(new BigDecimal(price));
+        property.setAddress(price + " Budget Road");
+        property.setCity(city);
+        property.setState("NV");
+        property.setZipCode("89000");
+        property.setPropertyType(PropertyType.HOUSE);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(3);
+        property.setBathrooms(2);
+        property.setSquareFeet(new BigDecimal(squareFeet));
+        property.setAvailable(true);
+        return propertyRepository.save(property);
+    }
+}
@@ -0,0 +1,187 @@
+package com.demo.real_estate_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.demo.real_estate_backend.dto.PropertySearchRequest;
+import com.demo.real_estate_backend.dto.SavedSearchAlertResponse;
+import com.demo.real_estate_backend.model.ListingType;
+import com.demo.real_estate_backend.model.Property;
+import com.demo.real_estate_backend.model.PropertyType;
+import com.demo.real_estate_backend.model.SavedSearch;
+import com.demo.real_estate_backend.model.User;
+import com.demo.real_estate_backend.model.UserType;
+import com.demo.real_estate_backend.repository.SavedSearchRepository;
+import com.demo.real_estate_backend.repository.UserRepository;
+import com.demo.real_estate_backend.search.SavedSearchPercolator;
+
+/**
+ * Alerts are queued after the listing's transaction commits, so this test commits its data
+ * and cleans up after itself.
+ */
+@SpringBootTest
+class SavedSearchServiceTest {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchPercolator savedSearchPercolator;
+
+    private User user;
+    private final List<Long> propertyIds = new ArrayList<>();
+
+    @BeforeEach
+    void createUser() {
+        User newUser = new User();
+        newUser.setFirstName("Alert");
+        newUser.setLastName("Watcher");
+        newUser.setEmail("watcher@percolate.test");
+        newUser.setPassword("password123");
+        newUser.setPhone("(555) 000-0000");
+        newUser.setUserType(UserType.BUYER);
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        savedSearchService.getUserSavedSearches(user.getId())
+                .forEach(search -> savedSearchService.deleteSavedSearch(search.getId()));
+        propertyIds.forEach(propertyService::deleteProperty);
+        if (userRepository.existsById(user.getId())) {
+            userRepository.deleteById(user.getId());
+        }
+    }
+
+    @Test
+    void matchingListingsQueueOneAlertPerSearch() {
+        SavedSearch search = savedSearchService.saveSearch(user.getId(), "Percolate condos", PropertySearchRequest.builder()
+                .city("percolate city").propertyType(PropertyType.CONDO)
+                .minPrice(new BigDecimal("200000")).maxPrice(new BigDecimal("300000")).build());
+
+        Property match = create("Percolate City", "250000");
+        create("Percolate City", "350000");
+        create("Elsewhere", "250000");
+
+        // Editing a listing that already alerted does not alert again
+        match.setTitle("Renovated condo");
+        propertyService.updateProperty(match.getId(), match);
+
+        List<SavedSearchAlertResponse> alerts = savedSearchService.getUserAlerts(user.getId(), true);
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.getSavedSearchId()).isEqualTo(search.getId());
+            assertThat(alert.getPropertyId()).isEqualTo(match.getId());
+        });
+
+        assertThat(savedSearchService.markAlertsRead(user.getId())).isEqualTo(1);
+        assertThat(savedSearchService.getUserAlerts(user.getId(), true)).isEmpty();
+    }
+
+    @Test
+    void deletingTheUserDropsTheirSavedSearchesAndAlerts() {
+        savedSearchService.saveSearch(user.getId(), "Percolate homes", PropertySearchRequest.builder()
+                .city("percolate city").build());
+        create("Percolate City", "250000");
+        assertThat(savedSearchService.getUserAlerts(user.getId(), false)).hasSize(1);
+        int indexed = (int) savedSearchService.getPercolatorStats().get("savedSearches");
+
+        userService.deleteUser(user.getId());
+
+        assertThat(userRepository.existsById(user.getId())).isFalse();
+        assertThat(savedSearchService.getUserSavedSearches(user.getId())).isEmpty();
+        assertThat(savedSearchService.getPercolatorStats()).containsEntry("savedSearches", indexed - 1);
+    }
+
+    @Test
+    void databaseFallbackMatchesTheSameSearchesAsThePercolator() {
+        savedSearchService.saveSearch(user.getId(), "Percolate condos", PropertySearchRequest.builder()
+                .city(" Percolate City").propertyType(PropertyType.CONDO)
+                .minPrice(new BigDecimal("200000")).maxPrice(new BigDecimal("300000")).build());
+        savedSearchService.saveSearch(user.getId(), "Roomy in IL", PropertySearchRequest.builder()
+                .state("il").minSquareFeet(new BigDecimal("1000")).build());
+        savedSearchService.saveSearch(user.getId(), "Two bedrooms", PropertySearchRequest.builder()
+                .city("percolate city").minBedrooms(2).maxBedrooms(2).build());
+
+        List<Property> listings = List.of(
+                listing("Percolate City", "IL", PropertyType.CONDO, "250000", 2, "1200"),
+                listing("PERCOLATE CITY", "IL", PropertyType.HOUSE, "250000", null, null),
+                listing("Percolate City", "IL", PropertyType.CONDO, "350000", 3, "900"),
+                listing("Elsewhere", "IL", PropertyType.CONDO, "250000", 2, "1500"));
+        for (Property listing : listings) {
+            List<Long> fromDatabase = savedSearchRepository.findIdsMatching(
+                    listing.getCity().toLowerCase(), listing.getState().toLowerCase(), listing.getPropertyType(),
+                    listing.getListingType(), listing.getPrice(), listing.getBedrooms(), listing.getBathrooms(),
+                    listing.getSquareFeet());
+            assertThat(fromDatabase).containsExactlyInAnyOrderElementsOf(savedSearchPercolator.match(listing));
+        }
+    }
+
+    @Test
+    void rejectsFiltersThePercolatorCannotMatch() {
+        PropertySearchRequest keyword = PropertySearchRequest.builder().keyword("pool").build();
+        PropertySearchRequest inverted = PropertySearchRequest.builder()
+                .minPrice(new BigDecimal("2")).maxPrice(new BigDecimal("1")).build();
+
+        assertThatThrownBy(() -> savedSearchService.saveSearch(user.getId(), "Pools", keyword))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> savedSearchService.saveSearch(user.getId(), "Inverted", inverted))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Property listing(String city, String state, PropertyType propertyType, String price,
+                                    Integer bedrooms, String squareFeet) {
+        Property property = new Property();
+        property.setCity(city);
+        property.setState(state);
+        property.setPropertyType(propertyType);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setPrice(new BigDecimal(price));
+        property.setBedrooms(bedrooms);
+        property.setBathrooms(1);
+        property.setSquareFeet(squareFeet != null ? new BigDecimal(squareFeet) : null);
+        property.setAvailable(true);
+        return property;
+    }
+
+    private Property create(String city, String price) {
+        Property property = new Property();
+        property.setTitle("Condo in " + city);
+        property.setDescription("Percolator test listing");
+        property.setPrice(new BigDecimal(price));
+        property.setAddress("1 Alert Way");
+        property.setCity(city);
+        property.setState("IL");
+        property.setZipCode("60000");
+        property.setPropertyType(PropertyType.CONDO);
+        property.setListingType(ListingType.FOR_SALE);
+        property.setBedrooms(2);
+        property.setBathrooms(1);
+        property.setSquareFeet(new BigDecimal("900"));
+        property.setAvailable(true);
+        Property saved = propertyService.createProperty(property);
+        propertyIds.add(saved.getId());
+        return saved;
+    }
+}